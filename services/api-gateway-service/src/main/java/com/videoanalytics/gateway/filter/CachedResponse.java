@@ -0,0 +1,95 @@
+/**
+ * Cached Response
+ * Location: src/main/java/com/videoanalytics/gateway/filter/CachedResponse.java
+ *
+ * Status, headers and body of an upstream response and the time it was stored,
+ * encoded as a flat byte array for the off-heap response store.
+ */
+package com.videoanalytics.gateway.filter;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class CachedResponse {
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long storedAtMillis;
+
+    CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAtMillis) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.storedAtMillis = storedAtMillis;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    long getStoredAtMillis() {
+        return storedAtMillis;
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(storedAtMillis);
+            out.writeShort(status);
+            out.writeShort(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static CachedResponse fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            long storedAtMillis = in.readLong();
+            int status = in.readUnsignedShort();
+            HttpHeaders headers = new HttpHeaders();
+            int headerCount = in.readUnsignedShort();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new CachedResponse(status, headers, body, storedAtMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
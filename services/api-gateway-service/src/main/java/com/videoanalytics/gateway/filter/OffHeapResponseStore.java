@@ -0,0 +1,136 @@
+/**
+ * Off-Heap Response Store
+ * Location: src/main/java/com/videoanalytics/gateway/filter/OffHeapResponseStore.java
+ *
+ * Size-bounded LRU store for encoded responses, kept outside the Java heap so a
+ * large cache adds nothing to GC work. The store is one direct buffer allocated up
+ * front and cut into fixed-size blocks; a value occupies as many blocks as it needs,
+ * in any order. Only the key index lives on the heap. When the blocks run out, the
+ * least recently used entries are dropped until the new value fits.
+ */
+package com.videoanalytics.gateway.filter;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+public class OffHeapResponseStore {
+
+    private final ByteBuffer arena;
+    private final int blockSize;
+    private final int blockCount;
+
+    // Stack of unused block numbers
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Slot> index = new LinkedHashMap<>(1024, 0.75f, true);
+
+    public OffHeapResponseStore(long capacityBytes, int blockSize) {
+        if (blockSize <= 0 || capacityBytes < blockSize || capacityBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity must be between one block and 2 GB: " + capacityBytes);
+        }
+        this.blockSize = blockSize;
+        this.blockCount = (int) (capacityBytes / blockSize);
+        this.arena = ByteBuffer.allocateDirect(blockCount * blockSize);
+
+        this.freeBlocks = new int[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            freeBlocks[block] = blockCount - 1 - block;
+        }
+        this.freeCount = blockCount;
+    }
+
+    /**
+     * Stores a value until the given time, replacing any previous value for the key.
+     * Returns false if the value is larger than the whole store.
+     */
+    public synchronized boolean put(String key, byte[] value, long expiresAtMillis) {
+        int needed = (value.length + blockSize - 1) / blockSize;
+        if (needed > blockCount) {
+            return false;
+        }
+
+        Slot previous = index.remove(key);
+        if (previous != null) {
+            release(previous);
+        }
+        Iterator<Slot> leastRecent = index.values().iterator();
+        while (freeCount < needed) {
+            release(leastRecent.next());
+            leastRecent.remove();
+        }
+
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            int block = freeBlocks[--freeCount];
+            int offset = i * blockSize;
+            arena.put(block * blockSize, value, offset, Math.min(blockSize, value.length - offset));
+            blocks[i] = block;
+        }
+        index.put(key, new Slot(blocks, value.length, expiresAtMillis));
+        return true;
+    }
+
+    /**
+     * A copy of the value, or null if the key is absent or expired.
+     */
+    public synchronized byte[] get(String key, long nowMillis) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (slot.expiresAtMillis <= nowMillis) {
+            index.remove(key);
+            release(slot);
+            return null;
+        }
+
+        byte[] value = new byte[slot.length];
+        for (int i = 0; i < slot.blocks.length; i++) {
+            int offset = i * blockSize;
+            arena.get(slot.blocks[i] * blockSize, value, offset, Math.min(blockSize, slot.length - offset));
+        }
+        return value;
+    }
+
+    public synchronized void remove(String key) {
+        Slot slot = index.remove(key);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized long usedBytes() {
+        return (long) (blockCount - freeCount) * blockSize;
+    }
+
+    public long capacityBytes() {
+        return (long) blockCount * blockSize;
+    }
+
+    // Helper methods
+
+    private void release(Slot slot) {
+        for (int block : slot.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private static final class Slot {
+        private final int[] blocks;
+        private final int length;
+        private final long expiresAtMillis;
+
+        private Slot(int[] blocks, int length, long expiresAtMillis) {
+            this.blocks = blocks;
+            this.length = length;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
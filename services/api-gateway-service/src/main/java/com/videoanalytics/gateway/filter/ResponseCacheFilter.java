@@ -0,0 +1,345 @@
+/**
+ * Response Cache Filter Implementation
+ * Location: src/main/java/com/videoanalytics/gateway/filter/ResponseCacheFilter.java
+ *
+ * Caches upstream GET responses for the routes it is applied to, such as trending and
+ * public video metadata. Responses are stored off-heap, keyed by path, normalized
+ * query and an authorization scope, and kept as long as the upstream Cache-Control
+ * allows. Hits are written straight from the store without proxying, as a 304 when
+ * the request's If-None-Match names the stored ETag. On routes that
+ * also authenticate, list this filter after JwtAuthenticationFilter so that the
+ * scope headers it sets are trusted and unauthenticated requests never reach a hit:
+ *
+ *   filters:
+ *     - JwtAuthenticationFilter
+ *     - name: ResponseCacheFilter
+ *       args:
+ *         scope: PUBLIC
+ */
+package com.videoanalytics.gateway.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    // Hop-by-hop and per-response headers are not replayed from the cache
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+            HttpHeaders.AGE.toLowerCase(Locale.ROOT),
+            "keep-alive",
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+    private final OffHeapResponseStore store;
+    private final MeterRegistry meterRegistry;
+    private final long maxEntryBytes;
+    private final Clock clock = Clock.systemUTC();
+
+    public ResponseCacheFilter(MeterRegistry meterRegistry,
+                               @Value("${gateway.response-cache.capacity:64MB}") DataSize capacity,
+                               @Value("${gateway.response-cache.block-size:4KB}") DataSize blockSize,
+                               @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        super(Config.class);
+        this.store = new OffHeapResponseStore(capacity.toBytes(), (int) blockSize.toBytes());
+        this.meterRegistry = meterRegistry;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+
+        Gauge.builder("gateway.response.cache.used", store, OffHeapResponseStore::usedBytes)
+                .description("Off-heap bytes held by cached responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.entries", store, OffHeapResponseStore::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String scope = scopeOf(request, config.getScope());
+
+            if (request.getMethod() != HttpMethod.GET || scope == null) {
+                count(exchange, "bypass");
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(scope, request);
+            byte[] cached = store.get(key, clock.millis());
+            if (cached != null) {
+                count(exchange, "hit");
+                CachedResponse response = CachedResponse.fromBytes(cached);
+                if (isNotModified(request.getHeaders(), response.getHeaders())) {
+                    return writeNotModified(exchange.getResponse(), response);
+                }
+                return writeCached(exchange.getResponse(), response);
+            }
+
+            count(exchange, "miss");
+            ServerHttpResponse response = new CachingResponse(exchange.getResponse(), key, config);
+            return chain.filter(exchange.mutate().response(response).build());
+        };
+    }
+
+    // Keys
+
+    static String cacheKey(String scope, ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(scope).append(' ').append(request.getPath().value());
+
+        // Parameters sorted by name, then value, so equivalent queries share an entry
+        MultiValueMap<String, String> params = request.getQueryParams();
+        char separator = '?';
+        for (String name : new TreeSet<>(params.keySet())) {
+            List<String> values = new ArrayList<>(params.get(name));
+            values.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+            for (String value : values) {
+                key.append(separator).append(URLEncoder.encode(name, StandardCharsets.UTF_8));
+                if (value != null) {
+                    key.append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                }
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * The part of the key that separates callers who may see different responses, or
+     * null if the request lacks what the scope needs, in which case it is not cached.
+     */
+    static String scopeOf(ServerHttpRequest request, Scope scope) {
+        switch (scope) {
+            case PUBLIC:
+                return "public";
+            case ROLES:
+                String roles = request.getHeaders().getFirst(USER_ROLES_HEADER);
+                if (roles == null) {
+                    return null;
+                }
+                String[] sorted = Arrays.stream(roles.split(",")).map(String::trim).sorted().toArray(String[]::new);
+                return "roles:" + String.join(",", sorted);
+            case USER:
+                String userId = request.getHeaders().getFirst(USER_ID_HEADER);
+                return userId != null ? "user:" + userId : null;
+            default:
+                throw new IllegalStateException("Unknown cache scope: " + scope);
+        }
+    }
+
+    // Freshness
+
+    /**
+     * How long a response may be served from the cache: s-maxage, then max-age, then
+     * the route's default. Zero means it is not stored.
+     */
+    static long freshnessMillis(HttpStatusCode status, HttpHeaders headers, Config config) {
+        if (status == null || status.value() != 200 || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return 0;
+        }
+
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String part : cacheControl.split(",")) {
+                String directive = part.trim().toLowerCase(Locale.ROOT);
+                if (directive.equals("no-store") || directive.equals("no-cache")) {
+                    return 0;
+                }
+                // A private response may only be reused for the same user
+                if (directive.equals("private") && config.getScope() != Scope.USER) {
+                    return 0;
+                }
+                try {
+                    if (directive.startsWith("s-maxage=")) {
+                        sharedMaxAge = Long.parseLong(directive.substring("s-maxage=".length()));
+                    } else if (directive.startsWith("max-age=")) {
+                        maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                    }
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        if (sharedMaxAge >= 0) {
+            return sharedMaxAge * 1000;
+        }
+        if (maxAge >= 0) {
+            return maxAge * 1000;
+        }
+        return config.getDefaultTtl().toMillis();
+    }
+
+    // Revalidation
+
+    /**
+     * Whether the request's If-None-Match names the cached response's ETag, in which
+     * case a hit is answered with 304 instead of the body. Tags are compared weakly.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, HttpHeaders cachedHeaders) {
+        String etag = cachedHeaders.getETag();
+        if (etag == null) {
+            return false;
+        }
+        for (String candidate : requestHeaders.getIfNoneMatch()) {
+            if (candidate.equals("*") || opaqueTag(candidate).equals(opaqueTag(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Helper methods
+
+    private Mono<Void> writeNotModified(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().setETag(cached.getHeaders().getETag());
+        String cacheControl = cached.getHeaders().getCacheControl();
+        if (cacheControl != null) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        return response.setComplete();
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set(HttpHeaders.AGE,
+                Long.toString(Math.max(0, clock.millis() - cached.getStoredAtMillis()) / 1000));
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private void count(ServerWebExchange exchange, String result) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        meterRegistry.counter("gateway.response.cache.requests",
+                "route", route != null ? route.getId() : "unknown",
+                "result", result).increment();
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                stored.put(name, new ArrayList<>(values));
+            }
+        });
+        return stored;
+    }
+
+    // Captures the upstream body on its way to the client and stores it if cacheable
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Config config;
+
+        private CachingResponse(ServerHttpResponse delegate, String key, Config config) {
+            super(delegate);
+            this.key = key;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long freshness = freshnessMillis(getStatusCode(), getHeaders(), config);
+            if (freshness <= 0 || getHeaders().getContentLength() > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            HttpHeaders headers = storedHeaders(getHeaders());
+            int status = getStatusCode().value();
+
+            return super.writeWith(DataBufferUtils.join(Flux.from(body)).map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (bytes.length <= maxEntryBytes) {
+                    long now = clock.millis();
+                    store.put(key, new CachedResponse(status, headers, bytes, now).toBytes(), now + freshness);
+                }
+                return bufferFactory().wrap(bytes);
+            }));
+        }
+    }
+
+    // Who may share a cached response
+    public enum Scope {
+        // Everyone who passes the route's other filters
+        PUBLIC,
+        // Callers with the same roles, from the X-User-Roles header
+        ROLES,
+        // Only the same user, from the X-User-Id header
+        USER
+    }
+
+    public static class Config {
+        private Scope scope = Scope.PUBLIC;
+
+        // Used when the upstream response has no max-age; zero caches only responses that state one
+        private Duration defaultTtl = Duration.ZERO;
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public void setScope(Scope scope) {
+            this.scope = scope;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+    }
+}
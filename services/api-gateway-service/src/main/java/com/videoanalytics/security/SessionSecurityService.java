@@ -8,8 +8,10 @@
  */
 package com.videoanalytics.security;
 
+import com.videoanalytics.video.cache.KnownSessionIds;
 import com.videoanalytics.video.model.ViewSession;
 import com.videoanalytics.video.repository.ViewSessionRepository;
+import com.videoanalytics.video.session.LiveSessionBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -18,12 +20,20 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SessionSecurityService {
 
     private final ViewSessionRepository viewSessionRepository;
+    private final KnownSessionIds knownSessionIds;
+    private final LiveSessionBuffer liveSessionBuffer;
 
     /**
      * Checks if the current user is the owner of the session.
@@ -40,9 +50,65 @@ public class SessionSecurityService {
         }
 
         Long userId = extractUserId(principal);
-        return viewSessionRepository.findById(sessionId)
-                .map(session -> session.getUserId().equals(userId))
-                .orElse(false);
+
+        // Heartbeats of live sessions are checked against the buffered copy
+        Optional<Long> liveOwner = liveSessionBuffer.ownerOf(sessionId);
+        if (liveOwner.isPresent()) {
+            return liveOwner.get().equals(userId);
+        }
+
+        // Repeated lookups of a missing session are answered from the negative cache
+        if (!knownSessionIds.mightExist(sessionId)) {
+            return false;
+        }
+        Optional<ViewSession> session = viewSessionRepository.findById(sessionId);
+        if (session.isEmpty()) {
+            knownSessionIds.recordMissing(sessionId);
+            return false;
+        }
+        return session.get().getUserId().equals(userId);
+    }
+
+    /**
+     * Checks if the current user owns every one of the given sessions.
+     * This is used for event batches, so each session is checked once however many
+     * events it has, and sessions that are not buffered are read in one query.
+     *
+     * @param sessionIds IDs of the view sessions to check
+     * @param principal Authentication principal representing the current user
+     * @return true if the user owns all of the sessions, false otherwise
+     */
+    @Transactional(readOnly = true)
+    public boolean isOwnerOfAll(Collection<Long> sessionIds, Object principal) {
+        if (principal == null) {
+            return false;
+        }
+
+        Long userId = extractUserId(principal);
+        Set<Long> stored = new HashSet<>();
+        for (Long sessionId : sessionIds) {
+            Optional<Long> liveOwner = liveSessionBuffer.ownerOf(sessionId);
+            if (liveOwner.isPresent()) {
+                if (!liveOwner.get().equals(userId)) {
+                    return false;
+                }
+            } else if (!knownSessionIds.mightExist(sessionId)) {
+                return false;
+            } else {
+                stored.add(sessionId);
+            }
+        }
+        if (stored.isEmpty()) {
+            return true;
+        }
+
+        List<ViewSession> sessions = viewSessionRepository.findAllById(stored);
+        if (sessions.size() < stored.size()) {
+            sessions.forEach(session -> stored.remove(session.getId()));
+            stored.forEach(knownSessionIds::recordMissing);
+            return false;
+        }
+        return sessions.stream().allMatch(session -> session.getUserId().equals(userId));
     }
 
     /**
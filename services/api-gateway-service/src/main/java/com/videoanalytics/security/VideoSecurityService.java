@@ -7,22 +7,20 @@
  */
 package com.videoanalytics.security;
 
-import com.videoanalytics.video.model.Video;
-import com.videoanalytics.video.repository.VideoRepository;
+import com.videoanalytics.video.cache.VideoMetadataCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VideoSecurityService {
 
-    private final VideoRepository videoRepository;
+    private final VideoMetadataCache videoMetadataCache;
 
     /**
      * Checks if the current user is the owner of the video or has admin privileges.
@@ -33,7 +31,6 @@ public class VideoSecurityService {
      * @param principal Authentication principal representing the current user
      * @return true if the user is the owner or an admin, false otherwise
      */
-    @Transactional(readOnly = true)
     public boolean isVideoOwnerOrAdmin(Long videoId, Object principal) {
         if (principal == null) {
             return false;
@@ -57,14 +54,14 @@ public class VideoSecurityService {
      * @param principal Authentication principal representing the current user
      * @return true if the user is the owner, false otherwise
      */
-    @Transactional(readOnly = true)
     public boolean isVideoOwner(Long videoId, Object principal) {
         if (principal == null) {
             return false;
         }
 
         Long userId = extractUserId(principal);
-        return videoRepository.findById(videoId)
+        // Answered from the metadata near-cache; only a miss reaches the database
+        return videoMetadataCache.get(videoId)
                 .map(video -> video.getUploadedBy().equals(userId))
                 .orElse(false);
     }
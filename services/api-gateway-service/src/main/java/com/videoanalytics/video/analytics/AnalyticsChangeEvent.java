@@ -0,0 +1,23 @@
+/**
+ * Analytics Change Event
+ * Location: src/main/java/com/videoanalytics/video/analytics/AnalyticsChangeEvent.java
+ *
+ * Published by the write paths whenever a change affects a video's analytics or a
+ * user's engagement. Either id may be null when the change does not touch that side,
+ * e.g. a metadata edit only concerns the video.
+ */
+package com.videoanalytics.video.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AnalyticsChangeEvent {
+    private final Long videoId;
+    private final Long userId;
+
+    public static AnalyticsChangeEvent ofVideo(Long videoId) {
+        return new AnalyticsChangeEvent(videoId, null);
+    }
+}
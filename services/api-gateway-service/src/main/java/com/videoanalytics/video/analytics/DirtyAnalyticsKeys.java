@@ -0,0 +1,70 @@
+/**
+ * Dirty Analytics Keys
+ * Location: src/main/java/com/videoanalytics/video/analytics/DirtyAnalyticsKeys.java
+ *
+ * Collects the video and user ids whose cached analytics went stale. Changes are
+ * recorded only once their transaction commits, so a rolled back write never causes
+ * a recomputation. Marking a key twice before it is refreshed costs nothing extra.
+ */
+package com.videoanalytics.video.analytics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class DirtyAnalyticsKeys {
+
+    private final Set<Long> videoIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+
+    // Falls back to immediate delivery for events published outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AnalyticsChangeEvent event) {
+        if (event.getVideoId() != null) {
+            videoIds.add(event.getVideoId());
+        }
+        if (event.getUserId() != null) {
+            userIds.add(event.getUserId());
+        }
+    }
+
+    /**
+     * Removes and returns up to max dirty video ids; the rest wait for the next drain.
+     */
+    public List<Long> drainVideos(int max) {
+        return drain(videoIds, max);
+    }
+
+    /**
+     * Removes and returns up to max dirty user ids; the rest wait for the next drain.
+     */
+    public List<Long> drainUsers(int max) {
+        return drain(userIds, max);
+    }
+
+    public int pendingVideos() {
+        return videoIds.size();
+    }
+
+    public int pendingUsers() {
+        return userIds.size();
+    }
+
+    // A key marked again after it was drained is simply re-added for the next drain,
+    // so no change is lost between draining and recomputing
+    private static List<Long> drain(Set<Long> dirty, int max) {
+        List<Long> batch = new ArrayList<>(Math.min(max, dirty.size()));
+        Iterator<Long> iterator = dirty.iterator();
+        while (batch.size() < max && iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+}
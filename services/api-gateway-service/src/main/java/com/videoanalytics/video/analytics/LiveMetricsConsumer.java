@@ -0,0 +1,56 @@
+/**
+ * Live Metrics Consumer
+ * Location: src/main/java/com/videoanalytics/video/analytics/LiveMetricsConsumer.java
+ *
+ * Feeds the in-memory analytics, trending, heavy hitters and the platform
+ * dashboard, from the video event bus instead of the request threads. These are
+ * approximate by design, so an occasional missed or repeated event is tolerated.
+ * The state is per node, so every node consumes every event.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.platform.PlatformMetrics;
+import com.videoanalytics.video.analytics.trending.HeavyHitterService;
+import com.videoanalytics.video.analytics.trending.TrendingEngine;
+import com.videoanalytics.video.events.SessionEnded;
+import com.videoanalytics.video.events.SessionStarted;
+import com.videoanalytics.video.events.VideoEvent;
+import com.videoanalytics.video.events.VideoEventConsumer;
+import com.videoanalytics.video.events.VideoLiked;
+import com.videoanalytics.video.events.VideoUnliked;
+import com.videoanalytics.video.events.VideoViewed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LiveMetricsConsumer implements VideoEventConsumer {
+
+    private final TrendingEngine trendingEngine;
+    private final HeavyHitterService heavyHitterService;
+    private final PlatformMetrics platformMetrics;
+
+    @Override
+    public void consume(VideoEvent event) {
+        if (event instanceof VideoViewed) {
+            trendingEngine.recordView(event.getVideoId());
+            heavyHitterService.recordView(event.getVideoId());
+            platformMetrics.recordView();
+        } else if (event instanceof VideoLiked) {
+            trendingEngine.recordLike(event.getVideoId());
+            heavyHitterService.recordLike(event.getVideoId());
+            platformMetrics.recordLike();
+        } else if (event instanceof VideoUnliked unliked) {
+            heavyHitterService.removeLike(unliked.getVideoId(), unliked.getLikedAt());
+        } else if (event instanceof SessionStarted started) {
+            platformMetrics.sessionStarted(started.getDeviceType());
+        } else if (event instanceof SessionEnded ended) {
+            platformMetrics.sessionEnded(ended.getDeviceType(), ended.getStartedAt(), ended.getBufferEvents());
+        }
+    }
+
+    @Override
+    public boolean isNodeLocal() {
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Session Aggregate
+ * Location: src/main/java/com/videoanalytics/video/analytics/SessionAggregate.java
+ *
+ * Mergeable accumulator for view session metrics. It only keeps sums, counts and
+ * extremes, so partial results from different sources (aggregate queries, rollups,
+ * in-memory scans) can be combined before the derived averages are calculated.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.repository.DeviceAggregateRow;
+import com.videoanalytics.video.repository.SessionAggregateRow;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class SessionAggregate {
+
+    // Device key used for sessions that did not report a device type
+    public static final String UNKNOWN_DEVICE = "unknown";
+
+    private long sessions;
+    private long timedSessions;
+    private double watchSecondsSum;
+    private double minWatchSeconds = Double.NaN;
+    private double maxWatchSeconds = Double.NaN;
+    private long completedViews;
+    private long bufferEventsSum;
+    private long qualitySwitchesSum;
+    private long bitrateSamples;
+    private double bitrateSum;
+    private final Map<String, Long> deviceCounts = new HashMap<>();
+
+    /**
+     * Builds an aggregate from the rows of a GROUPING SETS query: the totals row
+     * carries the metrics, the per-device rows carry the device distribution.
+     */
+    public static SessionAggregate fromRows(List<? extends SessionAggregateRow> rows) {
+        SessionAggregate aggregate = new SessionAggregate();
+        for (SessionAggregateRow row : rows) {
+            if (row.getTotalRow() != null && row.getTotalRow() == 1) {
+                aggregate.sessions += row.getSessionCount();
+                aggregate.timedSessions += row.getTimedSessions();
+                aggregate.watchSecondsSum += row.getWatchSecondsSum();
+                aggregate.mergeExtremes(row.getMinWatchSeconds(), row.getMaxWatchSeconds());
+                aggregate.completedViews += row.getCompletedViews();
+                aggregate.bufferEventsSum += row.getBufferEventsSum();
+                aggregate.qualitySwitchesSum += row.getQualitySwitchesSum();
+                aggregate.bitrateSamples += row.getBitrateSamples();
+                aggregate.bitrateSum += row.getBitrateSum();
+            } else if (row.getSessionCount() != null && row.getSessionCount() > 0) {
+                aggregate.addDevice(row.getDeviceType(), row.getSessionCount());
+            }
+        }
+        return aggregate;
+    }
+
+    /**
+     * Adds per-device rows from a rollup or edge-hour query. Columns a source does
+     * not track come back as null and are skipped.
+     */
+    public SessionAggregate addDeviceRows(List<? extends DeviceAggregateRow> rows) {
+        for (DeviceAggregateRow row : rows) {
+            addGroup(row.getDeviceType(),
+                    valueOf(row.getSessionCount()),
+                    valueOf(row.getTimedSessions()),
+                    row.getWatchSecondsSum() != null ? row.getWatchSecondsSum() : 0.0,
+                    row.getMinWatchSeconds(),
+                    row.getMaxWatchSeconds(),
+                    valueOf(row.getCompletedViews()),
+                    valueOf(row.getBufferEventsSum()),
+                    valueOf(row.getQualitySwitchesSum()),
+                    valueOf(row.getBitrateSamples()),
+                    row.getBitrateSum() != null ? row.getBitrateSum() : 0.0);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a single session's values.
+     */
+    public void addSession(String deviceType, Double watchSeconds, boolean completed,
+                           long bufferEvents, long qualitySwitches, Long bitrate) {
+        sessions++;
+        if (watchSeconds != null) {
+            timedSessions++;
+            watchSecondsSum += watchSeconds;
+            mergeExtremes(watchSeconds, watchSeconds);
+        }
+        if (completed) {
+            completedViews++;
+        }
+        bufferEventsSum += bufferEvents;
+        qualitySwitchesSum += qualitySwitches;
+        if (bitrate != null) {
+            bitrateSamples++;
+            bitrateSum += bitrate;
+        }
+        addDevice(deviceType, 1);
+    }
+
+    /**
+     * Adds pre-aggregated values for a group of sessions that share a device type.
+     */
+    public void addGroup(String deviceType, long sessions, long timedSessions, double watchSecondsSum,
+                         Double minWatchSeconds, Double maxWatchSeconds, long completedViews,
+                         long bufferEventsSum, long qualitySwitchesSum, long bitrateSamples, double bitrateSum) {
+        if (sessions == 0) {
+            return;
+        }
+        this.sessions += sessions;
+        this.timedSessions += timedSessions;
+        this.watchSecondsSum += watchSecondsSum;
+        mergeExtremes(minWatchSeconds, maxWatchSeconds);
+        this.completedViews += completedViews;
+        this.bufferEventsSum += bufferEventsSum;
+        this.qualitySwitchesSum += qualitySwitchesSum;
+        this.bitrateSamples += bitrateSamples;
+        this.bitrateSum += bitrateSum;
+        addDevice(deviceType, sessions);
+    }
+
+    /**
+     * Folds another aggregate into this one.
+     */
+    public SessionAggregate merge(SessionAggregate other) {
+        sessions += other.sessions;
+        timedSessions += other.timedSessions;
+        watchSecondsSum += other.watchSecondsSum;
+        mergeExtremes(other.minWatchSeconds, other.maxWatchSeconds);
+        completedViews += other.completedViews;
+        bufferEventsSum += other.bufferEventsSum;
+        qualitySwitchesSum += other.qualitySwitchesSum;
+        bitrateSamples += other.bitrateSamples;
+        bitrateSum += other.bitrateSum;
+        other.deviceCounts.forEach(this::addDevice);
+        return this;
+    }
+
+    // Derived metrics
+
+    public double averageWatchDuration() {
+        return timedSessions == 0 ? 0.0 : watchSecondsSum / timedSessions;
+    }
+
+    public double completionRate() {
+        return sessions == 0 ? 0.0 : (double) completedViews / sessions * 100;
+    }
+
+    public double averageBufferEvents() {
+        return sessions == 0 ? 0.0 : (double) bufferEventsSum / sessions;
+    }
+
+    public double qualitySwitchRate() {
+        return sessions == 0 ? 0.0 : (double) qualitySwitchesSum / sessions;
+    }
+
+    public double averageBitrate() {
+        return bitrateSamples == 0 ? 0.0 : bitrateSum / bitrateSamples;
+    }
+
+    public Map<String, Long> deviceDistribution() {
+        return new HashMap<>(deviceCounts);
+    }
+
+    public Map<String, Double> qualityMetrics() {
+        Map<String, Double> metrics = new HashMap<>();
+
+        metrics.put("averageBufferEvents", averageBufferEvents());
+        metrics.put("qualitySwitchRate", qualitySwitchRate());
+        metrics.put("averageBitrate", averageBitrate());
+
+        return metrics;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private void addDevice(String deviceType, long count) {
+        deviceCounts.merge(deviceType != null ? deviceType : UNKNOWN_DEVICE, count, Long::sum);
+    }
+
+    private void mergeExtremes(Double min, Double max) {
+        if (min != null && !min.isNaN()) {
+            minWatchSeconds = Double.isNaN(minWatchSeconds) ? min : Math.min(minWatchSeconds, min);
+        }
+        if (max != null && !max.isNaN()) {
+            maxWatchSeconds = Double.isNaN(maxWatchSeconds) ? max : Math.max(maxWatchSeconds, max);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Session Analytics Consumer
+ * Location: src/main/java/com/videoanalytics/video/analytics/SessionAnalyticsConsumer.java
+ *
+ * Writes the durable session analytics off the request thread: distinct viewers
+ * when a session starts, and the hourly rollups when it ends. A session is claimed
+ * before it is rolled up, in the same transaction, so a repeated SessionEnded
+ * event is a no-op. Ended sessions whose event never arrived
+ * are picked up by a periodic sweep once they are old enough.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.config.EventsProperties;
+import com.videoanalytics.video.events.SessionEnded;
+import com.videoanalytics.video.events.SessionStarted;
+import com.videoanalytics.video.events.VideoEvent;
+import com.videoanalytics.video.events.VideoEventConsumer;
+import com.videoanalytics.video.model.ViewSession;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Slf4j
+public class SessionAnalyticsConsumer implements VideoEventConsumer {
+
+    private final ViewSessionRepository viewSessionRepository;
+    private final SessionRollupService sessionRollupService;
+    private final UniqueViewerService uniqueViewerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EventsProperties.Rollups settings;
+
+    public SessionAnalyticsConsumer(ViewSessionRepository viewSessionRepository,
+                                    SessionRollupService sessionRollupService,
+                                    UniqueViewerService uniqueViewerService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    EventsProperties eventsProperties) {
+        this.viewSessionRepository = viewSessionRepository;
+        this.sessionRollupService = sessionRollupService;
+        this.uniqueViewerService = uniqueViewerService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = eventsProperties.getRollups();
+    }
+
+    @Override
+    public void consume(VideoEvent event) {
+        if (event instanceof SessionStarted started) {
+            // Adding a viewer twice leaves the sketch unchanged, so repeats are harmless
+            transactionTemplate.executeWithoutResult(status -> uniqueViewerService.recordViewer(
+                    started.getVideoId(), started.getUserId(), started.getOccurredAt().toLocalDate()));
+        } else if (event instanceof SessionEnded ended) {
+            rollUp(ended.getSessionId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.rollups.repair-interval:PT1M}")
+    public void repairRollups() {
+        LocalDateTime endedBefore = LocalDateTime.now().minus(settings.getRepairAfter());
+        List<Long> sessionIds = viewSessionRepository.findUnrolledSessionIds(endedBefore,
+                PageRequest.of(0, settings.getRepairBatchSize()));
+
+        int repaired = 0;
+        for (Long sessionId : sessionIds) {
+            if (rollUp(sessionId)) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.info("Rolled up {} ended sessions whose event was lost", repaired);
+        }
+    }
+
+    /**
+     * Folds an ended session into the rollups unless it is already in them. Returns
+     * whether this call rolled it up.
+     */
+    boolean rollUp(Long sessionId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (viewSessionRepository.claimRollup(sessionId) == 0) {
+                return false;
+            }
+            ViewSession session = viewSessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new IllegalStateException("Claimed session missing: " + sessionId));
+
+            sessionRollupService.recordEndedSession(session);
+            eventPublisher.publishEvent(new AnalyticsChangeEvent(session.getVideo().getId(), session.getUserId()));
+            log.debug("Rolled up view session with ID: {}", sessionId);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Session Distributions
+ * Location: src/main/java/com/videoanalytics/video/analytics/SessionDistributions.java
+ *
+ * Watch duration and bitrate distributions of a set of sessions, merged from the
+ * hourly rollup sketches and the raw sessions of partial edge hours.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.sketch.QuantileSketch;
+import com.videoanalytics.video.repository.RollupSketchRow;
+import com.videoanalytics.video.repository.SessionSampleRow;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class SessionDistributions {
+
+    // Percentiles reported by the analytics API
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.95, 0.99};
+
+    private final QuantileSketch watchSeconds = new QuantileSketch();
+    private final QuantileSketch bitrate = new QuantileSketch();
+
+    public SessionDistributions addSketchRows(List<? extends RollupSketchRow> rows) {
+        for (RollupSketchRow row : rows) {
+            if (row.getWatchSecondsSketch() != null) {
+                watchSeconds.merge(QuantileSketch.fromBytes(row.getWatchSecondsSketch()));
+            }
+            if (row.getBitrateSketch() != null) {
+                bitrate.merge(QuantileSketch.fromBytes(row.getBitrateSketch()));
+            }
+        }
+        return this;
+    }
+
+    public SessionDistributions addSampleRows(List<? extends SessionSampleRow> rows) {
+        for (SessionSampleRow row : rows) {
+            if (row.getWatchSeconds() != null) {
+                watchSeconds.add(row.getWatchSeconds());
+            }
+            if (row.getAverageBitrate() != null) {
+                bitrate.add(row.getAverageBitrate());
+            }
+        }
+        return this;
+    }
+
+    public Map<String, Double> watchSecondsPercentiles() {
+        return percentiles(watchSeconds);
+    }
+
+    public Map<String, Double> bitratePercentiles() {
+        return percentiles(bitrate);
+    }
+
+    private static Map<String, Double> percentiles(QuantileSketch sketch) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            result.put("p" + Math.round(percentile * 100), sketch.quantile(percentile));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Session Rollup Service
+ * Location: src/main/java/com/videoanalytics/video/analytics/SessionRollupService.java
+ *
+ * Maintains the hourly per-video and per-user session rollups and answers period
+ * aggregates from them. A period is split into whole hours, which are summed from
+ * the rollup tables, and the partial hours at either edge, which are read from
+ * view_sessions. Sessions are bucketed by the hour they started in. Watch duration
+ * and bitrate distributions are merged the same way for percentile queries. Hours
+ * before the rollup watermark, written once by a migration, hold sessions that
+ * ended before the rollups existed and are read from view_sessions as well.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.sketch.QuantileSketch;
+import com.videoanalytics.video.model.ViewSession;
+import com.videoanalytics.video.repository.RollupSketchRow;
+import com.videoanalytics.video.repository.UserSessionRollupRepository;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import com.videoanalytics.video.repository.ViewSessionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SessionRollupService {
+
+    private final ViewSessionRollupRepository viewSessionRollupRepository;
+    private final UserSessionRollupRepository userSessionRollupRepository;
+    private final ViewSessionRepository viewSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Threshold for considering a video "completed" (e.g., 90% watched)
+    public static final double COMPLETION_THRESHOLD = 0.9;
+
+    private static final String ROLLED_UP_FROM_SQL = "SELECT rolled_up_from FROM session_rollup_watermark WHERE id = 1";
+
+    // First hour whose sessions are all in the rollups; read once, it never changes
+    private volatile LocalDateTime rolledUpFrom;
+
+    /**
+     * Folds an ended session into its hourly buckets. Runs inside the caller's
+     * transaction so the rollups commit or roll back together with the session.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEndedSession(ViewSession session) {
+        LocalDateTime bucket = bucketOf(session.getStartedAt());
+        String deviceType = deviceKey(session.getDeviceType());
+        double watchSeconds = session.getWatchDuration().toMillis() / 1000.0;
+        boolean completed = watchSeconds >= session.getVideo().getDuration().getSeconds() * COMPLETION_THRESHOLD;
+        Long bitrate = session.getAverageBitrate();
+
+        viewSessionRollupRepository.recordSession(
+                session.getVideo().getId(),
+                bucket,
+                deviceType,
+                completed ? 1 : 0,
+                watchSeconds,
+                session.getBufferEvents(),
+                session.getQualitySwitches(),
+                bitrate != null ? 1 : 0,
+                bitrate != null ? bitrate : 0.0
+        );
+        recordDistributions(session.getVideo().getId(), bucket, deviceType, watchSeconds, bitrate);
+        userSessionRollupRepository.recordSession(session.getUserId(), bucket, deviceType, watchSeconds);
+
+        log.debug("Rolled up session ID: {} into bucket {} ({})", session.getId(), bucket, deviceType);
+    }
+
+    /**
+     * Aggregates a video's sessions that started in [start, end).
+     */
+    @Transactional(readOnly = true)
+    public SessionAggregate aggregateVideo(Long videoId, LocalDateTime start, LocalDateTime end) {
+        SessionAggregate aggregate = new SessionAggregate();
+        LocalDateTime firstWholeHour = firstRolledUpHour(start);
+        LocalDateTime lastWholeHour = bucketOf(end);
+
+        // The whole range lies within one partial hour
+        if (!firstWholeHour.isBefore(lastWholeHour)) {
+            return aggregate.merge(SessionAggregate.fromRows(
+                    viewSessionRepository.aggregateVideoSessions(videoId, start, end, COMPLETION_THRESHOLD)));
+        }
+
+        if (start.isBefore(firstWholeHour)) {
+            aggregate.merge(SessionAggregate.fromRows(
+                    viewSessionRepository.aggregateVideoSessions(videoId, start, firstWholeHour, COMPLETION_THRESHOLD)));
+        }
+        aggregate.addDeviceRows(viewSessionRollupRepository.sumBuckets(videoId, firstWholeHour, lastWholeHour));
+        if (lastWholeHour.isBefore(end)) {
+            aggregate.merge(SessionAggregate.fromRows(
+                    viewSessionRepository.aggregateVideoSessions(videoId, lastWholeHour, end, COMPLETION_THRESHOLD)));
+        }
+        return aggregate;
+    }
+
+    /**
+     * Aggregates a user's sessions that started in [start, end). Only session count,
+     * watch time and device preferences are tracked per user.
+     */
+    @Transactional(readOnly = true)
+    public SessionAggregate aggregateUser(Long userId, LocalDateTime start, LocalDateTime end) {
+        SessionAggregate aggregate = new SessionAggregate();
+        LocalDateTime firstWholeHour = firstRolledUpHour(start);
+        LocalDateTime lastWholeHour = bucketOf(end);
+
+        if (!firstWholeHour.isBefore(lastWholeHour)) {
+            return aggregate.addDeviceRows(viewSessionRepository.aggregateUserSessions(userId, start, end));
+        }
+
+        if (start.isBefore(firstWholeHour)) {
+            aggregate.addDeviceRows(viewSessionRepository.aggregateUserSessions(userId, start, firstWholeHour));
+        }
+        aggregate.addDeviceRows(userSessionRollupRepository.sumBuckets(userId, firstWholeHour, lastWholeHour));
+        if (lastWholeHour.isBefore(end)) {
+            aggregate.addDeviceRows(viewSessionRepository.aggregateUserSessions(userId, lastWholeHour, end));
+        }
+        return aggregate;
+    }
+
+    /**
+     * Merges the watch duration and bitrate sketches of a video's sessions that
+     * started in [start, end).
+     */
+    @Transactional(readOnly = true)
+    public SessionDistributions distributionsForVideo(Long videoId, LocalDateTime start, LocalDateTime end) {
+        SessionDistributions distributions = new SessionDistributions();
+        LocalDateTime firstWholeHour = firstRolledUpHour(start);
+        LocalDateTime lastWholeHour = bucketOf(end);
+
+        if (!firstWholeHour.isBefore(lastWholeHour)) {
+            return distributions.addSampleRows(viewSessionRepository.findVideoSessionSamples(videoId, start, end));
+        }
+
+        if (start.isBefore(firstWholeHour)) {
+            distributions.addSampleRows(viewSessionRepository.findVideoSessionSamples(videoId, start, firstWholeHour));
+        }
+        distributions.addSketchRows(viewSessionRollupRepository.findSketches(videoId, firstWholeHour, lastWholeHour));
+        if (lastWholeHour.isBefore(end)) {
+            distributions.addSampleRows(viewSessionRepository.findVideoSessionSamples(videoId, lastWholeHour, end));
+        }
+        return distributions;
+    }
+
+    // Helper methods
+
+    private void recordDistributions(Long videoId, LocalDateTime bucket, String deviceType,
+                                     double watchSeconds, Long bitrate) {
+        // The upsert in recordEndedSession holds the row lock, so this read-modify-write is safe
+        RollupSketchRow current = viewSessionRollupRepository.findBucketSketches(videoId, bucket, deviceType);
+
+        QuantileSketch watchSketch = sketchOf(current.getWatchSecondsSketch());
+        watchSketch.add(watchSeconds);
+
+        QuantileSketch bitrateSketch = sketchOf(current.getBitrateSketch());
+        if (bitrate != null) {
+            bitrateSketch.add(bitrate);
+        }
+
+        viewSessionRollupRepository.updateBucketSketches(videoId, bucket, deviceType,
+                watchSketch.toBytes(), bitrateSketch.toBytes());
+    }
+
+    // The first whole hour of a period that can be read from the rollups
+    private LocalDateTime firstRolledUpHour(LocalDateTime start) {
+        LocalDateTime from = rolledUpFrom;
+        if (from == null) {
+            from = jdbcTemplate.queryForObject(ROLLED_UP_FROM_SQL, LocalDateTime.class);
+            rolledUpFrom = from;
+        }
+        LocalDateTime firstWholeHour = ceilToHour(start);
+        return firstWholeHour.isBefore(from) ? from : firstWholeHour;
+    }
+
+    private static QuantileSketch sketchOf(byte[] bytes) {
+        return bytes != null ? QuantileSketch.fromBytes(bytes) : new QuantileSketch();
+    }
+
+    public static LocalDateTime bucketOf(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime ceilToHour(LocalDateTime timestamp) {
+        LocalDateTime floor = bucketOf(timestamp);
+        return floor.equals(timestamp) ? floor : floor.plusHours(1);
+    }
+
+    private static String deviceKey(String deviceType) {
+        return deviceType != null ? deviceType : SessionAggregate.UNKNOWN_DEVICE;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Unique Viewer Service
+ * Location: src/main/java/com/videoanalytics/video/analytics/UniqueViewerService.java
+ *
+ * Maintains one HyperLogLog sketch per video per day and answers approximate
+ * distinct-viewer counts by merging sketches, instead of running
+ * COUNT(DISTINCT user_id) over view_sessions.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.sketch.HyperLogLog;
+import com.videoanalytics.video.model.VideoViewerSketch;
+import com.videoanalytics.video.model.VideoViewerSketchId;
+import com.videoanalytics.video.repository.VideoViewerSketchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UniqueViewerService {
+
+    private final VideoViewerSketchRepository videoViewerSketchRepository;
+
+    /**
+     * Adds a viewer to the video's sketch for the given day. Once a sketch has seen a
+     * viewer most adds leave it unchanged, so the row is only locked and rewritten
+     * when the viewer would raise a register.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordViewer(Long videoId, Long userId, LocalDate day) {
+        Optional<VideoViewerSketch> current = videoViewerSketchRepository.findById(new VideoViewerSketchId(videoId, day));
+        if (current.isPresent() && !HyperLogLog.fromBytes(current.get().getSketch()).add(userId)) {
+            return;
+        }
+
+        videoViewerSketchRepository.createIfAbsent(videoId, day, new HyperLogLog().toBytes());
+
+        VideoViewerSketch row = videoViewerSketchRepository.findForUpdate(videoId, day)
+                .orElseThrow(() -> new IllegalStateException("Viewer sketch missing for video ID: " + videoId));
+
+        HyperLogLog sketch = HyperLogLog.fromBytes(row.getSketch());
+        if (sketch.add(userId)) {
+            row.setSketch(sketch.toBytes());
+            log.debug("Updated viewer sketch for video ID: {} on {}", videoId, day);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countVideoViewers(Long videoId, LocalDate from, LocalDate to) {
+        return merge(videoViewerSketchRepository.findVideoSketches(videoId, from, to)).estimate();
+    }
+
+    @Transactional(readOnly = true)
+    public long countCreatorViewers(Long creatorId, LocalDate from, LocalDate to) {
+        return merge(videoViewerSketchRepository.findCreatorSketches(creatorId, from, to)).estimate();
+    }
+
+    private HyperLogLog merge(List<byte[]> sketches) {
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] bytes : sketches) {
+            merged.merge(HyperLogLog.fromBytes(bytes));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * User Engagement Aggregator
+ * Location: src/main/java/com/videoanalytics/video/analytics/UserEngagementAggregator.java
+ *
+ * Collects a user's watch time, distinct videos, average watch duration, likes and
+ * device preferences in one pass per partition. Periods longer than the configured
+ * partition are split into time partitions that are aggregated in parallel on a
+ * dedicated fork/join pool and merged. A partition is answered from the hot store
+ * plus a like count when the store covers it, and by a single query otherwise.
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.hotstore.ColumnScanResult;
+import com.videoanalytics.video.analytics.hotstore.SessionColumnStore;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.dto.UserEngagement;
+import com.videoanalytics.video.repository.UserEngagementRow;
+import com.videoanalytics.video.repository.VideoLikeRepository;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+@Component
+@Slf4j
+public class UserEngagementAggregator {
+
+    // Pool metrics are published as executor.* meters with name=analytics.engagement
+    private static final String POOL_NAME = "analytics.engagement";
+
+    private final ViewSessionRepository viewSessionRepository;
+    private final VideoLikeRepository videoLikeRepository;
+    private final SessionColumnStore sessionColumnStore;
+    private final Duration partition;
+    private final ForkJoinPool pool;
+
+    public UserEngagementAggregator(ViewSessionRepository viewSessionRepository,
+                                    VideoLikeRepository videoLikeRepository,
+                                    SessionColumnStore sessionColumnStore,
+                                    AnalyticsProperties analyticsProperties,
+                                    MeterRegistry meterRegistry) {
+        this.viewSessionRepository = viewSessionRepository;
+        this.videoLikeRepository = videoLikeRepository;
+        this.sessionColumnStore = sessionColumnStore;
+
+        AnalyticsProperties.Engagement settings = analyticsProperties.getEngagement();
+        this.partition = settings.getPartition();
+        this.pool = new ForkJoinPool(settings.getParallelism(), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("engagement-aggregator-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        new ExecutorServiceMetrics(pool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Aggregates a user's engagement for sessions and likes in [start, end).
+     */
+    public UserEngagement.UserEngagementBuilder aggregate(Long userId, LocalDateTime start, LocalDateTime end) {
+        // A period the hot store covers is a single in-memory scan, so it is not worth splitting
+        long partitions = partitionCount(start, end);
+        EngagementTotals totals;
+        if (partitions > 1 && !sessionColumnStore.covers(start)) {
+            log.debug("Aggregating engagement for user ID: {} in {} partitions", userId, partitions);
+            totals = pool.invoke(new PartitionTask(userId, start, end));
+        } else {
+            totals = aggregatePartition(userId, start, end);
+        }
+
+        return UserEngagement.builder()
+                .userId(userId)
+                .totalWatchTime(Math.round(totals.sessions.getWatchSecondsSum()))
+                .videosWatched(totals.videoIds.size())
+                .averageWatchDuration(totals.sessions.averageWatchDuration())
+                .totalLikes(totals.likes)
+                .devicePreferences(totals.sessions.deviceDistribution());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Helper methods
+
+    private EngagementTotals aggregatePartition(Long userId, LocalDateTime start, LocalDateTime end) {
+        EngagementTotals totals = new EngagementTotals();
+
+        if (sessionColumnStore.covers(start)) {
+            ColumnScanResult scan = sessionColumnStore.scanUser(userId, start, end);
+            totals.sessions.merge(scan.getAggregate());
+            for (long videoId : scan.distinctCounterpartIds()) {
+                totals.videoIds.add(videoId);
+            }
+            totals.likes = videoLikeRepository.countUserLikesBetween(userId, start, end);
+            return totals;
+        }
+
+        for (UserEngagementRow row : viewSessionRepository.aggregateUserEngagement(userId, start, end)) {
+            totals.likes = row.getLikeCount();
+            if (row.getVideoId() != null) {
+                totals.sessions.addGroup(row.getDeviceType(), row.getSessionCount(), row.getTimedSessions(),
+                        row.getWatchSecondsSum(), null, null, 0, 0, 0, 0, 0.0);
+                totals.videoIds.add(row.getVideoId());
+            }
+        }
+        return totals;
+    }
+
+    private long partitionCount(LocalDateTime start, LocalDateTime end) {
+        long span = Duration.between(start, end).toMillis();
+        long size = partition.toMillis();
+        return (span + size - 1) / size;
+    }
+
+    /**
+     * Halves its period along partition boundaries until a single partition is left,
+     * forking the earlier half and computing the later one on the current thread.
+     */
+    private final class PartitionTask extends RecursiveTask<EngagementTotals> {
+        private final Long userId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private PartitionTask(Long userId, LocalDateTime start, LocalDateTime end) {
+            this.userId = userId;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected EngagementTotals compute() {
+            long partitions = partitionCount(start, end);
+            if (partitions <= 1) {
+                return aggregatePartition(userId, start, end);
+            }
+
+            LocalDateTime middle = start.plus(partition.multipliedBy(partitions / 2));
+            PartitionTask earlier = new PartitionTask(userId, start, middle);
+            earlier.fork();
+            EngagementTotals later = new PartitionTask(userId, middle, end).compute();
+            return earlier.join().merge(later);
+        }
+    }
+
+    private static final class EngagementTotals {
+        private final SessionAggregate sessions = new SessionAggregate();
+        private Set<Long> videoIds = new HashSet<>();
+        private long likes;
+
+        private EngagementTotals merge(EngagementTotals other) {
+            sessions.merge(other.sessions);
+            // Distinct videos are a set union, so the smaller set is added to the larger
+            if (other.videoIds.size() > videoIds.size()) {
+                Set<Long> smaller = videoIds;
+                videoIds = other.videoIds;
+                videoIds.addAll(smaller);
+            } else {
+                videoIds.addAll(other.videoIds);
+            }
+            likes += other.likes;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Column Scan Result
+ * Location: src/main/java/com/videoanalytics/video/analytics/hotstore/ColumnScanResult.java
+ *
+ * Result of scanning the hot store for one video or one user: the session metrics
+ * plus the sorted counterpart IDs (viewers of a video, or videos of a user), from
+ * which distinct and repeat counts are derived.
+ */
+package com.videoanalytics.video.analytics.hotstore;
+
+import com.videoanalytics.video.analytics.SessionAggregate;
+import lombok.Getter;
+
+public class ColumnScanResult {
+
+    @Getter
+    private final SessionAggregate aggregate;
+
+    // Sorted, with one entry per matching session
+    private final long[] counterpartIds;
+
+    ColumnScanResult(SessionAggregate aggregate, long[] counterpartIds) {
+        this.aggregate = aggregate;
+        this.counterpartIds = counterpartIds;
+    }
+
+    public long distinctCounterparts() {
+        long distinct = 0;
+        for (int i = 0; i < counterpartIds.length; i++) {
+            if (i == 0 || counterpartIds[i] != counterpartIds[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Counterpart IDs with duplicates removed, in ascending order.
+     */
+    public long[] distinctCounterpartIds() {
+        long[] distinct = new long[(int) distinctCounterparts()];
+        int next = 0;
+        for (int i = 0; i < counterpartIds.length; i++) {
+            if (i == 0 || counterpartIds[i] != counterpartIds[i - 1]) {
+                distinct[next++] = counterpartIds[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Percentage of distinct counterparts that appear in more than one session.
+     */
+    public double repeatRate() {
+        long distinct = distinctCounterparts();
+        if (distinct == 0) {
+            return 0.0;
+        }
+        long repeated = 0;
+        for (int i = 1; i < counterpartIds.length; i++) {
+            // Count each run of equal IDs once, at its second element
+            if (counterpartIds[i] == counterpartIds[i - 1] && (i == 1 || counterpartIds[i - 1] != counterpartIds[i - 2])) {
+                repeated++;
+            }
+        }
+        return (double) repeated / distinct * 100;
+    }
+}
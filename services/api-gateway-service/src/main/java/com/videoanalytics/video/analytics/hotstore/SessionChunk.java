@@ -0,0 +1,84 @@
+/**
+ * Session Chunk
+ * Location: src/main/java/com/videoanalytics/video/analytics/hotstore/SessionChunk.java
+ *
+ * Fixed-capacity block of ended sessions stored column by column. Rows are only
+ * ever appended by a single writer; the volatile size publishes each row to
+ * concurrent readers, which scan the first size() entries of each column.
+ */
+package com.videoanalytics.video.analytics.hotstore;
+
+final class SessionChunk {
+
+    static final int NO_BITRATE = -1;
+
+    final long[] videoIds;
+    final long[] userIds;
+    final long[] startedAt;
+    final int[] watchMillis;
+    final int[] bufferEvents;
+    final int[] qualitySwitches;
+    final int[] bitrates;
+    final byte[] devices;
+    final byte[] completed;
+
+    private volatile int size;
+
+    // Bounds of startedAt, so scans can skip chunks outside the requested period
+    private volatile long minStartedAt = Long.MAX_VALUE;
+    private volatile long maxStartedAt = Long.MIN_VALUE;
+
+    SessionChunk(int capacity) {
+        videoIds = new long[capacity];
+        userIds = new long[capacity];
+        startedAt = new long[capacity];
+        watchMillis = new int[capacity];
+        bufferEvents = new int[capacity];
+        qualitySwitches = new int[capacity];
+        bitrates = new int[capacity];
+        devices = new byte[capacity];
+        completed = new byte[capacity];
+    }
+
+    /**
+     * Appends a row, or returns false if the chunk is full. Called by one writer at a time.
+     */
+    boolean append(long videoId, long userId, long startedAtMillis, int watch, int buffers,
+                   int switches, int bitrate, byte device, boolean isCompleted) {
+        int row = size;
+        if (row == videoIds.length) {
+            return false;
+        }
+        videoIds[row] = videoId;
+        userIds[row] = userId;
+        startedAt[row] = startedAtMillis;
+        watchMillis[row] = watch;
+        bufferEvents[row] = buffers;
+        qualitySwitches[row] = switches;
+        bitrates[row] = bitrate;
+        devices[row] = device;
+        completed[row] = (byte) (isCompleted ? 1 : 0);
+
+        if (startedAtMillis < minStartedAt) {
+            minStartedAt = startedAtMillis;
+        }
+        if (startedAtMillis > maxStartedAt) {
+            maxStartedAt = startedAtMillis;
+        }
+        // Publishes the row written above
+        size = row + 1;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean overlaps(long fromMillis, long toMillis) {
+        return size > 0 && maxStartedAt >= fromMillis && minStartedAt < toMillis;
+    }
+
+    boolean endsBefore(long millis) {
+        return size > 0 && maxStartedAt < millis;
+    }
+}
@@ -0,0 +1,306 @@
+/**
+ * Session Column Store
+ * Location: src/main/java/com/videoanalytics/video/analytics/hotstore/SessionColumnStore.java
+ *
+ * In-memory, column-oriented copy of the ended sessions of the retention window
+ * (30 days by default). Sessions are appended to time-ordered chunks of primitive
+ * arrays, and analytics scans run as plain loops over those arrays instead of
+ * loading entities. Chunks that fall out of the window are dropped.
+ *
+ * The store is loaded from view_sessions on startup and then refreshed from it on
+ * a short interval with the sessions ended since, so every node holds every
+ * session, whichever node or event consumer ended it. Each refresh reads back a
+ * little further than the last one, to catch sessions whose transaction committed
+ * after a later one, and skips the sessions it has already appended.
+ */
+package com.videoanalytics.video.analytics.hotstore;
+
+import com.videoanalytics.video.analytics.SessionAggregate;
+import com.videoanalytics.video.analytics.SessionRollupService;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.repository.HotSessionRow;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+@Slf4j
+public class SessionColumnStore {
+
+    // Dictionary code 0 is reserved for sessions without a device type
+    private static final int MAX_DEVICE_CODES = 256;
+
+    private final ViewSessionRepository viewSessionRepository;
+    private final AnalyticsProperties.HotStore settings;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    // Oldest first; readers iterate a snapshot, writers and eviction hold the monitor
+    private final CopyOnWriteArrayList<SessionChunk> chunks = new CopyOnWriteArrayList<>();
+
+    private final ConcurrentHashMap<String, Byte> deviceCodes = new ConcurrentHashMap<>();
+    private final String[] deviceNames = new String[MAX_DEVICE_CODES];
+
+    // Sessions that started before this instant may be missing from the store
+    private volatile long coveredFromMillis = Long.MAX_VALUE;
+    private volatile boolean ready;
+
+    // When the last load from view_sessions started; sessions ended before it are in the store
+    private volatile LocalDateTime refreshedThrough;
+
+    // End times of the appended sessions that the next refresh reads again, by ID;
+    // guarded by the writer lock
+    private final Map<Long, Long> recentlyAppended = new HashMap<>();
+
+    public SessionColumnStore(ViewSessionRepository viewSessionRepository,
+                              AnalyticsProperties analyticsProperties) {
+        this.viewSessionRepository = viewSessionRepository;
+        this.settings = analyticsProperties.getHotStore();
+        deviceNames[0] = SessionAggregate.UNKNOWN_DEVICE;
+        deviceCodes.put(SessionAggregate.UNKNOWN_DEVICE, (byte) 0);
+    }
+
+    /**
+     * True if every session that started in [start, now] and ended before the last
+     * refresh is in the store.
+     */
+    public boolean covers(LocalDateTime start) {
+        return ready && toMillis(start) >= coveredFromMillis;
+    }
+
+    public ColumnScanResult scanVideo(long videoId, LocalDateTime start, LocalDateTime end) {
+        return scan(true, videoId, toMillis(start), toMillis(end));
+    }
+
+    public ColumnScanResult scanUser(long userId, LocalDateTime start, LocalDateTime end) {
+        return scan(false, userId, toMillis(start), toMillis(end));
+    }
+
+    public long size() {
+        long rows = 0;
+        for (SessionChunk chunk : chunks) {
+            rows += chunk.size();
+        }
+        return rows;
+    }
+
+    // Lifecycle
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        long startedNanos = System.nanoTime();
+        LocalDateTime loadStartedAt = LocalDateTime.now(clock);
+        LocalDateTime since = loadStartedAt.minus(settings.getRetention());
+
+        long loaded = load(since, null, loadStartedAt);
+
+        refreshedThrough = loadStartedAt;
+        coveredFromMillis = toMillis(since);
+        ready = true;
+        log.info("Rebuilt session hot store with {} sessions in {} ms",
+                loaded, (System.nanoTime() - startedNanos) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.hot-store.refresh-interval:PT5S}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime refreshStartedAt = LocalDateTime.now(clock);
+        LocalDateTime endedSince = refreshedThrough.minus(settings.getRefreshOverlap());
+
+        long appended = load(refreshStartedAt.minus(settings.getRetention()), endedSince, refreshStartedAt);
+
+        refreshedThrough = refreshStartedAt;
+        if (appended > 0) {
+            log.debug("Refreshed session hot store with {} ended sessions", appended);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.hot-store.eviction-interval:PT10M}")
+    public void evictExpired() {
+        if (!ready) {
+            return;
+        }
+        long cutoff = toMillis(LocalDateTime.now(clock).minus(settings.getRetention()));
+
+        // A chunk is only dropped once all of its rows are older than the window
+        int evicted = 0;
+        synchronized (this) {
+            while (chunks.size() > 1 && chunks.get(0).endsBefore(cutoff)) {
+                chunks.remove(0);
+                evicted++;
+            }
+        }
+        coveredFromMillis = Math.max(coveredFromMillis, cutoff);
+        if (evicted > 0) {
+            log.debug("Evicted {} expired session chunks from the hot store", evicted);
+        }
+    }
+
+    // Helper methods
+
+    // Appends the ended sessions that started since startedSince, and ended since endedSince
+    // if given, which are not in the store yet. Returns the number appended.
+    private long load(LocalDateTime startedSince, LocalDateTime endedSince, LocalDateTime loadStartedAt) {
+        long readAgainFrom = toMillis(loadStartedAt.minus(settings.getRefreshOverlap()));
+        long afterId = 0;
+        long appended = 0;
+        List<HotSessionRow> batch;
+        do {
+            batch = endedSince == null
+                    ? viewSessionRepository.findEndedSessionsForHotStore(startedSince, afterId,
+                            SessionRollupService.COMPLETION_THRESHOLD, settings.getRebuildBatchSize())
+                    : viewSessionRepository.findSessionsEndedSinceForHotStore(startedSince, endedSince, afterId,
+                            SessionRollupService.COMPLETION_THRESHOLD, settings.getRebuildBatchSize());
+            synchronized (this) {
+                for (HotSessionRow row : batch) {
+                    afterId = row.getId();
+                    long endedAt = toMillis(row.getEndedAt());
+                    if (recentlyAppended.containsKey(row.getId())) {
+                        continue;
+                    }
+                    if (endedAt >= readAgainFrom) {
+                        recentlyAppended.put(row.getId(), endedAt);
+                    }
+                    append(row.getVideoId(), row.getUserId(), toMillis(row.getStartedAt()),
+                            (int) Math.min(row.getWatchMillis(), Integer.MAX_VALUE),
+                            row.getBufferEvents() != null ? row.getBufferEvents() : 0,
+                            row.getQualitySwitches() != null ? row.getQualitySwitches() : 0,
+                            row.getAverageBitrate() != null
+                                    ? (int) Math.min(row.getAverageBitrate(), Integer.MAX_VALUE)
+                                    : SessionChunk.NO_BITRATE,
+                            row.getDeviceType(), Boolean.TRUE.equals(row.getCompleted()));
+                    appended++;
+                }
+            }
+        } while (batch.size() == settings.getRebuildBatchSize());
+
+        // Sessions that ended before the next refresh's window cannot be read again
+        synchronized (this) {
+            recentlyAppended.values().removeIf(endedAt -> endedAt < readAgainFrom);
+        }
+        return appended;
+    }
+
+    // Callers hold the writer lock
+    private void append(long videoId, long userId, long startedAt, int watchMillis,
+                        int bufferEvents, int qualitySwitches, int bitrate,
+                        String deviceType, boolean completed) {
+        byte device = deviceCode(deviceType);
+        SessionChunk current = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (current == null || !current.append(videoId, userId, startedAt, watchMillis, bufferEvents,
+                qualitySwitches, bitrate, device, completed)) {
+            current = new SessionChunk(settings.getChunkSize());
+            current.append(videoId, userId, startedAt, watchMillis, bufferEvents,
+                    qualitySwitches, bitrate, device, completed);
+            chunks.add(current);
+        }
+    }
+
+    // Called by the writer only
+    private byte deviceCode(String deviceType) {
+        if (deviceType == null) {
+            return 0;
+        }
+        Byte code = deviceCodes.get(deviceType);
+        if (code != null) {
+            return code;
+        }
+        int next = deviceCodes.size();
+        if (next >= MAX_DEVICE_CODES) {
+            // Dictionary is full; such sessions are reported as unknown devices
+            return 0;
+        }
+        deviceNames[next] = deviceType;
+        deviceCodes.put(deviceType, (byte) next);
+        return (byte) next;
+    }
+
+    private ColumnScanResult scan(boolean byVideo, long id, long fromMillis, long toMillis) {
+        // Per-device accumulators, indexed by dictionary code
+        long[] sessions = new long[MAX_DEVICE_CODES];
+        long[] watchMillisSum = new long[MAX_DEVICE_CODES];
+        int[] minWatch = new int[MAX_DEVICE_CODES];
+        int[] maxWatch = new int[MAX_DEVICE_CODES];
+        long[] completedViews = new long[MAX_DEVICE_CODES];
+        long[] bufferEventsSum = new long[MAX_DEVICE_CODES];
+        long[] qualitySwitchesSum = new long[MAX_DEVICE_CODES];
+        long[] bitrateSamples = new long[MAX_DEVICE_CODES];
+        long[] bitrateSum = new long[MAX_DEVICE_CODES];
+        Arrays.fill(minWatch, Integer.MAX_VALUE);
+
+        long[] counterparts = new long[64];
+        int matches = 0;
+
+        for (SessionChunk chunk : chunks) {
+            // Read the size first; rows below it are fully written
+            int size = chunk.size();
+            if (!chunk.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            long[] keys = byVideo ? chunk.videoIds : chunk.userIds;
+            long[] others = byVideo ? chunk.userIds : chunk.videoIds;
+            long[] startedAt = chunk.startedAt;
+
+            for (int row = 0; row < size; row++) {
+                if (keys[row] != id || startedAt[row] < fromMillis || startedAt[row] >= toMillis) {
+                    continue;
+                }
+                int device = chunk.devices[row] & 0xFF;
+                int watch = chunk.watchMillis[row];
+
+                sessions[device]++;
+                watchMillisSum[device] += watch;
+                minWatch[device] = Math.min(minWatch[device], watch);
+                maxWatch[device] = Math.max(maxWatch[device], watch);
+                completedViews[device] += chunk.completed[row];
+                bufferEventsSum[device] += chunk.bufferEvents[row];
+                qualitySwitchesSum[device] += chunk.qualitySwitches[row];
+                int bitrate = chunk.bitrates[row];
+                if (bitrate != SessionChunk.NO_BITRATE) {
+                    bitrateSamples[device]++;
+                    bitrateSum[device] += bitrate;
+                }
+
+                if (matches == counterparts.length) {
+                    counterparts = Arrays.copyOf(counterparts, matches * 2);
+                }
+                counterparts[matches++] = others[row];
+            }
+        }
+
+        SessionAggregate aggregate = new SessionAggregate();
+        for (int device = 0; device < MAX_DEVICE_CODES; device++) {
+            if (sessions[device] > 0) {
+                aggregate.addGroup(deviceNames[device], sessions[device], sessions[device],
+                        watchMillisSum[device] / 1000.0, minWatch[device] / 1000.0, maxWatch[device] / 1000.0,
+                        completedViews[device], bufferEventsSum[device], qualitySwitchesSum[device],
+                        bitrateSamples[device], bitrateSum[device]);
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(counterparts, matches);
+        Arrays.sort(sorted);
+        return new ColumnScanResult(aggregate, sorted);
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
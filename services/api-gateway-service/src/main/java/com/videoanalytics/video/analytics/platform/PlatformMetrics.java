@@ -0,0 +1,213 @@
+/**
+ * Platform Metrics
+ * Location: src/main/java/com/videoanalytics/video/analytics/platform/PlatformMetrics.java
+ *
+ * Platform-wide counters maintained on the ingest paths. Views, likes, uploads and
+ * sessions are added to rolling counters as they happen, and a ticker advances the
+ * counters and publishes a dashboard snapshot every second, so reading the
+ * dashboard never touches the database. Counts are per node and start empty.
+ */
+package com.videoanalytics.video.analytics.platform;
+
+import com.videoanalytics.video.analytics.SessionAggregate;
+import com.videoanalytics.video.analytics.trending.TrendingEngine;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.dto.PlatformDashboard;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PlatformMetrics {
+
+    private static final Duration SECOND = Duration.ofSeconds(1);
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final int MINUTES_PER_DAY = 1440;
+
+    // Device types are reported by clients; further types are counted under one key
+    private static final int MAX_DEVICE_TYPES = 32;
+    private static final String OTHER_DEVICE = "other";
+
+    private final TrendingEngine trendingEngine;
+    private final AnalyticsProperties.Platform settings;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final LocalDateTime countingSince;
+
+    private final EventRate views;
+    private final EventRate likes;
+    private final RollingCounter uploads;
+    private final RollingCounter endedSessions;
+    private final RollingCounter bufferEvents;
+
+    // Open sessions per device, in the slot of the minute they started
+    private final ConcurrentHashMap<String, RollingCounter> activeSessions = new ConcurrentHashMap<>();
+
+    private volatile PlatformDashboard snapshot;
+
+    public PlatformMetrics(TrendingEngine trendingEngine, AnalyticsProperties analyticsProperties) {
+        this.trendingEngine = trendingEngine;
+        this.settings = analyticsProperties.getPlatform();
+        this.countingSince = LocalDateTime.now(clock);
+
+        long now = clock.millis();
+        this.views = new EventRate(now);
+        this.likes = new EventRate(now);
+        this.uploads = new RollingCounter(MINUTE, MINUTES_PER_DAY, now);
+        this.endedSessions = new RollingCounter(MINUTE, 60, now);
+        this.bufferEvents = new RollingCounter(MINUTE, 60, now);
+        this.snapshot = buildSnapshot();
+    }
+
+    // Ingest hooks
+
+    public void recordView() {
+        views.add(clock.millis());
+    }
+
+    public void recordLike() {
+        likes.add(clock.millis());
+    }
+
+    public void recordUpload() {
+        uploads.add(1, clock.millis());
+    }
+
+    public void sessionStarted(String deviceType) {
+        long now = clock.millis();
+        activeCounter(deviceType, now).add(1, now);
+    }
+
+    /**
+     * Removes an ended session from the active count. A session that started before
+     * the active window has already dropped out and is only counted as ended.
+     */
+    public void sessionEnded(String deviceType, LocalDateTime startedAt, int sessionBufferEvents) {
+        long now = clock.millis();
+        activeCounter(deviceType, now).add(-1, toMillis(startedAt));
+        endedSessions.add(1, now);
+        bufferEvents.add(sessionBufferEvents, now);
+    }
+
+    /**
+     * Latest snapshot; at most one snapshot interval old.
+     */
+    public PlatformDashboard getDashboard() {
+        return snapshot;
+    }
+
+    @Scheduled(fixedRateString = "${analytics.platform.snapshot-interval:PT1S}")
+    public void tick() {
+        long now = clock.millis();
+        views.advanceTo(now);
+        likes.advanceTo(now);
+        uploads.advanceTo(now);
+        endedSessions.advanceTo(now);
+        bufferEvents.advanceTo(now);
+        activeSessions.values().forEach(counter -> counter.advanceTo(now));
+
+        snapshot = buildSnapshot();
+    }
+
+    // Helper methods
+
+    private PlatformDashboard buildSnapshot() {
+        Map<String, Long> deviceMix = new HashMap<>();
+        long active = 0;
+        for (Map.Entry<String, RollingCounter> entry : activeSessions.entrySet()) {
+            // Sessions ended on another node can push a device below zero here
+            long count = Math.max(0, entry.getValue().sum());
+            if (count > 0) {
+                deviceMix.put(entry.getKey(), count);
+                active += count;
+            }
+        }
+
+        long ended = endedSessions.sum();
+
+        return PlatformDashboard.builder()
+                .activeSessions(active)
+                .viewsLastMinute(views.lastMinute())
+                .viewsLastHour(views.lastHour())
+                .viewsLastDay(views.lastDay())
+                .likesLastMinute(likes.lastMinute())
+                .likesLastHour(likes.lastHour())
+                .likesLastDay(likes.lastDay())
+                .uploadsLastHour(uploads.sumLast(60))
+                .uploadsLastDay(uploads.sum())
+                .viewsPerMinute(views.perMinuteLastHour())
+                .likesPerMinute(likes.perMinuteLastHour())
+                .topVideos(trendingEngine.topTrending(TrendingWindow.DAY, settings.getTopVideos()))
+                .deviceMix(deviceMix)
+                .averageBufferRate(ended == 0 ? 0.0 : (double) bufferEvents.sum() / ended)
+                .countingSince(countingSince)
+                .generatedAt(LocalDateTime.now(clock))
+                .build();
+    }
+
+    private RollingCounter activeCounter(String deviceType, long now) {
+        String key = deviceType != null ? deviceType : SessionAggregate.UNKNOWN_DEVICE;
+        RollingCounter counter = activeSessions.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (activeSessions.size() >= MAX_DEVICE_TYPES) {
+            key = OTHER_DEVICE;
+        }
+        int slots = (int) settings.getActiveSessionWindow().toMinutes();
+        return activeSessions.computeIfAbsent(key, k -> new RollingCounter(MINUTE, slots, now));
+    }
+
+    private long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Event counts at one-second resolution for the last minute and one-minute
+     * resolution for the last day.
+     */
+    private static final class EventRate {
+        private final RollingCounter seconds;
+        private final RollingCounter minutes;
+
+        private EventRate(long nowMillis) {
+            this.seconds = new RollingCounter(SECOND, 60, nowMillis);
+            this.minutes = new RollingCounter(MINUTE, MINUTES_PER_DAY, nowMillis);
+        }
+
+        private void add(long nowMillis) {
+            seconds.add(1, nowMillis);
+            minutes.add(1, nowMillis);
+        }
+
+        private void advanceTo(long nowMillis) {
+            seconds.advanceTo(nowMillis);
+            minutes.advanceTo(nowMillis);
+        }
+
+        private long lastMinute() {
+            return seconds.sum();
+        }
+
+        private long lastHour() {
+            return minutes.sumLast(60);
+        }
+
+        private long lastDay() {
+            return minutes.sum();
+        }
+
+        private List<Long> perMinuteLastHour() {
+            return Arrays.stream(minutes.lastSlots(60)).boxed().toList();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Rolling Counter
+ * Location: src/main/java/com/videoanalytics/video/analytics/platform/RollingCounter.java
+ *
+ * Ring buffer of fixed-width time slots, each a striped LongAdder, so concurrent
+ * writers never contend on a single counter. Writers only add; a single ticker
+ * thread advances the head and clears the slots that fall out of the ring.
+ */
+package com.videoanalytics.video.analytics.platform;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+class RollingCounter {
+
+    private final long slotMillis;
+    private final LongAdder[] slots;
+
+    // Absolute slot number (epoch millis / slotMillis) of the newest slot
+    private volatile long headSlot;
+
+    RollingCounter(Duration slotWidth, int slotCount, long nowMillis) {
+        this.slotMillis = slotWidth.toMillis();
+        this.slots = new LongAdder[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new LongAdder();
+        }
+        this.headSlot = nowMillis / slotMillis;
+    }
+
+    /**
+     * Adds to the slot containing atMillis. Events newer than the head are counted in
+     * the head until the ticker catches up, and events older than the ring are dropped.
+     */
+    void add(long amount, long atMillis) {
+        long head = headSlot;
+        long age = Math.max(0, head - atMillis / slotMillis);
+        if (age < slots.length) {
+            slots[index(head - age)].add(amount);
+        }
+    }
+
+    /**
+     * Sums the newest count slots, including the one still filling.
+     */
+    long sumLast(int count) {
+        long head = headSlot;
+        long sum = 0;
+        for (int i = 0; i < Math.min(count, slots.length); i++) {
+            sum += slots[index(head - i)].sum();
+        }
+        return sum;
+    }
+
+    long sum() {
+        return sumLast(slots.length);
+    }
+
+    /**
+     * Returns the newest count slots, oldest first.
+     */
+    long[] lastSlots(int count) {
+        long head = headSlot;
+        int size = Math.min(count, slots.length);
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[size - 1 - i] = slots[index(head - i)].sum();
+        }
+        return values;
+    }
+
+    /**
+     * Moves the head to the slot containing nowMillis, clearing the slots it passes.
+     * Only the ticker calls this.
+     */
+    void advanceTo(long nowMillis) {
+        long target = nowMillis / slotMillis;
+        long head = headSlot;
+        if (target <= head) {
+            return;
+        }
+        long steps = Math.min(target - head, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            slots[index(head + i)].reset();
+        }
+        headSlot = target;
+    }
+
+    private int index(long slot) {
+        return (int) Math.floorMod(slot, (long) slots.length);
+    }
+}
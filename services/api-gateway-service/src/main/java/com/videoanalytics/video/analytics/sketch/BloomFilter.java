@@ -0,0 +1,76 @@
+/**
+ * Bloom Filter
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/BloomFilter.java
+ *
+ * Fixed-size set membership test for long keys with no false negatives. Sized for
+ * an expected number of keys and false positive rate; inserting more keys than
+ * expected raises the false positive rate but never loses a key. Bits are set
+ * atomically, so puts and lookups may run concurrently.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicLongArray words;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: " + expectedInsertions
+                    + " keys at " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        if (bits > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter would need " + bits + " bits");
+        }
+        this.bitCount = (int) Math.max(bits, Long.SIZE);
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+        this.words = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    public void put(long key) {
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bit(h1, h2, i);
+            long mask = 1L << bit;
+            if ((words.get(bit >>> 6) & mask) == 0) {
+                words.getAndAccumulate(bit >>> 6, mask, (word, set) -> word | set);
+            }
+        }
+    }
+
+    /**
+     * False if the key was certainly never put, true if it probably was.
+     */
+    public boolean mightContain(long key) {
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bit(h1, h2, i);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // Kirsch-Mitzenmacher, as in CountMinSketch
+    private int bit(int h1, int h2, int i) {
+        return Math.floorMod(h1 + i * h2, bitCount);
+    }
+}
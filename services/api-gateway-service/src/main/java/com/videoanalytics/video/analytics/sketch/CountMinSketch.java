@@ -0,0 +1,157 @@
+/**
+ * Count-Min Sketch
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/CountMinSketch.java
+ *
+ * Fixed-size frequency estimator. With width ceil(e / epsilon) and depth
+ * ceil(ln(1 / delta)), an estimate exceeds the true count by more than
+ * epsilon * total with probability at most delta. Counters are updated atomically,
+ * and negative updates are allowed as long as no true count goes below zero.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountMinSketch {
+
+    private static final byte FORMAT_V1 = 1;
+
+    private final double epsilon;
+    private final double delta;
+    private final int width;
+    private final int depth;
+
+    // depth rows of width counters, stored row after row
+    private final AtomicLongArray counters;
+    private final LongAdder total = new LongAdder();
+
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("Epsilon and delta must be in (0, 1): " + epsilon + ", " + delta);
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    public void add(long key, long count) {
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + column(h1, h2, row), count);
+        }
+        total.add(count);
+    }
+
+    public long estimate(long key) {
+        return estimate(List.of(this), key);
+    }
+
+    /**
+     * Estimates a key's count summed over several sketches of the same shape. Taking
+     * the minimum of the summed rows is tighter than summing per-sketch estimates.
+     */
+    public static long estimate(List<CountMinSketch> sketches, long key) {
+        if (sketches.isEmpty()) {
+            return 0;
+        }
+        CountMinSketch first = sketches.get(0);
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < first.depth; row++) {
+            int index = row * first.width + first.column(h1, h2, row);
+            long sum = 0;
+            for (CountMinSketch sketch : sketches) {
+                if (sketch.width != first.width || sketch.depth != first.depth) {
+                    throw new IllegalArgumentException("Cannot combine sketches of different shapes");
+                }
+                sum += sketch.counters.get(index);
+            }
+            min = Math.min(min, sum);
+        }
+        return Math.max(min, 0);
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Writes the non-zero counters as varint-encoded (index delta, count) pairs, so a
+     * sparse sketch costs a few bytes per touched counter rather than per counter.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(FORMAT_V1);
+        writeLong(out, Double.doubleToLongBits(epsilon));
+        writeLong(out, Double.doubleToLongBits(delta));
+        Varints.writeSigned(out, total.sum());
+
+        // Copied first, so counters updated meanwhile cannot change the count written
+        long[] copy = new long[counters.length()];
+        int nonZero = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counters.get(i);
+            if (copy[i] != 0) {
+                nonZero++;
+            }
+        }
+        Varints.writeUnsigned(out, nonZero);
+
+        int previousIndex = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] != 0) {
+                Varints.writeUnsigned(out, i - previousIndex);
+                Varints.writeSigned(out, copy[i]);
+                previousIndex = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        if (format != FORMAT_V1) {
+            throw new IllegalArgumentException("Unknown count-min sketch format: " + format);
+        }
+
+        CountMinSketch sketch = new CountMinSketch(Double.longBitsToDouble(buffer.getLong()),
+                Double.longBitsToDouble(buffer.getLong()));
+        sketch.total.add(Varints.readSigned(buffer));
+
+        int nonZero = (int) Varints.readUnsigned(buffer);
+        int index = 0;
+        for (int i = 0; i < nonZero; i++) {
+            index += (int) Varints.readUnsigned(buffer);
+            sketch.counters.addAndGet(index, Varints.readSigned(buffer));
+        }
+        return sketch;
+    }
+
+    // Kirsch-Mitzenmacher: row hashes derived from two halves of one 64-bit hash
+    private int column(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+    }
+}
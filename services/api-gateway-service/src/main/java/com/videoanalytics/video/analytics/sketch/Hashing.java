@@ -0,0 +1,27 @@
+/**
+ * Sketch Hashing
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/Hashing.java
+ *
+ * Hash functions shared by the probabilistic sketches. IDs are sequential, so they
+ * are run through a full-avalanche mixer before their bits are used.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    static long mix64(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Quantile Sketch
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/QuantileSketch.java
+ *
+ * Mergeable histogram for percentile queries over non-negative values. Values are
+ * counted in logarithmically sized buckets, as in HDR histograms, so every
+ * reported quantile is within 1% of a value that was actually recorded. Unlike a
+ * t-digest, merging is exact: merging hourly sketches gives the same result as a
+ * single sketch over all the values.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    // Values at or below this are counted as zero, e.g. sessions closed immediately
+    private static final double MIN_INDEXABLE_VALUE = 1e-3;
+
+    private static final byte FORMAT_V1 = 1;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long zeroCount;
+    private long count;
+
+    // counts[i] holds the bucket with index (offset + i)
+    private long[] counts = new long[0];
+    private int offset;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, long occurrences) {
+        if (value < 0 || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+        if (value <= MIN_INDEXABLE_VALUE) {
+            zeroCount += occurrences;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            ensureCapacity(index, index);
+            counts[index - offset] += occurrences;
+        }
+        count += occurrences;
+    }
+
+    /**
+     * Folds another sketch with the same accuracy into this one.
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of accuracy " + relativeAccuracy +
+                    " and " + other.relativeAccuracy);
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Returns the value at the given quantile (0.0 - 1.0), or 0 if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+
+        long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return bucketValue(offset + i);
+            }
+        }
+        return bucketValue(offset + counts.length - 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // Serialization
+
+    /**
+     * Writes the non-empty buckets as varint-encoded (index delta, count) pairs, so a
+     * sketch costs a few bytes per distinct bucket rather than per recorded value.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + counts.length * 2);
+        out.write(FORMAT_V1);
+        writeLong(out, Double.doubleToLongBits(relativeAccuracy));
+        Varints.writeUnsigned(out, zeroCount);
+
+        int nonEmpty = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                nonEmpty++;
+            }
+        }
+        Varints.writeUnsigned(out, nonEmpty);
+
+        int previousIndex = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                int index = offset + i;
+                Varints.writeSigned(out, index - previousIndex);
+                Varints.writeUnsigned(out, counts[i]);
+                previousIndex = index;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        if (format != FORMAT_V1) {
+            throw new IllegalArgumentException("Unknown quantile sketch format: " + format);
+        }
+
+        QuantileSketch sketch = new QuantileSketch(Double.longBitsToDouble(buffer.getLong()));
+        sketch.zeroCount = Varints.readUnsigned(buffer);
+        sketch.count = sketch.zeroCount;
+
+        int nonEmpty = (int) Varints.readUnsigned(buffer);
+        int index = 0;
+        for (int i = 0; i < nonEmpty; i++) {
+            index += (int) Varints.readSigned(buffer);
+            long bucketCount = Varints.readUnsigned(buffer);
+            sketch.ensureCapacity(index, index);
+            sketch.counts[index - sketch.offset] += bucketCount;
+            sketch.count += bucketCount;
+        }
+        return sketch;
+    }
+
+    // Helper methods
+
+    // Midpoint of the bucket (gamma^(i-1), gamma^i], within relativeAccuracy of any value in it
+    private double bucketValue(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void ensureCapacity(int minIndex, int maxIndex) {
+        if (counts.length == 0) {
+            offset = minIndex;
+            counts = new long[maxIndex - minIndex + 1];
+            return;
+        }
+        int newOffset = Math.min(offset, minIndex);
+        int newEnd = Math.max(offset + counts.length - 1, maxIndex);
+        if (newOffset == offset && newEnd == offset + counts.length - 1) {
+            return;
+        }
+        long[] grown = new long[newEnd - newOffset + 1];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+    }
+}
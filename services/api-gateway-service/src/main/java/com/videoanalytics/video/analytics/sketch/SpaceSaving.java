@@ -0,0 +1,124 @@
+/**
+ * Space-Saving Top-K
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/SpaceSaving.java
+ *
+ * Tracks the most frequent keys of a stream with a fixed number of counters. When
+ * all counters are taken, a new key replaces the smallest one and inherits its
+ * count, so any key with a true count above total / capacity is always tracked.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class SpaceSaving {
+
+    private static final byte FORMAT_V1 = 1;
+
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingLong((Counter c) -> c.count)
+            .thenComparingLong(c -> c.key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds count occurrences of key. A negative count lowers a tracked key and is
+     * ignored for untracked keys.
+     */
+    public synchronized void add(long key, long count) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += count;
+            if (counter.count <= 0) {
+                counters.remove(key);
+            } else {
+                byCount.add(counter);
+            }
+            return;
+        }
+        if (count <= 0) {
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counter = new Counter(key, count);
+        } else {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.key);
+            counter = new Counter(key, evicted.count + count);
+        }
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    /**
+     * Returns the tracked keys, most frequent first.
+     */
+    public synchronized List<Long> keys() {
+        List<Long> keys = new ArrayList<>(byCount.size());
+        for (Counter counter : byCount.descendingSet()) {
+            keys.add(counter.key);
+        }
+        return keys;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes the capacity and the tracked keys with their counts, varint-encoded.
+     */
+    public synchronized byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + counters.size() * 6);
+        out.write(FORMAT_V1);
+        Varints.writeUnsigned(out, capacity);
+        Varints.writeUnsigned(out, counters.size());
+        for (Counter counter : byCount) {
+            Varints.writeSigned(out, counter.key);
+            Varints.writeUnsigned(out, counter.count);
+        }
+        return out.toByteArray();
+    }
+
+    public static SpaceSaving fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        if (format != FORMAT_V1) {
+            throw new IllegalArgumentException("Unknown space-saving format: " + format);
+        }
+
+        SpaceSaving summary = new SpaceSaving((int) Varints.readUnsigned(buffer));
+        int size = (int) Varints.readUnsigned(buffer);
+        for (int i = 0; i < size; i++) {
+            summary.add(Varints.readSigned(buffer), Varints.readUnsigned(buffer));
+        }
+        return summary;
+    }
+
+    private static final class Counter {
+        private final long key;
+        private long count;
+
+        private Counter(long key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+}
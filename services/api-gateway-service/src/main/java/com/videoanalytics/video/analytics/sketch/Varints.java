@@ -0,0 +1,50 @@
+/**
+ * Varint Encoding
+ * Location: src/main/java/com/videoanalytics/video/analytics/sketch/Varints.java
+ *
+ * LEB128 variable-length integers used by the sketch serializers. Small values,
+ * which dominate bucket counts and index deltas, take a single byte.
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+final class Varints {
+
+    private Varints() {
+    }
+
+    static void writeUnsigned(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static void writeSigned(ByteArrayOutputStream out, long value) {
+        // Zigzag encoding keeps small negative values short
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readUnsigned(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 64) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static long readSigned(ByteBuffer buffer) {
+        long encoded = readUnsigned(buffer);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
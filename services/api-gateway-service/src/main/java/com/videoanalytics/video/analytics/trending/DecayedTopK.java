@@ -0,0 +1,233 @@
+/**
+ * Decayed Top-K
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/DecayedTopK.java
+ *
+ * Exponentially time-decayed score per video with a bounded top-K kept in memory.
+ * Scores use forward decay: an event at time t adds weight * e^(lambda * (t - landmark)),
+ * so stored scores never shrink and the ranking only changes for the video that
+ * received the event. Scores are divided by e^(lambda * (now - landmark)) when read,
+ * and the landmark is moved forward before the stored values grow too large.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.dto.ScoredVideo;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class DecayedTopK {
+
+    // Rebase once stored scores have grown by e^200; doubles overflow around e^709
+    private static final double MAX_EXPONENT = 200.0;
+
+    private static final Comparator<Entry> BY_SCORE = Comparator
+            .comparingDouble((Entry e) -> e.score)
+            .thenComparingLong(e -> e.videoId);
+
+    private final double lambda;
+    private final int capacity;
+
+    private final ConcurrentHashMap<Long, Double> scores = new ConcurrentHashMap<>();
+
+    // Events update scores under the read lock; rebasing rescales everything under the write lock
+    private final ReadWriteLock scaleLock = new ReentrantReadWriteLock();
+    private volatile long landmarkMillis;
+
+    // Top-K ordered by stored score, modified only while holding "this"
+    private final TreeSet<Entry> top = new TreeSet<>(BY_SCORE);
+    private final Map<Long, Entry> topEntries = new ConcurrentHashMap<>();
+    private volatile double admissionScore;
+
+    public DecayedTopK(Duration halfLife, int capacity, long nowMillis) {
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.capacity = capacity;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Adds a weighted event for a video. Only videos that are already in the top-K
+     * or whose score beats the current K-th score take the top-K lock.
+     */
+    public void record(long videoId, double weight, long nowMillis) {
+        if (lambda * (nowMillis - landmarkMillis) > MAX_EXPONENT) {
+            rebase(nowMillis);
+        }
+
+        scaleLock.readLock().lock();
+        try {
+            double increment = weight * Math.exp(lambda * (nowMillis - landmarkMillis));
+            double score = scores.merge(videoId, increment, Double::sum);
+            if (score > admissionScore || topEntries.containsKey(videoId)) {
+                offer(videoId);
+            }
+        } finally {
+            scaleLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to limit videos with the highest scores, in O(limit).
+     */
+    public List<ScoredVideo> top(int limit, long nowMillis) {
+        List<ScoredVideo> result = new ArrayList<>(Math.min(limit, capacity));
+        scaleLock.readLock().lock();
+        try {
+            double decay = Math.exp(-lambda * (nowMillis - landmarkMillis));
+            synchronized (this) {
+                for (Entry entry : top.descendingSet()) {
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                    result.add(new ScoredVideo(entry.videoId, entry.score * decay));
+                }
+            }
+        } finally {
+            scaleLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Forgets videos whose decayed score has fallen below minScore.
+     */
+    public void prune(double minScore, long nowMillis) {
+        scaleLock.writeLock().lock();
+        try {
+            double threshold = minScore * Math.exp(lambda * (nowMillis - landmarkMillis));
+            scores.values().removeIf(score -> score < threshold);
+            rebuildTop();
+        } finally {
+            scaleLock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    // Snapshots
+
+    /**
+     * Serializes up to maxEntries of the highest scores, decayed to nowMillis.
+     */
+    public byte[] toBytes(int maxEntries, long nowMillis) {
+        List<Map.Entry<Long, Double>> entries;
+        double decay;
+        scaleLock.readLock().lock();
+        try {
+            decay = Math.exp(-lambda * (nowMillis - landmarkMillis));
+            entries = new ArrayList<>(scores.entrySet());
+        } finally {
+            scaleLock.readLock().unlock();
+        }
+        if (entries.size() > maxEntries) {
+            entries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+            entries = entries.subList(0, maxEntries);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + entries.size() * (Long.BYTES + Double.BYTES));
+        buffer.putInt(entries.size());
+        for (Map.Entry<Long, Double> entry : entries) {
+            buffer.putLong(entry.getKey()).putDouble(entry.getValue() * decay);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Adds the scores of a snapshot taken at takenAtMillis. They keep decaying from
+     * that point, so a snapshot restored after a long outage carries little weight.
+     */
+    public void restore(byte[] bytes, long takenAtMillis) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+
+        scaleLock.writeLock().lock();
+        try {
+            // Snapshot scores are as of takenAt; convert them to the current landmark
+            double scale = Math.exp(lambda * (takenAtMillis - landmarkMillis));
+            for (int i = 0; i < count; i++) {
+                long videoId = buffer.getLong();
+                double score = buffer.getDouble();
+                scores.merge(videoId, score * scale, Double::sum);
+            }
+            rebuildTop();
+        } finally {
+            scaleLock.writeLock().unlock();
+        }
+    }
+
+    // Helper methods
+
+    private synchronized void offer(long videoId) {
+        // Re-read under the lock so a slower thread cannot overwrite a newer score
+        double score = scores.get(videoId);
+
+        Entry current = topEntries.get(videoId);
+        if (current != null) {
+            top.remove(current);
+        } else if (top.size() >= capacity && score <= top.first().score) {
+            return;
+        }
+
+        Entry entry = new Entry(videoId, score);
+        top.add(entry);
+        topEntries.put(videoId, entry);
+
+        if (top.size() > capacity) {
+            topEntries.remove(top.pollFirst().videoId);
+        }
+        admissionScore = top.size() < capacity ? 0.0 : top.first().score;
+    }
+
+    private void rebase(long nowMillis) {
+        scaleLock.writeLock().lock();
+        try {
+            // Another thread may have rebased while this one waited for the lock
+            if (lambda * (nowMillis - landmarkMillis) <= MAX_EXPONENT) {
+                return;
+            }
+            double factor = Math.exp(-lambda * (nowMillis - landmarkMillis));
+            scores.replaceAll((videoId, score) -> score * factor);
+            landmarkMillis = nowMillis;
+            rebuildTop();
+        } finally {
+            scaleLock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock, so no scores change while the top-K is rebuilt
+    private synchronized void rebuildTop() {
+        top.clear();
+        topEntries.clear();
+        admissionScore = 0.0;
+        scores.forEach((videoId, score) -> {
+            if (top.size() < capacity || score > top.first().score) {
+                Entry entry = new Entry(videoId, score);
+                top.add(entry);
+                topEntries.put(videoId, entry);
+                if (top.size() > capacity) {
+                    topEntries.remove(top.pollFirst().videoId);
+                }
+            }
+        });
+        admissionScore = top.size() < capacity ? 0.0 : top.first().score;
+    }
+
+    private static final class Entry {
+        private final long videoId;
+        private final double score;
+
+        private Entry(long videoId, double score) {
+            this.videoId = videoId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Heavy Hitter Service
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/HeavyHitterService.java
+ *
+ * Streaming most-liked and most-viewed videos. Like, unlike and view events update
+ * fixed-size sketches as they happen, so the rankings are answered from memory
+ * instead of grouping the likes table. The panes are snapshotted to the database
+ * periodically and restored on startup, alongside the trending trackers.
+ *
+ * The two snapshot rows are shared by all nodes, so like the trending trackers
+ * these panes need events.bus "kafka" once there is more than one node. Only then
+ * does each node count every like and view, making whichever snapshot is written
+ * last as complete as any other.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.dto.HeavyHitters;
+import com.videoanalytics.video.model.TrendingSnapshot;
+import com.videoanalytics.video.repository.TrendingSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Component
+@Slf4j
+public class HeavyHitterService {
+
+    private static final String LIKES = "heavy-hitters:likes";
+    private static final String VIEWS = "heavy-hitters:views";
+
+    private final TrendingSnapshotRepository trendingSnapshotRepository;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final WindowedHeavyHitters likes;
+    private final WindowedHeavyHitters views;
+
+    public HeavyHitterService(TrendingSnapshotRepository trendingSnapshotRepository,
+                              AnalyticsProperties analyticsProperties) {
+        this.trendingSnapshotRepository = trendingSnapshotRepository;
+        AnalyticsProperties.HeavyHitters settings = analyticsProperties.getHeavyHitters();
+        this.likes = create(settings);
+        this.views = create(settings);
+    }
+
+    public void recordLike(Long videoId) {
+        long now = clock.millis();
+        likes.add(videoId, 1, now, now);
+    }
+
+    /**
+     * Retracts a like from the pane it was counted in.
+     */
+    public void removeLike(Long videoId, LocalDateTime likedAt) {
+        likes.add(videoId, -1, toMillis(likedAt), clock.millis());
+    }
+
+    public void recordView(Long videoId) {
+        long now = clock.millis();
+        views.add(videoId, 1, now, now);
+    }
+
+    public HeavyHitters mostLiked(LocalDateTime since, int limit) {
+        return likes.top(toMillis(since), limit, clock.millis());
+    }
+
+    public HeavyHitters mostViewed(LocalDateTime since, int limit) {
+        return views.top(toMillis(since), limit, clock.millis());
+    }
+
+    // Snapshots
+
+    @PostConstruct
+    public void restore() {
+        long now = clock.millis();
+        trendingSnapshotRepository.findById(LIKES).ifPresent(snapshot -> likes.restore(snapshot.getScores(), now));
+        trendingSnapshotRepository.findById(VIEWS).ifPresent(snapshot -> views.restore(snapshot.getScores(), now));
+        log.info("Restored heavy hitter panes");
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.heavy-hitters.snapshot-interval:PT5M}")
+    @Transactional
+    public void snapshot() {
+        long now = clock.millis();
+        LocalDateTime takenAt = LocalDateTime.now(clock);
+        trendingSnapshotRepository.save(new TrendingSnapshot(LIKES, likes.toBytes(now), takenAt));
+        trendingSnapshotRepository.save(new TrendingSnapshot(VIEWS, views.toBytes(now), takenAt));
+        log.debug("Snapshotted heavy hitter panes");
+    }
+
+    private static WindowedHeavyHitters create(AnalyticsProperties.HeavyHitters settings) {
+        return new WindowedHeavyHitters(settings.getEpsilon(), settings.getDelta(), settings.getCapacity(),
+                settings.getPaneDuration(), settings.getPaneCount());
+    }
+
+    private long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
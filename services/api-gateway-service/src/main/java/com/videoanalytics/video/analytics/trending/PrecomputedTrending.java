@@ -0,0 +1,69 @@
+/**
+ * Precomputed Trending
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/PrecomputedTrending.java
+ *
+ * Refresh-ahead trending responses. On a fixed schedule the longest list of every
+ * window is read from the trending engine and rendered to JSON, and the new set
+ * replaces the old one with a single reference swap. Requests only slice the current
+ * set, so they never rank, sort or serialize anything.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class PrecomputedTrending {
+
+    private final TrendingEngine trendingEngine;
+    private final ObjectMapper objectMapper;
+    private final int maxLimit;
+
+    private volatile Map<TrendingWindow, RenderedTrending> rendered = Collections.emptyMap();
+
+    public PrecomputedTrending(TrendingEngine trendingEngine, ObjectMapper objectMapper,
+                               AnalyticsProperties analyticsProperties) {
+        this.trendingEngine = trendingEngine;
+        this.objectMapper = objectMapper;
+        this.maxLimit = Math.min(analyticsProperties.getTrending().getMaxLimit(), trendingEngine.getCapacity());
+    }
+
+    public RenderedTrending get(TrendingWindow window) {
+        return rendered.get(window);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${analytics.trending.refresh-interval:PT5S}")
+    public void refresh() {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        Map<TrendingWindow, RenderedTrending> next = new EnumMap<>(TrendingWindow.class);
+
+        try {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                next.put(window, RenderedTrending.render(objectMapper, window, maxLimit,
+                        trendingEngine.topTrending(window, maxLimit),
+                        trendingEngine.topByViews(window, maxLimit),
+                        trendingEngine.topByLikes(window, maxLimit),
+                        trendingEngine.getHalfLifeSeconds(window),
+                        generatedAt));
+            }
+        } catch (JsonProcessingException e) {
+            // Keep serving the previous responses
+            log.error("Could not render trending responses", e);
+            return;
+        }
+
+        rendered = Collections.unmodifiableMap(next);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Rendered Trending
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/RenderedTrending.java
+ *
+ * A trending response for one window, serialized once as JSON in the shape of the
+ * TrendingVideos DTO. Each list is kept as a byte section that records where each of
+ * its elements ends, so the response for any limit is four slices of the shared
+ * arrays: serving it copies and encodes nothing. Instances are immutable.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.videoanalytics.video.dto.ScoredVideo;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public final class RenderedTrending {
+
+    private static final int SECTIONS = 3;
+
+    private final int maxLimit;
+
+    // sections[s] holds the section's opening text followed by all of its elements;
+    // ends[s][k] is the length of the prefix holding the first k elements
+    private final byte[][] sections = new byte[SECTIONS][];
+    private final int[][] ends = new int[SECTIONS][];
+    private final byte[] tail;
+
+    private RenderedTrending(int maxLimit, byte[] tail) {
+        this.maxLimit = maxLimit;
+        this.tail = tail;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int contentLength(int limit) {
+        int size = clamp(limit);
+        int length = tail.length;
+        for (int s = 0; s < SECTIONS; s++) {
+            length += end(s, size);
+        }
+        return length;
+    }
+
+    /**
+     * The response body for the given limit as read-only views of the shared arrays.
+     */
+    public ByteBuffer[] slices(int limit) {
+        int size = clamp(limit);
+        ByteBuffer[] slices = new ByteBuffer[SECTIONS + 1];
+        for (int s = 0; s < SECTIONS; s++) {
+            slices[s] = ByteBuffer.wrap(sections[s], 0, end(s, size)).asReadOnlyBuffer();
+        }
+        slices[SECTIONS] = ByteBuffer.wrap(tail).asReadOnlyBuffer();
+        return slices;
+    }
+
+    public static RenderedTrending render(ObjectMapper objectMapper, TrendingWindow window, int maxLimit,
+                                          List<ScoredVideo> trending, List<ScoredVideo> topByViews,
+                                          List<ScoredVideo> topByLikes, long halfLifeSeconds,
+                                          LocalDateTime generatedAt) throws JsonProcessingException {
+        String tail = "],\"window\":\"" + window.getLabel() + "\""
+                + ",\"halfLifeSeconds\":" + halfLifeSeconds
+                + ",\"generatedAt\":" + objectMapper.writeValueAsString(generatedAt) + "}";
+        RenderedTrending rendered = new RenderedTrending(maxLimit, tail.getBytes(StandardCharsets.UTF_8));
+
+        rendered.renderSection(0, "{\"trending\":[", trending, objectMapper, true);
+        rendered.renderSection(1, "],\"topByViews\":[", topByViews, objectMapper, false);
+        rendered.renderSection(2, "],\"topByLikes\":[", topByLikes, objectMapper, false);
+        return rendered;
+    }
+
+    // Helper methods
+
+    private void renderSection(int section, String opening, List<ScoredVideo> videos,
+                               ObjectMapper objectMapper, boolean withScores) throws JsonProcessingException {
+        int count = Math.min(videos.size(), maxLimit);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] sectionEnds = new int[count + 1];
+
+        out.writeBytes(opening.getBytes(StandardCharsets.UTF_8));
+        sectionEnds[0] = out.size();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            ScoredVideo video = videos.get(i);
+            // The id lists carry only ids, as in the DTO
+            out.writeBytes(withScores
+                    ? objectMapper.writeValueAsBytes(video)
+                    : Long.toString(video.getVideoId()).getBytes(StandardCharsets.US_ASCII));
+            sectionEnds[i + 1] = out.size();
+        }
+
+        sections[section] = out.toByteArray();
+        ends[section] = sectionEnds;
+    }
+
+    private int end(int section, int size) {
+        int[] sectionEnds = ends[section];
+        return sectionEnds[Math.min(size, sectionEnds.length - 1)];
+    }
+
+    private int clamp(int limit) {
+        return Math.max(0, Math.min(limit, maxLimit));
+    }
+}
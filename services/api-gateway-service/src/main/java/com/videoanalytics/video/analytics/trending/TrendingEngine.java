@@ -0,0 +1,148 @@
+/**
+ * Trending Engine
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/TrendingEngine.java
+ *
+ * Keeps exponentially time-decayed view and like scores for every active video and
+ * answers trending queries from bounded in-memory top-K sets, one set of trackers per
+ * trending window. Scores are snapshotted to the database periodically and restored
+ * on startup.
+ *
+ * Every node writes the same snapshot rows, one per tracker, and the last write
+ * wins. That only works when every node has seen every event, so running more than
+ * one node requires events.bus to be "kafka": the in-process bus feeds each node
+ * its own events only, so its trending lists would differ per node and each
+ * snapshot would overwrite the others' scores.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.dto.ScoredVideo;
+import com.videoanalytics.video.model.TrendingSnapshot;
+import com.videoanalytics.video.repository.TrendingSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class TrendingEngine {
+
+    private static final String VIEWS = "views";
+    private static final String LIKES = "likes";
+    private static final String COMBINED = "combined";
+
+    private final TrendingSnapshotRepository trendingSnapshotRepository;
+    private final AnalyticsProperties.Trending settings;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<TrendingWindow, Trackers> windows = new EnumMap<>(TrendingWindow.class);
+
+    public TrendingEngine(TrendingSnapshotRepository trendingSnapshotRepository,
+                          AnalyticsProperties analyticsProperties) {
+        this.trendingSnapshotRepository = trendingSnapshotRepository;
+        this.settings = analyticsProperties.getTrending();
+
+        long now = clock.millis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new Trackers(window.halfLife(settings.getHalfLife()), settings.getCapacity(), now));
+        }
+    }
+
+    public void recordView(Long videoId) {
+        long now = clock.millis();
+        for (Trackers trackers : windows.values()) {
+            trackers.views.record(videoId, 1.0, now);
+            trackers.combined.record(videoId, settings.getViewWeight(), now);
+        }
+    }
+
+    public void recordLike(Long videoId) {
+        long now = clock.millis();
+        for (Trackers trackers : windows.values()) {
+            trackers.likes.record(videoId, 1.0, now);
+            trackers.combined.record(videoId, settings.getLikeWeight(), now);
+        }
+    }
+
+    public List<ScoredVideo> topTrending(TrendingWindow window, int limit) {
+        return windows.get(window).combined.top(limit, clock.millis());
+    }
+
+    public List<ScoredVideo> topByViews(TrendingWindow window, int limit) {
+        return windows.get(window).views.top(limit, clock.millis());
+    }
+
+    public List<ScoredVideo> topByLikes(TrendingWindow window, int limit) {
+        return windows.get(window).likes.top(limit, clock.millis());
+    }
+
+    public int getCapacity() {
+        return settings.getCapacity();
+    }
+
+    public long getHalfLifeSeconds(TrendingWindow window) {
+        return window.halfLife(settings.getHalfLife()).toSeconds();
+    }
+
+    // Snapshots
+
+    @PostConstruct
+    public void restore() {
+        Map<String, DecayedTopK> trackers = trackers();
+        for (TrendingSnapshot snapshot : trendingSnapshotRepository.findAll()) {
+            DecayedTopK tracker = trackers.get(snapshot.getTracker());
+            if (tracker != null) {
+                tracker.restore(snapshot.getScores(), snapshot.getTakenAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            }
+        }
+        log.info("Restored trending scores for {} videos", windows.get(TrendingWindow.WEEK).combined.size());
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.trending.snapshot-interval:PT1M}")
+    @Transactional
+    public void snapshot() {
+        long now = clock.millis();
+        LocalDateTime takenAt = LocalDateTime.now(clock);
+
+        trackers().forEach((name, tracker) -> {
+            tracker.prune(settings.getMinScore(), now);
+            trendingSnapshotRepository.save(
+                    new TrendingSnapshot(name, tracker.toBytes(settings.getSnapshotSize(), now), takenAt));
+        });
+        log.debug("Snapshotted trending scores for {} videos", windows.get(TrendingWindow.WEEK).combined.size());
+    }
+
+    private Map<String, DecayedTopK> trackers() {
+        Map<String, DecayedTopK> byName = new HashMap<>();
+        windows.forEach((window, trackers) -> {
+            byName.put(window.trackerName(VIEWS), trackers.views);
+            byName.put(window.trackerName(LIKES), trackers.likes);
+            byName.put(window.trackerName(COMBINED), trackers.combined);
+        });
+        return byName;
+    }
+
+    // The view, like and weighted trackers of one window
+    private static final class Trackers {
+        private final DecayedTopK views;
+        private final DecayedTopK likes;
+        private final DecayedTopK combined;
+
+        private Trackers(Duration halfLife, int capacity, long nowMillis) {
+            this.views = new DecayedTopK(halfLife, capacity, nowMillis);
+            this.likes = new DecayedTopK(halfLife, capacity, nowMillis);
+            this.combined = new DecayedTopK(halfLife, capacity, nowMillis);
+        }
+    }
+}
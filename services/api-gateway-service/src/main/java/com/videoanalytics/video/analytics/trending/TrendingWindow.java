@@ -0,0 +1,51 @@
+/**
+ * Trending Window
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/TrendingWindow.java
+ *
+ * The time scales trending is ranked over. Each window decays scores with a half-life
+ * proportional to its length, scaled from the configured half-life of the 24h window,
+ * so an event a whole window old counts for little in that window's ranking.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public enum TrendingWindow {
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("24h", Duration.ofDays(1)),
+    WEEK("7d", Duration.ofDays(7));
+
+    private final String label;
+    private final Duration length;
+
+    TrendingWindow(String label, Duration length) {
+        this.label = label;
+        this.length = length;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration halfLife(Duration dayHalfLife) {
+        return dayHalfLife.multipliedBy(length.toHours()).dividedBy(DAY.length.toHours());
+    }
+
+    /**
+     * Snapshot name of one of the window's trackers. The 24h window keeps the plain
+     * names, which are the ones written before there were several windows.
+     */
+    String trackerName(String tracker) {
+        return this == DAY ? tracker : tracker + ":" + label;
+    }
+
+    public static Optional<TrendingWindow> fromLabel(String label) {
+        for (TrendingWindow window : values()) {
+            if (window.label.equals(label)) {
+                return Optional.of(window);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Windowed Heavy Hitters
+ * Location: src/main/java/com/videoanalytics/video/analytics/trending/WindowedHeavyHitters.java
+ *
+ * Streaming top-K over a sliding window. The window is split into a ring of
+ * time-aligned panes; each pane has a Count-Min Sketch for frequency estimates
+ * and a Space-Saving summary that nominates candidate keys. A query combines the
+ * panes that overlap the requested period, so memory stays fixed no matter how
+ * many events arrive. The panes still in the window can be written to bytes and
+ * restored, so the counts survive a restart.
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.analytics.sketch.CountMinSketch;
+import com.videoanalytics.video.analytics.sketch.SpaceSaving;
+import com.videoanalytics.video.dto.HeavyHitters;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class WindowedHeavyHitters {
+
+    private final double epsilon;
+    private final double delta;
+    private final int capacity;
+    private final long paneMillis;
+    private final AtomicReferenceArray<Pane> panes;
+
+    public WindowedHeavyHitters(double epsilon, double delta, int capacity, Duration paneDuration, int paneCount) {
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.capacity = capacity;
+        this.paneMillis = paneDuration.toMillis();
+        this.panes = new AtomicReferenceArray<>(paneCount);
+    }
+
+    /**
+     * Counts an event that happened at eventMillis. Negative counts retract earlier
+     * events and go to the pane the original event was counted in; events older
+     * than the window are dropped.
+     */
+    public void add(long key, long count, long eventMillis, long nowMillis) {
+        Pane pane = paneFor(eventMillis, nowMillis);
+        if (pane != null) {
+            pane.sketch.add(key, count);
+            pane.candidates.add(key, count);
+        }
+    }
+
+    public HeavyHitters top(long sinceMillis, int limit, long nowMillis) {
+        long currentStart = Math.floorDiv(nowMillis, paneMillis) * paneMillis;
+        long oldestStart = currentStart - (panes.length() - 1) * paneMillis;
+        long windowStart = Math.max(Math.floorDiv(sinceMillis, paneMillis) * paneMillis, oldestStart);
+
+        List<CountMinSketch> sketches = new ArrayList<>();
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (long start = windowStart; start <= currentStart; start += paneMillis) {
+            Pane pane = panes.get(slot(start));
+            if (pane != null && pane.start == start) {
+                sketches.add(pane.sketch);
+                candidates.addAll(pane.candidates.keys());
+            }
+        }
+
+        List<HeavyHitters.Entry> entries = new ArrayList<>(candidates.size());
+        for (Long key : candidates) {
+            long estimate = CountMinSketch.estimate(sketches, key);
+            if (estimate > 0) {
+                entries.add(new HeavyHitters.Entry(key, estimate));
+            }
+        }
+        entries.sort(Comparator.comparingLong(HeavyHitters.Entry::getEstimatedCount).reversed());
+
+        long total = sketches.stream().mapToLong(CountMinSketch::getTotal).sum();
+        return HeavyHitters.builder()
+                .videos(entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries)
+                .totalEvents(total)
+                .epsilon(epsilon)
+                .delta(delta)
+                .maxOverestimate((long) Math.ceil(epsilon * Math.max(total, 0)))
+                .windowStart(toLocal(windowStart))
+                .windowEnd(toLocal(nowMillis))
+                .build();
+    }
+
+    /**
+     * Writes the panes still in the window as (start, sketch, candidates).
+     */
+    public byte[] toBytes(long nowMillis) {
+        long currentStart = Math.floorDiv(nowMillis, paneMillis) * paneMillis;
+        List<Long> starts = new ArrayList<>();
+        List<byte[]> sketches = new ArrayList<>();
+        List<byte[]> candidates = new ArrayList<>();
+        int size = Integer.BYTES;
+        for (int slot = 0; slot < panes.length(); slot++) {
+            Pane pane = panes.get(slot);
+            if (pane != null && isInWindow(pane.start, currentStart)) {
+                starts.add(pane.start);
+                sketches.add(pane.sketch.toBytes());
+                candidates.add(pane.candidates.toBytes());
+                size += Long.BYTES + 2 * Integer.BYTES
+                        + sketches.get(sketches.size() - 1).length + candidates.get(candidates.size() - 1).length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            buffer.putLong(starts.get(i));
+            buffer.putInt(sketches.get(i).length).put(sketches.get(i));
+            buffer.putInt(candidates.get(i).length).put(candidates.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Puts back the panes of a snapshot that are still in the window. A pane is only
+     * restored into a slot that holds no newer pane, and panes written with another
+     * pane length or sketch accuracy are skipped, since they cannot be combined.
+     */
+    public void restore(byte[] bytes, long nowMillis) {
+        long currentStart = Math.floorDiv(nowMillis, paneMillis) * paneMillis;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            long start = buffer.getLong();
+            CountMinSketch sketch = CountMinSketch.fromBytes(readBytes(buffer));
+            SpaceSaving candidates = SpaceSaving.fromBytes(readBytes(buffer));
+
+            if (Math.floorMod(start, paneMillis) != 0 || !isInWindow(start, currentStart)
+                    || sketch.getEpsilon() != epsilon || sketch.getDelta() != delta) {
+                continue;
+            }
+            int slot = slot(start);
+            Pane current = panes.get(slot);
+            if (current == null || current.start < start) {
+                panes.compareAndSet(slot, current, new Pane(start, sketch, candidates));
+            }
+        }
+    }
+
+    // Helper methods
+
+    private boolean isInWindow(long paneStart, long currentStart) {
+        return paneStart <= currentStart && paneStart > currentStart - panes.length() * paneMillis;
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Pane paneFor(long eventMillis, long nowMillis) {
+        long start = Math.floorDiv(eventMillis, paneMillis) * paneMillis;
+        long currentStart = Math.floorDiv(nowMillis, paneMillis) * paneMillis;
+        if (!isInWindow(start, currentStart)) {
+            return null;
+        }
+
+        int slot = slot(start);
+        while (true) {
+            Pane pane = panes.get(slot);
+            if (pane != null && pane.start == start) {
+                return pane;
+            }
+            // The slot still holds a pane that has left the window
+            if (pane != null && pane.start > start) {
+                return null;
+            }
+            Pane fresh = new Pane(start, new CountMinSketch(epsilon, delta), new SpaceSaving(capacity));
+            if (panes.compareAndSet(slot, pane, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int slot(long paneStart) {
+        return (int) Math.floorMod(paneStart / paneMillis, (long) panes.length());
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static final class Pane {
+        private final long start;
+        private final CountMinSketch sketch;
+        private final SpaceSaving candidates;
+
+        private Pane(long start, CountMinSketch sketch, SpaceSaving candidates) {
+            this.start = start;
+            this.sketch = sketch;
+            this.candidates = candidates;
+        }
+    }
+}
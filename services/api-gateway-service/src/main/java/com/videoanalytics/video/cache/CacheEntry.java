@@ -0,0 +1,61 @@
+/**
+ * Cache Entry
+ * Location: src/main/java/com/videoanalytics/video/cache/CacheEntry.java
+ *
+ * A cached value together with how long it took to compute and when it expires,
+ * which is what probabilistic early expiration (XFetch) needs. In Redis the two
+ * numbers are stored as a fixed 12-byte header in front of the encoded value.
+ */
+package com.videoanalytics.video.cache;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+@Getter
+class CacheEntry {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Object value;
+    private final int computeMillis;
+    private final long expiresAtMillis;
+
+    CacheEntry(Object value, int computeMillis, long expiresAtMillis) {
+        this.value = value;
+        this.computeMillis = computeMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * XFetch: refresh before expiry with a probability that grows as expiry nears and
+     * with the cost of recomputing. With random uniform in (0, 1], the gap is
+     * computeMillis * beta * -ln(random), so an entry that took 2s to compute is
+     * typically refreshed a couple of seconds early, while cheap entries almost never are.
+     */
+    boolean expiresEarly(long nowMillis, double beta, double random) {
+        return nowMillis - computeMillis * beta * Math.log(random) >= expiresAtMillis;
+    }
+
+    byte[] toBytes(byte[] encodedValue) {
+        return ByteBuffer.allocate(HEADER_BYTES + encodedValue.length)
+                .putInt(computeMillis)
+                .putLong(expiresAtMillis)
+                .put(encodedValue)
+                .array();
+    }
+
+    static int computeMillisOf(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+    static long expiresAtMillisOf(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong(Integer.BYTES);
+    }
+
+    static byte[] encodedValueOf(byte[] bytes) {
+        byte[] encoded = new byte[bytes.length - HEADER_BYTES];
+        System.arraycopy(bytes, HEADER_BYTES, encoded, 0, encoded.length);
+        return encoded;
+    }
+}
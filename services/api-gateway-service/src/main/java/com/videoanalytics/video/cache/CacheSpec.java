@@ -0,0 +1,21 @@
+/**
+ * Cache Spec
+ * Location: src/main/java/com/videoanalytics/video/cache/CacheSpec.java
+ *
+ * Name, value type and time-to-live of one two-tier cache. The value type is
+ * declared up front so cached values are encoded without type information.
+ */
+package com.videoanalytics.video.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class CacheSpec {
+    private final String name;
+    private final Class<?> valueType;
+    private final Duration ttl;
+}
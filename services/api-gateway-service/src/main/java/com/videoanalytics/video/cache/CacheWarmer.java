@@ -0,0 +1,175 @@
+/**
+ * Cache Warmer
+ * Location: src/main/java/com/videoanalytics/video/cache/CacheWarmer.java
+ *
+ * Preloads the caches for the hottest videos when the node starts, so a deploy does
+ * not send every node's first requests to the database at once. Application runners
+ * finish before Spring Boot marks the application ready, so the readiness probe stays
+ * down until the warm-up completes or its time budget runs out. The hottest videos
+ * are the top of the 24h trending list, which is restored from its last snapshot
+ * before this runs. Each video's metadata snapshot and analytics entry are loaded in
+ * bounded batches on a small pool. The outcome is logged and published as the
+ * cache.warmup timer and the cache.warmup.entries counter.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.analytics.trending.TrendingEngine;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.config.CacheConfig;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.dto.ScoredVideo;
+import com.videoanalytics.video.service.AnalyticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class CacheWarmer implements ApplicationRunner {
+
+    private final TrendingEngine trendingEngine;
+    private final VideoMetadataCache videoMetadataCache;
+    private final AnalyticsService analyticsService;
+    private final CachingProperties.Warmup settings;
+    private final MeterRegistry meterRegistry;
+
+    public CacheWarmer(TrendingEngine trendingEngine, VideoMetadataCache videoMetadataCache,
+                       AnalyticsService analyticsService, CachingProperties cachingProperties,
+                       MeterRegistry meterRegistry) {
+        this.trendingEngine = trendingEngine;
+        this.videoMetadataCache = videoMetadataCache;
+        this.analyticsService = analyticsService;
+        this.settings = cachingProperties.getWarmup();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (settings.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Loads the hottest videos into the caches and returns how many entries were loaded.
+     */
+    public WarmupResult warmUp() {
+        long started = System.nanoTime();
+        long deadline = started + settings.getTimeBudget().toNanos();
+
+        List<Long> videoIds = trendingEngine.topTrending(TrendingWindow.DAY, settings.getTopVideos()).stream()
+                .map(ScoredVideo::getVideoId)
+                .toList();
+
+        WarmupResult result = new WarmupResult();
+        ExecutorService pool = Executors.newFixedThreadPool(settings.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int from = 0; from < videoIds.size(); from += settings.getBatchSize()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    result.timedOut = true;
+                    break;
+                }
+
+                List<Callable<Void>> batch = new ArrayList<>();
+                for (Long videoId : videoIds.subList(from, Math.min(from + settings.getBatchSize(), videoIds.size()))) {
+                    batch.add(() -> {
+                        load(videoId, result);
+                        return null;
+                    });
+                }
+                // Loads still running when the budget runs out are cancelled
+                for (Future<Void> load : pool.invokeAll(batch, remaining, TimeUnit.NANOSECONDS)) {
+                    if (load.isCancelled()) {
+                        result.timedOut = true;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.timedOut = true;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - started;
+        Timer.builder("cache.warmup")
+                .tag("outcome", result.timedOut ? "budget_exceeded" : "completed")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("cache.warmup.entries", "cache", VideoMetadataCache.NAME)
+                .increment(result.getMetadata());
+        meterRegistry.counter("cache.warmup.entries", "cache", CacheConfig.VIDEO_ANALYTICS)
+                .increment(result.getAnalytics());
+
+        log.info("Cache warm-up {} in {} ms: {} of {} videos, {} metadata and {} analytics entries loaded, {} failed",
+                result.timedOut ? "stopped at its time budget" : "completed",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), result.getVideos(), videoIds.size(),
+                result.getMetadata(), result.getAnalytics(), result.getFailures());
+        return result;
+    }
+
+    // Helper methods
+
+    private void load(Long videoId, WarmupResult result) {
+        try {
+            if (videoMetadataCache.get(videoId).isEmpty()) {
+                return;
+            }
+            result.metadata.incrementAndGet();
+
+            // Analytics entries carry the like count, which has no cache of its own
+            analyticsService.getVideoAnalytics(videoId);
+            result.analytics.incrementAndGet();
+        } catch (RuntimeException e) {
+            result.failures.incrementAndGet();
+            log.debug("Could not warm caches for video ID: {}", videoId, e);
+        } finally {
+            result.videos.incrementAndGet();
+        }
+    }
+
+    public static final class WarmupResult {
+        private final AtomicInteger videos = new AtomicInteger();
+        private final AtomicInteger metadata = new AtomicInteger();
+        private final AtomicInteger analytics = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean timedOut;
+
+        public int getVideos() {
+            return videos.get();
+        }
+
+        public int getMetadata() {
+            return metadata.get();
+        }
+
+        public int getAnalytics() {
+            return analytics.get();
+        }
+
+        public int getFailures() {
+            return failures.get();
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+}
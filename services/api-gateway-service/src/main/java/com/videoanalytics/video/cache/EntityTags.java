@@ -0,0 +1,98 @@
+/**
+ * Entity Tags
+ * Location: src/main/java/com/videoanalytics/video/cache/EntityTags.java
+ *
+ * Strong ETags for the heavily polled read endpoints, computed from values that
+ * change whenever the response body does, never from the serialized body. Video tags
+ * combine the entity version and update time with the counters, which are changed by
+ * bulk updates that leave the version alone. Analytics tags are the write stamp of
+ * the cached entry the response is served from.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CacheConfig;
+import com.videoanalytics.video.dto.VideoAnalytics;
+import com.videoanalytics.video.ingest.IngestLog;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class EntityTags {
+
+    private final VideoRepository videoRepository;
+    private final TwoTierCacheManager cacheManager;
+    private final IngestLog ingestLog;
+
+    /**
+     * Whether the request carries If-None-Match; plain requests skip the validator lookup.
+     */
+    public static boolean isRevalidation(ServerWebExchange exchange) {
+        return !exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty();
+    }
+
+    // Videos
+
+    /**
+     * The current tag of a video, read with a single-row projection, or empty if it does not exist.
+     */
+    public Optional<String> forVideo(Long videoId) {
+        return videoRepository.findValidatorById(videoId)
+                .map(row -> videoTag(row.getVersion(), row.getUpdatedAt(), row.getViewCount(), row.getLikeCount()));
+    }
+
+    public String forVideo(Video video) {
+        return videoTag(video.getVersion(), video.getUpdatedAt(), video.getViewCount(), video.getLikeCount());
+    }
+
+    public Optional<String> forViewCount(Long videoId) {
+        return videoRepository.findValidatorById(videoId)
+                .map(row -> forViewCount(row.getViewCount() + ingestLog.getPendingViews(videoId)));
+    }
+
+    public String forViewCount(long viewCount) {
+        return "\"c" + viewCount + "\"";
+    }
+
+    // Analytics
+
+    /**
+     * The tag of the cached analytics for a video, or empty if they are not cached.
+     */
+    public Optional<String> forVideoAnalytics(Long videoId) {
+        CacheEntry entry = analyticsCache().peek(videoId);
+        return entry != null ? Optional.of(analyticsTag(entry)) : Optional.empty();
+    }
+
+    /**
+     * The tag for analytics that were just served, or empty if the cache already holds
+     * a different value, in which case the served body has no tag to answer with.
+     */
+    public Optional<String> forVideoAnalytics(Long videoId, VideoAnalytics served) {
+        CacheEntry entry = analyticsCache().peek(videoId);
+        return entry != null && served.equals(entry.getValue()) ? Optional.of(analyticsTag(entry)) : Optional.empty();
+    }
+
+    // Helper methods
+
+    private TwoTierCache analyticsCache() {
+        return (TwoTierCache) cacheManager.getCache(CacheConfig.VIDEO_ANALYTICS);
+    }
+
+    private static String videoTag(long version, LocalDateTime updatedAt, Long viewCount, Long likeCount) {
+        long updatedMillis = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return "\"v" + version + "." + Long.toHexString(updatedMillis) + "." + viewCount + "." + likeCount + "\"";
+    }
+
+    // Every write gets a new expiry, so the expiry identifies the write
+    private static String analyticsTag(CacheEntry entry) {
+        return "\"a" + Long.toHexString(entry.getExpiresAtMillis()) + "." + entry.getComputeMillis() + "\"";
+    }
+}
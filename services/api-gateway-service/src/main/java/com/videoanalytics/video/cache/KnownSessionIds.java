@@ -0,0 +1,71 @@
+/**
+ * Known Session IDs
+ * Location: src/main/java/com/videoanalytics/video/cache/KnownSessionIds.java
+ *
+ * Negative cache for view session lookups. Sessions are created far too often to
+ * track every ID, so only recent misses are remembered. The ceiling below which a
+ * miss may be cached is the highest session ID in the database, re-read
+ * periodically, and raised by sessions started on this node.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class KnownSessionIds {
+
+    private final ViewSessionRepository viewSessionRepository;
+    private final NegativeCache missing;
+
+    public KnownSessionIds(ViewSessionRepository viewSessionRepository, CachingProperties cachingProperties,
+                           MeterRegistry meterRegistry) {
+        this.viewSessionRepository = viewSessionRepository;
+        this.missing = new NegativeCache("missingSessions", cachingProperties.getNegative(), true, meterRegistry);
+    }
+
+    /**
+     * False if a recent lookup of the session found nothing.
+     */
+    public boolean mightExist(Long sessionId) {
+        return !missing.isMissing(sessionId);
+    }
+
+    public void recordMissing(Long sessionId) {
+        missing.recordMissing(sessionId);
+    }
+
+    /**
+     * Forgets any cached miss for a new session once its transaction commits.
+     */
+    public void recordCreated(Long sessionId) {
+        Runnable created = () -> {
+            missing.raiseCeiling(sessionId);
+            missing.forget(sessionId);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.run();
+                }
+            });
+        } else {
+            created.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.negative.ceiling-refresh-interval:PT10S}")
+    public void refreshCeiling() {
+        Long maxId = viewSessionRepository.findMaxId();
+        if (maxId != null) {
+            missing.raiseCeiling(maxId);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Known Video IDs
+ * Location: src/main/java/com/videoanalytics/video/cache/KnownVideoIds.java
+ *
+ * Answers "might this video exist?", sparing the database most lookups of IDs that
+ * do not. A Bloom filter holds every video ID up to the highest one seen by its last
+ * full scan. Uploads add their ID once committed and announce it on Redis so the
+ * other nodes add it too, and the filter is rebuilt periodically. IDs are handed to
+ * each node in blocks of 50, so a video created on another node from a lower block
+ * can be inside the scanned range yet not in the filter until its announcement
+ * arrives. An ID in the range that the filter has not seen is therefore checked
+ * with an existence query. IDs above the scanned range, and Bloom false positives,
+ * are looked up by the caller. Either way a miss is kept in a short-lived negative
+ * cache so repeated lookups of the same ID skip the database; since every creation
+ * is announced, the miss is dropped on each node as soon as the video exists.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.analytics.sketch.BloomFilter;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.repository.VideoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+@Slf4j
+public class KnownVideoIds implements MessageListener {
+
+    private static final int SCAN_PAGE_SIZE = 10_000;
+
+    private final VideoRepository videoRepository;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CachingProperties.KnownVideos settings;
+    private final NegativeCache missing;
+    private final Counter rejected;
+
+    // Null until the first scan completes; until then every ID might exist
+    private volatile Loaded loaded;
+
+    // The filter being rebuilt, which also receives IDs created during the scan
+    private volatile BloomFilter building;
+
+    public KnownVideoIds(VideoRepository videoRepository, RedisTemplate<String, byte[]> cacheRedisTemplate,
+                         CachingProperties cachingProperties, MeterRegistry meterRegistry) {
+        this.videoRepository = videoRepository;
+        this.redisTemplate = cacheRedisTemplate;
+        this.settings = cachingProperties.getKnownVideos();
+        this.missing = new NegativeCache("missingVideos", cachingProperties.getNegative(), false, meterRegistry);
+        this.rejected = Counter.builder("video.lookups.rejected")
+                .description("Video lookups answered as not found after a Bloom filter miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False if the video does not exist, true if it has to be looked up.
+     */
+    public boolean mightExist(Long videoId) {
+        if (missing.isMissing(videoId)) {
+            return false;
+        }
+        Loaded current = loaded;
+        if (current == null || videoId > current.scannedThrough || current.ids.mightContain(videoId)) {
+            return true;
+        }
+
+        // Not seen by the filter, which may only mean its announcement has not arrived yet
+        if (videoRepository.existsById(videoId)) {
+            add(videoId);
+            return true;
+        }
+        missing.recordMissing(videoId);
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Records a lookup that found nothing, so the next one for the ID is skipped.
+     */
+    public void recordMissing(Long videoId) {
+        missing.recordMissing(videoId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(VideoCreatedEvent event) {
+        add(event.getVideoId());
+        publish(event.getVideoId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            add(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed video creation message: {}", body);
+        }
+    }
+
+    /**
+     * Scans every video ID into a new filter and swaps it in. Runs at startup and then
+     * periodically; the filter is sized for twice the current count to leave room for
+     * uploads until the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${cache.known-videos.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long expected = Math.max(settings.getExpectedVideos(), videoRepository.count() * 2);
+        BloomFilter next = new BloomFilter(expected, settings.getFalsePositiveRate());
+        building = next;
+        try {
+            long lastId = 0;
+            List<Long> page;
+            do {
+                page = videoRepository.findIdsAfter(lastId, PageRequest.of(0, SCAN_PAGE_SIZE));
+                for (Long id : page) {
+                    next.put(id);
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+
+            loaded = new Loaded(next, lastId);
+            log.debug("Rebuilt known video IDs through {} ({} bits, {} hashes)",
+                    lastId, next.getBitCount(), next.getHashCount());
+        } finally {
+            building = null;
+        }
+    }
+
+    // Helper methods
+
+    // Reads the filter being built before the loaded one: a rebuild swaps in its filter
+    // before clearing it, so the ID always reaches the filter that ends up in use
+    private void add(Long videoId) {
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(videoId);
+        }
+        Loaded current = loaded;
+        if (current != null) {
+            current.ids.put(videoId);
+        }
+        missing.forget(videoId);
+    }
+
+    private void publish(Long videoId) {
+        try {
+            redisTemplate.convertAndSend(settings.getChannel(), videoId.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (DataAccessException e) {
+            // Other nodes look the video up until their next rebuild
+            log.warn("Could not announce video {} on {}", videoId, settings.getChannel(), e);
+        }
+    }
+
+    // Filter and scanned range swapped together, so a lookup never pairs one with the other's range
+    private static final class Loaded {
+        private final BloomFilter ids;
+        private final long scannedThrough;
+
+        private Loaded(BloomFilter ids, long scannedThrough) {
+            this.ids = ids;
+            this.scannedThrough = scannedThrough;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Negative Cache
+ * Location: src/main/java/com/videoanalytics/video/cache/NegativeCache.java
+ *
+ * Short-lived record of IDs that were looked up and not found, so repeated lookups
+ * of the same missing ID skip the database. When creations are not announced to
+ * every node, the cache is bounded: only IDs at or below a ceiling are recorded,
+ * where the ceiling is an ID known to have been assigned. A missing ID above it may
+ * just not have been created yet, possibly on another node, and caching its absence
+ * would hide the new row for the whole TTL. IDs are handed to each node in blocks of
+ * 50, so an ID below the ceiling can still be assigned later from a block another
+ * node holds; clients only learn an ID once its row exists, so that only affects
+ * guessed IDs. An unbounded cache records every miss and relies on its owner to
+ * forget IDs as they are created. Hit ratio is published as the standard cache.gets
+ * meter, tagged with the cache name.
+ */
+package com.videoanalytics.video.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.videoanalytics.video.config.CachingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NegativeCache {
+
+    private final Cache<Long, Boolean> missing;
+    private final boolean bounded;
+    private final AtomicLong ceiling = new AtomicLong();
+
+    public NegativeCache(String name, CachingProperties.Negative settings, boolean bounded,
+                         MeterRegistry meterRegistry) {
+        this.bounded = bounded;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, name);
+    }
+
+    public boolean isMissing(Long id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    public void recordMissing(Long id) {
+        if (!bounded || id <= ceiling.get()) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Drops a recorded miss, for an ID that has just been created.
+     */
+    public void forget(Long id) {
+        missing.invalidate(id);
+    }
+
+    public void raiseCeiling(long assignedId) {
+        ceiling.accumulateAndGet(assignedId, Math::max);
+    }
+}
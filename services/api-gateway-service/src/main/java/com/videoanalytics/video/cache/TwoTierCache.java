@@ -0,0 +1,279 @@
+/**
+ * Two-Tier Cache
+ * Location: src/main/java/com/videoanalytics/video/cache/TwoTierCache.java
+ *
+ * Spring Cache backed by a size-bounded Caffeine cache (L1) in front of Redis (L2).
+ * Reads try L1, then L2, promoting L2 hits into L1. Writes and evictions go to both
+ * tiers and are announced to the other nodes so they drop their L1 copies. Redis
+ * errors are logged and treated as misses, so a Redis outage degrades to L1 only.
+ * Synchronized reads coalesce concurrent loads of a key and refresh hot entries
+ * shortly before they expire.
+ */
+package com.videoanalytics.video.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.videoanalytics.video.config.CachingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final CacheSpec spec;
+    private final Cache<String, CacheEntry> local;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CacheValueSerializer serializer;
+    private final TwoTierCacheManager manager;
+    private final String redisKeyPrefix;
+    private final double earlyExpirationBeta;
+    private final Clock clock = Clock.systemUTC();
+
+    // One load per key at a time; other callers for the key wait on the same future
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedWaiters;
+    private final Counter earlyRefreshes;
+
+    TwoTierCache(CacheSpec spec, CachingProperties properties, RedisTemplate<String, byte[]> redisTemplate,
+                 CacheValueSerializer serializer, TwoTierCacheManager manager, MeterRegistry meterRegistry) {
+        // Null results are not cached; the analytics methods never return null
+        super(false);
+        this.spec = spec;
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.manager = manager;
+        this.redisKeyPrefix = properties.getKeyPrefix() + spec.getName() + "::";
+        this.earlyExpirationBeta = properties.getEarlyExpirationBeta();
+
+        Duration localTtl = spec.getTtl().compareTo(properties.getLocal().getTtl()) < 0
+                ? spec.getTtl()
+                : properties.getLocal().getTtl();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfterWrite(localTtl)
+                .build();
+
+        this.coalescedWaiters = Counter.builder("cache.coalesced.waiters")
+                .description("Callers that waited for another caller's load of the same key")
+                .tag("cache", spec.getName())
+                .register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("cache.early.refreshes")
+                .description("Entries recomputed before their expiry")
+                .tag("cache", spec.getName())
+                .register(meterRegistry);
+        Gauge.builder("cache.loads.in.flight", inFlight, Map::size)
+                .tag("cache", spec.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return spec.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        CacheEntry entry = lookupEntry(cacheKey(key));
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Used by @Cacheable(sync = true). A miss is loaded by one caller per key while
+     * concurrent callers wait for its result. A hit that XFetch selects for early
+     * refresh is recomputed by one caller while the others keep getting the cached
+     * value, so a hot entry is usually replaced before it expires at all.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = cacheKey(key);
+        CacheEntry entry = lookupEntry(cacheKey);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+
+        if (entry != null) {
+            double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+            if (!entry.expiresEarly(clock.millis(), earlyExpirationBeta, random)
+                    || inFlight.putIfAbsent(cacheKey, flight) != null) {
+                return (T) entry.getValue();
+            }
+            earlyRefreshes.increment();
+            return (T) load(key, cacheKey, flight, valueLoader);
+        }
+
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(cacheKey, flight);
+        if (existing != null) {
+            coalescedWaiters.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        return (T) load(key, cacheKey, flight, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(cacheKey(key), value, 0);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = cacheKey(key);
+        local.invalidate(cacheKey);
+        deleteRemote(cacheKey);
+        manager.publishEviction(getName(), cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        clearRemote();
+        manager.publishClear(getName());
+    }
+
+    /**
+     * The current entry for a key without loading it, or null on a miss.
+     */
+    CacheEntry peek(Object key) {
+        return lookupEntry(cacheKey(key));
+    }
+
+    // Invalidations received from other nodes only touch the local tier
+
+    void evictLocal(String cacheKey) {
+        local.invalidate(cacheKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    // Helper methods
+
+    private Object load(Object key, String cacheKey, CompletableFuture<Object> flight, Callable<?> valueLoader) {
+        try {
+            long started = System.nanoTime();
+            Object value = valueLoader.call();
+            int computeMillis = (int) Math.min(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), Integer.MAX_VALUE);
+            store(cacheKey, value, computeMillis);
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(cacheKey, flight);
+        }
+    }
+
+    private void store(String cacheKey, Object value, int computeMillis) {
+        if (value == null) {
+            local.invalidate(cacheKey);
+            deleteRemote(cacheKey);
+            manager.publishEviction(getName(), cacheKey);
+            return;
+        }
+        CacheEntry entry = new CacheEntry(value, computeMillis, clock.millis() + spec.getTtl().toMillis());
+        local.put(cacheKey, entry);
+        writeRemote(cacheKey, entry.toBytes(serializer.serialize(value)));
+        manager.publishEviction(getName(), cacheKey);
+    }
+
+    private CacheEntry lookupEntry(String cacheKey) {
+        CacheEntry entry = local.getIfPresent(cacheKey);
+        if (entry != null) {
+            return entry;
+        }
+
+        byte[] bytes = readRemote(cacheKey);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            Object value = serializer.deserialize(CacheEntry.encodedValueOf(bytes), spec.getValueType());
+            entry = new CacheEntry(value, CacheEntry.computeMillisOf(bytes), CacheEntry.expiresAtMillisOf(bytes));
+        } catch (SerializationException | IndexOutOfBoundsException e) {
+            log.warn("Dropping unreadable entry {} from cache {}", cacheKey, getName(), e);
+            deleteRemote(cacheKey);
+            return null;
+        }
+        local.put(cacheKey, entry);
+        return entry;
+    }
+
+    private static String cacheKey(Object key) {
+        return key.toString();
+    }
+
+    private byte[] readRemote(String cacheKey) {
+        try {
+            return redisTemplate.opsForValue().get(redisKeyPrefix + cacheKey);
+        } catch (DataAccessException e) {
+            log.warn("Redis read failed for cache {}, treating as a miss", getName(), e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, byte[] bytes) {
+        try {
+            redisTemplate.opsForValue().set(redisKeyPrefix + cacheKey, bytes, spec.getTtl());
+        } catch (DataAccessException e) {
+            log.warn("Redis write failed for cache {}", getName(), e);
+        }
+    }
+
+    private void deleteRemote(String cacheKey) {
+        try {
+            redisTemplate.delete(redisKeyPrefix + cacheKey);
+        } catch (DataAccessException e) {
+            log.warn("Redis delete failed for cache {}", getName(), e);
+        }
+    }
+
+    private void clearRemote() {
+        ScanOptions options = ScanOptions.scanOptions().match(redisKeyPrefix + "*").count(1000).build();
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                deleteMatching(connection, options);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Redis clear failed for cache {}", getName(), e);
+        }
+    }
+
+    private static void deleteMatching(RedisConnection connection, ScanOptions options) {
+        // SCAN instead of KEYS so clearing a large cache does not block Redis
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                connection.keyCommands().del(cursor.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Two-Tier Cache Manager
+ * Location: src/main/java/com/videoanalytics/video/cache/TwoTierCacheManager.java
+ *
+ * Owns a fixed set of two-tier caches and keeps their local tiers consistent
+ * across nodes. Every write or eviction is published on a Redis pub/sub channel,
+ * and the other nodes evict the key from their L1. Pub/sub does not retry, so a
+ * node that misses a message serves its stale copy until the L1 TTL expires.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CachingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    // Message layout: nodeId \n cacheName \n ('E' + key | 'C')
+    private static final String SEPARATOR = "\n";
+    private static final char EVICT = 'E';
+    private static final char CLEAR = 'C';
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String channel;
+
+    // Lets a node skip its own messages
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoTierCache> caches;
+
+    public TwoTierCacheManager(RedisTemplate<String, byte[]> redisTemplate, CachingProperties properties,
+                               MeterRegistry meterRegistry, List<CacheSpec> specs) {
+        this.redisTemplate = redisTemplate;
+        this.channel = properties.getInvalidationChannel();
+
+        CacheValueSerializer serializer = new CacheValueSerializer();
+        Map<String, TwoTierCache> byName = new LinkedHashMap<>();
+        for (CacheSpec spec : specs) {
+            byName.put(spec.getName(), new TwoTierCache(spec, properties, redisTemplate, serializer, this, meterRegistry));
+        }
+        this.caches = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Returns null for undeclared caches, so a @Cacheable naming an unknown cache fails fast.
+     */
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    // Cross-node invalidation
+
+    void publishEviction(String cacheName, String cacheKey) {
+        publish(cacheName + SEPARATOR + EVICT + cacheKey);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName + SEPARATOR + CLEAR);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 3 || parts[2].isEmpty() || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            // Another node may run a version with caches this one does not declare
+            return;
+        }
+        if (parts[2].charAt(0) == CLEAR) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2].substring(1));
+        }
+    }
+
+    private void publish(String invalidation) {
+        byte[] body = (nodeId + SEPARATOR + invalidation).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.convertAndSend(channel, body);
+        } catch (DataAccessException e) {
+            log.warn("Could not publish cache invalidation on {}", channel, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Video Created Event
+ * Location: src/main/java/com/videoanalytics/video/cache/VideoCreatedEvent.java
+ *
+ * Published when a video is uploaded. Once the upload commits, the ID is added to
+ * the known video IDs on every node.
+ */
+package com.videoanalytics.video.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VideoCreatedEvent {
+    private final Long videoId;
+}
@@ -0,0 +1,117 @@
+/**
+ * Video Metadata Cache
+ * Location: src/main/java/com/videoanalytics/video/cache/VideoMetadataCache.java
+ *
+ * Read-through near-cache of video snapshots. A miss loads the video and its tags in
+ * one query. Updates invalidate by version: the updating node evicts snapshots older
+ * than the committed version and announces "id:version" on Redis so the other nodes
+ * do the same. Because eviction compares versions, a duplicate or late message never
+ * drops a newer snapshot. Hit ratio and load latency are published as the standard
+ * cache.gets and cache.load.duration meters, tagged cache=videoMetadata.
+ */
+package com.videoanalytics.video.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.repository.VideoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Component
+@Slf4j
+public class VideoMetadataCache implements MessageListener {
+
+    public static final String NAME = "videoMetadata";
+
+    private static final String SEPARATOR = ":";
+
+    private final VideoRepository videoRepository;
+    private final KnownVideoIds knownVideoIds;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String channel;
+    private final Cache<Long, VideoSnapshot> snapshots;
+
+    public VideoMetadataCache(VideoRepository videoRepository, KnownVideoIds knownVideoIds,
+                              RedisTemplate<String, byte[]> cacheRedisTemplate,
+                              CachingProperties cachingProperties, MeterRegistry meterRegistry) {
+        CachingProperties.NearCache settings = cachingProperties.getVideoMetadata();
+        this.videoRepository = videoRepository;
+        this.knownVideoIds = knownVideoIds;
+        this.redisTemplate = cacheRedisTemplate;
+        this.channel = settings.getInvalidationChannel();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, NAME);
+    }
+
+    /**
+     * The video's snapshot, loaded on a miss. Missing videos are left to KnownVideoIds,
+     * which rejects most of them without a query.
+     */
+    public Optional<VideoSnapshot> get(Long videoId) {
+        if (!knownVideoIds.mightExist(videoId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshots.get(videoId, this::load));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(VideoMetadataChangedEvent event) {
+        evictOlderThan(event.getVideoId(), event.getVersion());
+        publish(event.getVideoId() + SEPARATOR + event.getVersion());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        try {
+            evictOlderThan(Long.parseLong(body.substring(0, separator)), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed video metadata invalidation: {}", body);
+        }
+    }
+
+    // Helper methods
+
+    private VideoSnapshot load(Long videoId) {
+        VideoSnapshot snapshot = videoRepository.findWithTagsById(videoId)
+                .map(VideoSnapshot::of)
+                .orElse(null);
+        if (snapshot == null) {
+            knownVideoIds.recordMissing(videoId);
+        }
+        return snapshot;
+    }
+
+    // Runs under the entry's lock, so it waits for an in-flight load of the key and
+    // then drops the loaded snapshot if it predates the change
+    void evictOlderThan(Long videoId, long version) {
+        snapshots.asMap().computeIfPresent(videoId,
+                (id, snapshot) -> snapshot.getVersion() < version ? null : snapshot);
+    }
+
+    private void publish(String invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, invalidation.getBytes(StandardCharsets.UTF_8));
+        } catch (DataAccessException e) {
+            // Other nodes fall back to the TTL for this change
+            log.warn("Could not publish video metadata invalidation on {}", channel, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Video Metadata Changed Event
+ * Location: src/main/java/com/videoanalytics/video/cache/VideoMetadataChangedEvent.java
+ *
+ * Published when a video entity is updated, with the version the update produced.
+ * Cached snapshots older than that version are dropped once the change commits.
+ */
+package com.videoanalytics.video.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VideoMetadataChangedEvent {
+    private final Long videoId;
+    private final long version;
+}
@@ -0,0 +1,34 @@
+/**
+ * Video Snapshot
+ * Location: src/main/java/com/videoanalytics/video/cache/VideoSnapshot.java
+ *
+ * Immutable copy of the video metadata that lookups and ownership checks need,
+ * taken at one entity version. Safe to share between threads and requests.
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.model.VideoStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VideoSnapshot {
+    private final Long id;
+    private final String title;
+    private final Duration duration;
+    private final VideoStatus status;
+    private final Long uploadedBy;
+    private final Set<String> tags;
+    private final long version;
+
+    public static VideoSnapshot of(Video video) {
+        return new VideoSnapshot(video.getId(), video.getTitle(), video.getDuration(), video.getStatus(),
+                video.getUploadedBy(), Set.copyOf(video.getTags()), video.getVersion());
+    }
+}
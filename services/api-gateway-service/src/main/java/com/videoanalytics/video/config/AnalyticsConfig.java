@@ -0,0 +1,15 @@
+/**
+ * Analytics Configuration
+ * Location: src/main/java/com/videoanalytics/video/config/AnalyticsConfig.java
+ *
+ * Enables the scheduled jobs that snapshot and maintain the in-memory analytics state.
+ */
+package com.videoanalytics.video.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AnalyticsConfig {
+}
@@ -0,0 +1,102 @@
+/**
+ * Analytics Configuration Properties
+ * Location: src/main/java/com/videoanalytics/video/config/AnalyticsProperties.java
+ *
+ * Tuning knobs for the in-memory analytics components, bound from the
+ * "analytics" section of application.yml.
+ */
+package com.videoanalytics.video.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsProperties {
+
+    private Trending trending = new Trending();
+    private HeavyHitters heavyHitters = new HeavyHitters();
+    private HotStore hotStore = new HotStore();
+    private Engagement engagement = new Engagement();
+    private Platform platform = new Platform();
+
+    // Time-decayed trending scores
+    @Data
+    public static class Trending {
+        // Time after which an event counts half as much towards a video's score in the
+        // 24h window; the 1h and 7d windows scale it with their length
+        private Duration halfLife = Duration.ofHours(6);
+
+        // Number of videos kept in each in-memory top-K
+        private int capacity = 500;
+
+        private double viewWeight = 1.0;
+        private double likeWeight = 5.0;
+
+        // Maximum number of scores per tracker written to each snapshot
+        private int snapshotSize = 10_000;
+
+        // Decayed scores below this are forgotten when a snapshot is taken
+        private double minScore = 0.01;
+
+        // Longest list precomputed per window; larger requested limits are capped to it
+        private int maxLimit = 100;
+    }
+
+    // Streaming most-liked / most-viewed tracking
+    @Data
+    public static class HeavyHitters {
+        // Estimates exceed true counts by at most epsilon * total events, except with probability delta
+        private double epsilon = 0.0005;
+        private double delta = 0.001;
+
+        // Candidate keys tracked per pane; should comfortably exceed the largest requested limit
+        private int capacity = 1000;
+
+        // The window is paneCount panes of paneDuration, the newest one still filling
+        private Duration paneDuration = Duration.ofDays(1);
+        private int paneCount = 8;
+    }
+
+    // In-memory columnar copy of recent sessions
+    @Data
+    public static class HotStore {
+        private boolean enabled = true;
+
+        // Sessions that started within this window are kept in memory; one month by default
+        // so the month-long analytics windows are answered from the store
+        private Duration retention = Duration.ofDays(31);
+
+        // Rows per chunk; chunks are evicted whole
+        private int chunkSize = 65_536;
+
+        private int rebuildBatchSize = 10_000;
+
+        // How far back each refresh reads sessions ended before the previous one, to pick
+        // up sessions whose transaction committed late
+        private Duration refreshOverlap = Duration.ofMinutes(1);
+    }
+
+    // Parallel user engagement aggregation
+    @Data
+    public static class Engagement {
+        // Threads of the dedicated fork/join pool; each running partition holds a database connection
+        private int parallelism = 4;
+
+        // Periods longer than this are split into partitions of this length and aggregated in parallel
+        private Duration partition = Duration.ofDays(7);
+    }
+
+    // Platform dashboard counters
+    @Data
+    public static class Platform {
+        // Sessions that started longer ago than this and never ended are no longer counted as active
+        private Duration activeSessionWindow = Duration.ofHours(4);
+
+        private int topVideos = 10;
+    }
+}
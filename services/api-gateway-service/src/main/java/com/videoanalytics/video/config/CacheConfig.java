@@ -0,0 +1,72 @@
+/**
+ * Cache Configuration
+ * Location: src/main/java/com/videoanalytics/video/config/CacheConfig.java
+ *
+ * Enables Spring caching with the two-tier Caffeine + Redis cache manager and
+ * declares the caches, their value types and TTLs. Also subscribes the caches to
+ * their Redis invalidation channels.
+ */
+package com.videoanalytics.video.config;
+
+import com.videoanalytics.video.cache.CacheSpec;
+import com.videoanalytics.video.cache.KnownVideoIds;
+import com.videoanalytics.video.cache.TwoTierCacheManager;
+import com.videoanalytics.video.cache.VideoMetadataCache;
+import com.videoanalytics.video.dto.UserEngagement;
+import com.videoanalytics.video.dto.VideoAnalytics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String VIDEO_ANALYTICS = "videoAnalytics";
+    public static final String USER_ENGAGEMENT = "userEngagement";
+
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisTemplate<String, byte[]> cacheRedisTemplate,
+                                            CachingProperties cachingProperties,
+                                            MeterRegistry meterRegistry) {
+        Duration analyticsTtl = cachingProperties.getAnalytics().getTtl();
+
+        return new TwoTierCacheManager(cacheRedisTemplate, cachingProperties, meterRegistry, List.of(
+                new CacheSpec(VIDEO_ANALYTICS, VideoAnalytics.class, analyticsTtl),
+                new CacheSpec(USER_ENGAGEMENT, UserEngagement.class, analyticsTtl)
+        ));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager,
+                                                                   VideoMetadataCache videoMetadataCache,
+                                                                   KnownVideoIds knownVideoIds,
+                                                                   CachingProperties cachingProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cachingProperties.getInvalidationChannel()));
+        container.addMessageListener(videoMetadataCache,
+                new ChannelTopic(cachingProperties.getVideoMetadata().getInvalidationChannel()));
+        container.addMessageListener(knownVideoIds, new ChannelTopic(cachingProperties.getKnownVideos().getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Caching Configuration Properties
+ * Location: src/main/java/com/videoanalytics/video/config/CachingProperties.java
+ *
+ * Time-to-live and sizing of the two-tier caches, bound from the "cache" section
+ * of application.yml. TTLs without a unit are read as seconds.
+ */
+package com.videoanalytics.video.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class CachingProperties {
+
+    private NearCache videoMetadata = new NearCache(Duration.ofHours(1), 50_000, "vap:cache:video-metadata");
+    private CacheGroup analytics = new CacheGroup(Duration.ofMinutes(5));
+    private Local local = new Local();
+    private Refresh refresh = new Refresh();
+    private Negative negative = new Negative();
+    private KnownVideos knownVideos = new KnownVideos();
+    private Warmup warmup = new Warmup();
+
+    // Prefix of every cache key written to Redis
+    private String keyPrefix = "vap:cache:";
+
+    // Pub/sub channel on which nodes announce evictions so the others drop their local copies
+    private String invalidationChannel = "vap:cache:invalidations";
+
+    // XFetch beta: above 1 refreshes hot entries earlier, below 1 later, 0 disables early refresh
+    private double earlyExpirationBeta = 1.0;
+
+    // TTL shared by a group of caches
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheGroup {
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl;
+    }
+
+    // On-heap cache of immutable snapshots, read through to the database
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NearCache {
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl;
+
+        private long maximumSize;
+
+        // Pub/sub channel carrying "id:version" invalidations between nodes
+        private String invalidationChannel;
+    }
+
+    // On-heap tier in front of Redis
+    @Data
+    public static class Local {
+        // Entries per cache
+        private long maximumSize = 10_000;
+
+        // Local entries expire after the smaller of this and the cache's TTL, which bounds
+        // how stale a node can be if it misses an invalidation message
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    // Background recomputation of analytics entries made stale by writes
+    @Data
+    public static class Refresh {
+        // Maximum videos and, separately, users recomputed per run
+        private int batchSize = 200;
+    }
+
+    // Recently looked-up IDs that were not found
+    @Data
+    public static class Negative {
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl = Duration.ofSeconds(30);
+
+        // IDs per cache
+        private long maximumSize = 100_000;
+    }
+
+    // Bloom filter of every video ID
+    @Data
+    public static class KnownVideos {
+        // Minimum the filter is sized for; rebuilds size it for twice the current count
+        private long expectedVideos = 1_000_000;
+
+        private double falsePositiveRate = 0.01;
+
+        // Pub/sub channel on which nodes announce uploaded video IDs
+        private String channel = "vap:cache:video-created";
+    }
+
+    // Preloading of the hottest videos before the node reports ready
+    @Data
+    public static class Warmup {
+        private boolean enabled = true;
+
+        // Videos taken from the top of the 24h trending list
+        private int topVideos = 200;
+
+        // Videos loaded per batch; the time budget is checked between batches
+        private int batchSize = 25;
+
+        // Concurrent loads, kept well below the connection pool size
+        private int parallelism = 4;
+
+        // Warm-up stops when this runs out and the node starts regardless
+        private Duration timeBudget = Duration.ofSeconds(20);
+    }
+}
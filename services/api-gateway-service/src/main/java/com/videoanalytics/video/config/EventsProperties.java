@@ -0,0 +1,56 @@
+/**
+ * Events Configuration Properties
+ * Location: src/main/java/com/videoanalytics/video/config/EventsProperties.java
+ *
+ * The video event bus that carries writes to the analytics consumers, bound from
+ * the "events" section of application.yml. The bus itself is chosen with
+ * events.bus: "in-process" (the default) or "kafka".
+ */
+package com.videoanalytics.video.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "events")
+public class EventsProperties {
+
+    private String bus = "in-process";
+    private Ring ring = new Ring();
+    private Kafka kafka = new Kafka();
+    private Rollups rollups = new Rollups();
+
+    // In-process ring buffers
+    @Data
+    public static class Ring {
+        // One ring and consumer thread per partition
+        private int partitions = 4;
+
+        // Events per ring, a power of two
+        private int capacity = 8192;
+
+        // How long a publisher waits for room in a full ring before dropping the event
+        private Duration publishTimeout = Duration.ofMillis(50);
+    }
+
+    // Kafka transport
+    @Data
+    public static class Kafka {
+        private String topic = "video-events";
+        private String groupId = "api-gateway-analytics";
+    }
+
+    // Repair of session rollups whose event was lost
+    @Data
+    public static class Rollups {
+        // Ended sessions still not rolled up after this long are rolled up by the sweep
+        private Duration repairAfter = Duration.ofMinutes(5);
+
+        // Sessions rolled up per sweep
+        private int repairBatchSize = 500;
+    }
+}
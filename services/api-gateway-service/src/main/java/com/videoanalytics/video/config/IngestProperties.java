@@ -0,0 +1,38 @@
+/**
+ * Ingest Configuration Properties
+ * Location: src/main/java/com/videoanalytics/video/config/IngestProperties.java
+ *
+ * The local ingest log that view and like writes go through on their way to the
+ * database, bound from the "ingest" section of application.yml.
+ */
+package com.videoanalytics.video.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ingest")
+public class IngestProperties {
+
+    private Log log = new Log();
+    private Drain drain = new Drain();
+
+    // Segment files on local disk
+    @Data
+    public static class Log {
+        // Directory of this node's log; it must survive restarts
+        private String directory = "data/ingest-log";
+
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+    }
+
+    // Replay of the log into the database
+    @Data
+    public static class Drain {
+        // Events applied per transaction
+        private int batchSize = 5000;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Session Configuration Properties
+ * Location: src/main/java/com/videoanalytics/video/config/SessionProperties.java
+ *
+ * Handling of live view sessions, bound from the "session" section of
+ * application.yml. Durations without a unit are read as seconds.
+ */
+package com.videoanalytics.video.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "session")
+public class SessionProperties {
+
+    private Analytics analytics = new Analytics();
+    private Heartbeats heartbeats = new Heartbeats();
+    private Events events = new Events();
+
+    // Session lifecycle
+    @Data
+    public static class Analytics {
+        // Live sessions without a heartbeat for this long are dropped from memory
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration inactiveTimeout = Duration.ofMinutes(30);
+    }
+
+    // Write-behind buffering of heartbeat updates
+    @Data
+    public static class Heartbeats {
+        // Dirty sessions that trigger a flush before the flush interval is up
+        private int flushSize = 1000;
+
+        // Rows per JDBC batch
+        private int batchSize = 200;
+    }
+
+    // Batched player events
+    @Data
+    public static class Events {
+        // Larger batches are rejected rather than held in memory
+        private int maxBatchSize = 1000;
+    }
+}
@@ -8,22 +8,37 @@
  */
 package com.videoanalytics.video.controller;
 
+import com.videoanalytics.video.analytics.trending.RenderedTrending;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.cache.EntityTags;
+import com.videoanalytics.video.dto.PlatformDashboard;
 import com.videoanalytics.video.dto.TrendingVideos;
 import com.videoanalytics.video.dto.UserEngagement;
 import com.videoanalytics.video.dto.VideoAnalytics;
 import com.videoanalytics.video.service.AnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -36,6 +51,11 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final EntityTags entityTags;
+
+    // The precomputed trending responses are rebuilt every few seconds, so the gateway
+    // cache may share them between users for as long
+    private static final CacheControl TRENDING_CACHE = CacheControl.empty().sMaxAge(Duration.ofSeconds(5));
 
     /**
      * Get comprehensive analytics for a specific video
@@ -50,17 +70,29 @@ public class AnalyticsController {
                     "watch time, completion rates, and device distribution."
     )
     @ApiResponse(responseCode = "200", description = "Analytics successfully retrieved")
+    @ApiResponse(responseCode = "304", description = "Analytics unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "403", description = "Not authorized to view these analytics")
     @ApiResponse(responseCode = "404", description = "Video not found")
     @PreAuthorize("hasRole('ADMIN') or @videoSecurityService.isVideoOwner(#videoId, principal)")
     public ResponseEntity<VideoAnalytics> getVideoAnalytics(
             @Parameter(description = "Video ID", required = true)
-            @PathVariable Long videoId) {
+            @PathVariable Long videoId,
+            ServerWebExchange exchange) {
 
         log.info("Retrieving analytics for video ID: {}", videoId);
 
+        // Revalidation is answered from the cache entry's stamp
+        if (EntityTags.isRevalidation(exchange)) {
+            String current = entityTags.forVideoAnalytics(videoId).orElse(null);
+            if (current != null && exchange.checkNotModified(current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
+
         VideoAnalytics analytics = analyticsService.getVideoAnalytics(videoId);
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok()
+                .eTag(entityTags.forVideoAnalytics(videoId, analytics).orElse(null))
+                .body(analytics);
     }
 
     /**
@@ -147,11 +179,67 @@ public class AnalyticsController {
         return ResponseEntity.ok(engagement);
     }
 
+    /**
+     * Get unique viewers of a video
+     *
+     * Estimates the number of distinct users who watched a video between two dates
+     * (inclusive). The count is approximate, with a typical error of about 2%.
+     */
+    @GetMapping("/videos/{videoId}/unique-viewers")
+    @Operation(
+            summary = "Get unique viewers of a video",
+            description = "Estimates the number of distinct users who watched a video between two dates (inclusive)."
+    )
+    @ApiResponse(responseCode = "200", description = "Unique viewers successfully estimated")
+    @ApiResponse(responseCode = "403", description = "Not authorized to view these analytics")
+    @PreAuthorize("hasRole('ADMIN') or @videoSecurityService.isVideoOwner(#videoId, principal)")
+    public ResponseEntity<Long> getUniqueViewers(
+            @Parameter(description = "Video ID", required = true)
+            @PathVariable Long videoId,
+            @Parameter(description = "First day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        log.info("Retrieving unique viewers for video ID: {} from {} to {}", videoId, from, to);
+
+        return ResponseEntity.ok(analyticsService.getUniqueViewers(videoId, from, to));
+    }
+
+    /**
+     * Get unique viewers across a creator's videos
+     *
+     * Estimates the number of distinct users who watched any video uploaded by the
+     * creator between two dates (inclusive).
+     */
+    @GetMapping("/creators/{creatorId}/unique-viewers")
+    @Operation(
+            summary = "Get unique viewers across a creator's videos",
+            description = "Estimates the number of distinct users who watched any video uploaded by the creator " +
+                    "between two dates (inclusive)."
+    )
+    @ApiResponse(responseCode = "200", description = "Unique viewers successfully estimated")
+    @ApiResponse(responseCode = "403", description = "Not authorized to view these analytics")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurityService.isSameUser(#creatorId, principal)")
+    public ResponseEntity<Long> getCreatorUniqueViewers(
+            @Parameter(description = "Creator (uploader) user ID", required = true)
+            @PathVariable Long creatorId,
+            @Parameter(description = "First day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        log.info("Retrieving unique viewers for creator ID: {} from {} to {}", creatorId, from, to);
+
+        return ResponseEntity.ok(analyticsService.getCreatorUniqueViewers(creatorId, from, to));
+    }
+
     /**
      * Get trending videos
      *
      * Identifies the most popular videos based on views and likes over recent time periods.
-     * Useful for content discovery and recommendations.
+     * Useful for content discovery and recommendations. The response is precomputed per
+     * window and written as slices of the rendered JSON, without serializing per request.
      */
     @GetMapping("/trending")
     @Operation(
@@ -159,15 +247,31 @@ public class AnalyticsController {
             description = "Identifies the most popular videos based on views and likes over recent time periods. " +
                     "Useful for content discovery and recommendations."
     )
-    @ApiResponse(responseCode = "200", description = "Trending videos successfully retrieved")
-    public ResponseEntity<TrendingVideos> getTrendingVideos(
+    @ApiResponse(responseCode = "200", description = "Trending videos successfully retrieved",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = TrendingVideos.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown trending window")
+    public ResponseEntity<Flux<DataBuffer>> getTrendingVideos(
             @Parameter(description = "Maximum number of videos to return")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Trending window: 1h, 24h or 7d")
+            @RequestParam(defaultValue = "24h") String window,
+            ServerHttpResponse response) {
 
-        log.info("Retrieving trending videos with limit: {}", limit);
+        log.debug("Retrieving trending videos for the {} window with limit: {}", window, limit);
 
-        TrendingVideos trending = analyticsService.getTrendingVideos(limit);
-        return ResponseEntity.ok(trending);
+        TrendingWindow trendingWindow = TrendingWindow.fromLabel(window).orElse(null);
+        if (trendingWindow == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Wrapping the slices in the response's own buffer factory avoids copying them
+        RenderedTrending trending = analyticsService.getTrendingVideos(trendingWindow);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(trending.contentLength(limit))
+                .cacheControl(TRENDING_CACHE)
+                .body(Flux.fromArray(trending.slices(limit)).map(response.bufferFactory()::wrap));
     }
 
     /**
@@ -222,11 +326,68 @@ public class AnalyticsController {
         return ResponseEntity.ok(metrics);
     }
 
+    /**
+     * Get watch duration percentiles for a video
+     *
+     * Returns the p50, p90, p95 and p99 watch duration in seconds for sessions that
+     * started within the date range. Values are accurate to within 1%.
+     */
+    @GetMapping("/performance/{videoId}/watch-duration")
+    @Operation(
+            summary = "Get watch duration percentiles for a video",
+            description = "Returns the p50, p90, p95 and p99 watch duration in seconds for sessions that " +
+                    "started within the date range."
+    )
+    @ApiResponse(responseCode = "200", description = "Percentiles successfully retrieved")
+    @ApiResponse(responseCode = "403", description = "Not authorized to view these metrics")
+    @PreAuthorize("hasRole('ADMIN') or @videoSecurityService.isVideoOwner(#videoId, principal)")
+    public ResponseEntity<Map<String, Double>> getWatchDurationPercentiles(
+            @Parameter(description = "Video ID", required = true)
+            @PathVariable Long videoId,
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+
+        log.info("Retrieving watch duration percentiles for video ID: {} from {} to {}", videoId, start, end);
+
+        return ResponseEntity.ok(analyticsService.getWatchDurationPercentiles(videoId, start, end));
+    }
+
+    /**
+     * Get bitrate percentiles for a video
+     *
+     * Returns the p50, p90, p95 and p99 of the sessions' average bitrate for sessions
+     * that started within the date range.
+     */
+    @GetMapping("/performance/{videoId}/bitrate")
+    @Operation(
+            summary = "Get bitrate percentiles for a video",
+            description = "Returns the p50, p90, p95 and p99 of the sessions' average bitrate for sessions that " +
+                    "started within the date range."
+    )
+    @ApiResponse(responseCode = "200", description = "Percentiles successfully retrieved")
+    @ApiResponse(responseCode = "403", description = "Not authorized to view these metrics")
+    @PreAuthorize("hasRole('ADMIN') or @videoSecurityService.isVideoOwner(#videoId, principal)")
+    public ResponseEntity<Map<String, Double>> getBitratePercentiles(
+            @Parameter(description = "Video ID", required = true)
+            @PathVariable Long videoId,
+            @Parameter(description = "Start date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @Parameter(description = "End date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+
+        log.info("Retrieving bitrate percentiles for video ID: {} from {} to {}", videoId, start, end);
+
+        return ResponseEntity.ok(analyticsService.getBitratePercentiles(videoId, start, end));
+    }
+
     /**
      * Get platform-wide metrics dashboard
      *
      * Administrative endpoint that provides a comprehensive view of platform usage,
-     * performance, and engagement. Only available to administrators.
+     * performance, and engagement. Only available to administrators. Served from
+     * in-memory counters refreshed every second, so dashboards can poll it at that rate.
      */
     @GetMapping("/dashboard")
     @Operation(
@@ -237,14 +398,10 @@ public class AnalyticsController {
     @ApiResponse(responseCode = "200", description = "Dashboard metrics successfully retrieved")
     @ApiResponse(responseCode = "403", description = "Not authorized to view platform dashboard")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getPlatformDashboard() {
-        log.info("Retrieving platform-wide analytics dashboard");
-
-        // This could be implemented in the AnalyticsService to provide
-        // a comprehensive view of platform metrics
+    public ResponseEntity<PlatformDashboard> getPlatformDashboard() {
+        // Polled every second, so logged at debug level
+        log.debug("Retrieving platform-wide analytics dashboard");
 
-        return ResponseEntity.ok(Map.of(
-                "message", "Platform dashboard endpoint - to be implemented"
-        ));
+        return ResponseEntity.ok(analyticsService.getPlatformDashboard());
     }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@
  */
 package com.videoanalytics.video.controller;
 
+import com.videoanalytics.video.cache.EntityTags;
+import com.videoanalytics.video.dto.HeavyHitters;
 import com.videoanalytics.video.dto.VideoResponse;
 import com.videoanalytics.video.dto.VideoUploadRequest;
 import com.videoanalytics.video.dto.VideoUpdateRequest;
@@ -26,13 +28,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -46,6 +53,11 @@ import java.util.stream.Collectors;
 public class VideoController {
 
     private final VideoService videoService;
+    private final EntityTags entityTags;
+
+    // Public responses the gateway cache may share between users for a few seconds;
+    // clients still revalidate video metadata with its ETag
+    private static final CacheControl SHARED_CACHE = CacheControl.empty().sMaxAge(Duration.ofSeconds(5));
 
     /**
      * Upload a new video
@@ -96,16 +108,28 @@ public class VideoController {
             description = "Retrieves detailed information about a specific video"
     )
     @ApiResponse(responseCode = "200", description = "Video found")
+    @ApiResponse(responseCode = "304", description = "Video unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Video not found")
     public ResponseEntity<VideoResponse> getVideoById(
             @Parameter(description = "Video ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            ServerWebExchange exchange) {
 
         log.debug("Fetching video with ID: {}", id);
 
+        // Revalidation only reads the version and counters
+        if (EntityTags.isRevalidation(exchange)) {
+            String current = entityTags.forVideo(id).orElse(null);
+            if (current != null && exchange.checkNotModified(current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
+
         return videoService.getVideo(id)
-                .map(this::convertToVideoResponse)
-                .map(ResponseEntity::ok)
+                .map(video -> ResponseEntity.ok()
+                        .eTag(entityTags.forVideo(video))
+                        .cacheControl(SHARED_CACHE)
+                        .body(convertToVideoResponse(video)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -327,15 +351,54 @@ public class VideoController {
             description = "Retrieves the current view count for a video"
     )
     @ApiResponse(responseCode = "200", description = "View count retrieved")
+    @ApiResponse(responseCode = "304", description = "View count unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Video not found")
     public ResponseEntity<Long> getViewCount(
             @Parameter(description = "Video ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            ServerWebExchange exchange) {
 
         log.debug("Getting view count for video ID: {}", id);
 
+        if (EntityTags.isRevalidation(exchange)) {
+            String current = entityTags.forViewCount(id).orElse(null);
+            if (current != null && exchange.checkNotModified(current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
+
         long viewCount = videoService.getViewCount(id);
-        return ResponseEntity.ok(viewCount);
+        return ResponseEntity.ok()
+                .eTag(entityTags.forViewCount(viewCount))
+                .body(viewCount);
+    }
+
+    /**
+     * Get most viewed videos
+     *
+     * Returns the most viewed videos since the specified date. Counts are estimated
+     * from streaming sketches; the response states how far they may be off.
+     */
+    @GetMapping("/most-viewed")
+    @Operation(
+            summary = "Get most viewed videos",
+            description = "Returns the most viewed videos since the specified date with estimated view counts " +
+                    "and their error bounds"
+    )
+    @ApiResponse(responseCode = "200", description = "Most viewed videos retrieved")
+    public ResponseEntity<HeavyHitters> getMostViewedVideos(
+            @Parameter(description = "Start date (defaults to 7 days ago)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Maximum number of videos to return")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        LocalDateTime startDate = since != null ? since : LocalDateTime.now().minusDays(7);
+
+        log.debug("Getting most viewed videos since {} with limit {}", startDate, limit);
+
+        return ResponseEntity.ok()
+                .cacheControl(SHARED_CACHE)
+                .body(videoService.getMostViewedVideos(startDate, limit));
     }
 
     // Helper methods
@@ -8,6 +8,7 @@
  */
 package com.videoanalytics.video.controller;
 
+import com.videoanalytics.video.dto.HeavyHitters;
 import com.videoanalytics.video.dto.VideoLikeResponse;
 import com.videoanalytics.video.model.VideoLike;
 import com.videoanalytics.video.service.VideoLikeService;
@@ -21,14 +22,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
@@ -41,6 +43,10 @@ public class VideoLikeController {
 
     private final VideoLikeService videoLikeService;
 
+    // The most liked videos are the same for every user, so the gateway cache may
+    // share them for a few seconds
+    private static final CacheControl SHARED_CACHE = CacheControl.empty().sMaxAge(Duration.ofSeconds(5));
+
     /**
      * Add a like to a video
      *
@@ -159,15 +165,17 @@ public class VideoLikeController {
     /**
      * Get most liked videos
      *
-     * Returns a list of the most liked videos since the specified date.
+     * Returns the most liked videos since the specified date. Counts are estimated
+     * from streaming sketches; the response states how far they may be off.
      */
     @GetMapping("/trending")
     @Operation(
             summary = "Get most liked videos",
-            description = "Returns a list of the most liked videos since the specified date"
+            description = "Returns the most liked videos since the specified date with estimated like counts " +
+                    "and their error bounds"
     )
     @ApiResponse(responseCode = "200", description = "Trending videos retrieved")
-    public ResponseEntity<List<Long>> getMostLikedVideos(
+    public ResponseEntity<HeavyHitters> getMostLikedVideos(
             @Parameter(description = "Start date (defaults to 7 days ago)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
             @Parameter(description = "Maximum number of videos to return")
@@ -178,9 +186,11 @@ public class VideoLikeController {
 
         log.debug("Getting most liked videos since {} with limit {}", startDate, limit);
 
-        List<Long> trendingVideos = videoLikeService.getMostLikedVideos(startDate, limit);
+        HeavyHitters trendingVideos = videoLikeService.getMostLikedVideos(startDate, limit);
 
-        return ResponseEntity.ok(trendingVideos);
+        return ResponseEntity.ok()
+                .cacheControl(SHARED_CACHE)
+                .body(trendingVideos);
     }
 
     /**
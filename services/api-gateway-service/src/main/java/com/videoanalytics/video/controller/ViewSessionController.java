@@ -8,6 +8,10 @@
  */
 package com.videoanalytics.video.controller;
 
+import com.videoanalytics.security.SessionSecurityService;
+import com.videoanalytics.video.config.SessionProperties;
+import com.videoanalytics.video.dto.SessionEvent;
+import com.videoanalytics.video.dto.SessionEventBatchResponse;
 import com.videoanalytics.video.dto.ViewSessionRequest;
 import com.videoanalytics.video.dto.ViewSessionResponse;
 import com.videoanalytics.video.model.ViewSession;
@@ -24,15 +28,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -44,6 +53,8 @@ import java.util.stream.Collectors;
 public class ViewSessionController {
 
     private final ViewSessionService viewSessionService;
+    private final SessionSecurityService sessionSecurityService;
+    private final SessionProperties sessionProperties;
 
     /**
      * Start a new viewing session
@@ -136,6 +147,56 @@ public class ViewSessionController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Apply a batch of player events
+     *
+     * Applies heartbeat, quality switch, buffer and end events for one or more
+     * sessions in a single request. The body is a JSON array or newline-delimited
+     * JSON. Ownership is checked once per session, and the whole batch is rejected
+     * if any of its sessions belongs to someone else.
+     */
+    @PostMapping(value = "/events:batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Apply a batch of session events",
+            description = "Applies many player events for one or more of the caller's sessions. " +
+                    "Accepts a JSON array or newline-delimited JSON."
+    )
+    @ApiResponse(responseCode = "200", description = "Events applied")
+    @ApiResponse(responseCode = "400", description = "Invalid or empty batch")
+    @ApiResponse(responseCode = "403", description = "Not authorized to update one of the sessions")
+    @ApiResponse(responseCode = "413", description = "Too many events in the batch")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<SessionEventBatchResponse>> applyEvents(
+            @Valid @RequestBody Flux<SessionEvent> events,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        int maxBatchSize = sessionProperties.getEvents().getMaxBatchSize();
+
+        // Read one event past the limit, so an oversized batch is not buffered whole
+        return events.take(maxBatchSize + 1L)
+                .collectList()
+                .publishOn(Schedulers.boundedElastic())
+                .map(batch -> {
+                    if (batch.isEmpty()) {
+                        return ResponseEntity.badRequest().<SessionEventBatchResponse>build();
+                    }
+                    if (batch.size() > maxBatchSize) {
+                        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).<SessionEventBatchResponse>build();
+                    }
+
+                    Set<Long> sessionIds = batch.stream()
+                            .map(SessionEvent::getSessionId)
+                            .collect(Collectors.toSet());
+                    if (!sessionSecurityService.isOwnerOfAll(sessionIds, userDetails)) {
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).<SessionEventBatchResponse>build();
+                    }
+
+                    log.info("Applying {} events for {} view sessions", batch.size(), sessionIds.size());
+                    return ResponseEntity.ok(viewSessionService.applyEvents(batch));
+                });
+    }
+
     /**
      * Get user's viewing history
      *
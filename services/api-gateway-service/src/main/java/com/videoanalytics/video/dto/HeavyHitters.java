@@ -0,0 +1,47 @@
+/**
+ * Heavy Hitters DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/HeavyHitters.java
+ *
+ * The most frequent videos for one kind of event, as estimated by the streaming
+ * heavy-hitter sketches, together with the sketches' error bounds.
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HeavyHitters {
+
+    private List<Entry> videos;
+
+    // Net number of events counted in the window
+    private long totalEvents;
+
+    // Each estimate is at most epsilon * totalEvents too high, except with probability delta
+    private double epsilon;
+    private double delta;
+    private long maxOverestimate;
+
+    // The window is aligned to whole panes, so it can start before the requested time
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long videoId;
+        private long estimatedCount;
+    }
+}
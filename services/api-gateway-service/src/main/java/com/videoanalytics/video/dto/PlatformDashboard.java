@@ -0,0 +1,56 @@
+/**
+ * Platform Dashboard DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/PlatformDashboard.java
+ *
+ * Platform-wide activity as counted by one node since it started, refreshed about
+ * once per second.
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlatformDashboard {
+
+    // Sessions started within the active-session window that have not ended yet
+    private long activeSessions;
+
+    private long viewsLastMinute;
+    private long viewsLastHour;
+    private long viewsLastDay;
+
+    private long likesLastMinute;
+    private long likesLastHour;
+    private long likesLastDay;
+
+    private long uploadsLastHour;
+    private long uploadsLastDay;
+
+    // Per-minute counts over the last hour, oldest first
+    private List<Long> viewsPerMinute;
+    private List<Long> likesPerMinute;
+
+    private List<ScoredVideo> topVideos;
+
+    // Active sessions per device type
+    private Map<String, Long> deviceMix;
+
+    // Buffer events per session, for sessions that ended in the last hour
+    private double averageBufferRate;
+
+    // Counters start empty when the node starts, so windows longer than the uptime are partial
+    private LocalDateTime countingSince;
+    private LocalDateTime generatedAt;
+}
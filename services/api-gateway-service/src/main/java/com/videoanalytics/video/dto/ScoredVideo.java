@@ -0,0 +1,21 @@
+/**
+ * Scored Video DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/ScoredVideo.java
+ *
+ * A video and its current trending score.
+ */
+package com.videoanalytics.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoredVideo {
+    private Long videoId;
+
+    // Time-decayed sum of weighted events; one fresh view scores 1.0
+    private double score;
+}
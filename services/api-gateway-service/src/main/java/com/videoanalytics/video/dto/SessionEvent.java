@@ -0,0 +1,42 @@
+/**
+ * Session Event DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/SessionEvent.java
+ *
+ * One player event in a batch sent to the session events endpoint. Events of a
+ * session are applied in the order they appear in the batch.
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionEvent {
+
+    @NotNull
+    private Long sessionId;
+
+    @NotNull
+    private Type type;
+
+    // Player state when the event happened; either may be left out
+    private Duration lastPosition;
+    private Long averageBitrate;
+
+    public enum Type {
+        HEARTBEAT,
+        QUALITY_SWITCH,
+        BUFFER,
+        END
+    }
+}
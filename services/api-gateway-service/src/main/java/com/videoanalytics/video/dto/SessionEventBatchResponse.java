@@ -0,0 +1,27 @@
+/**
+ * Session Event Batch Response DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/SessionEventBatchResponse.java
+ *
+ * Outcome of applying a batch of player events.
+ */
+package com.videoanalytics.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionEventBatchResponse {
+
+    private int eventsApplied;
+
+    // Events that came after the end of their session in the batch
+    private int eventsIgnored;
+
+    private int sessionsUpdated;
+    private int sessionsEnded;
+}
@@ -0,0 +1,39 @@
+/**
+ * Trending Videos DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/TrendingVideos.java
+ *
+ * The currently trending videos, ranked by exponentially time-decayed scores.
+ * Documents the response shape; the endpoint writes it precomputed (see RenderedTrending).
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendingVideos {
+
+    // Ranked by weighted views and likes
+    private List<ScoredVideo> trending;
+
+    private List<Long> topByViews;
+    private List<Long> topByLikes;
+
+    // Trending window label: 1h, 24h or 7d
+    private String window;
+
+    // Half-life of the score decay in seconds
+    private long halfLifeSeconds;
+
+    private LocalDateTime generatedAt;
+}
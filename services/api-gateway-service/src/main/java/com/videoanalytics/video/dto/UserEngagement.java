@@ -0,0 +1,41 @@
+/**
+ * User Engagement DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/UserEngagement.java
+ *
+ * Engagement metrics for a single user, either for the last month or for a
+ * requested period.
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserEngagement {
+
+    private Long userId;
+
+    // Total watch time in seconds
+    private long totalWatchTime;
+    private long videosWatched;
+
+    // Average watch duration in seconds
+    private double averageWatchDuration;
+    private long totalLikes;
+
+    // Session count per device type
+    private Map<String, Long> devicePreferences;
+
+    private LocalDateTime periodStart;
+    private LocalDateTime periodEnd;
+}
@@ -0,0 +1,48 @@
+/**
+ * Video Analytics DTO
+ * Location: src/main/java/com/videoanalytics/video/dto/VideoAnalytics.java
+ *
+ * Performance metrics for a single video, either for the last month or for a
+ * requested period.
+ */
+package com.videoanalytics.video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VideoAnalytics {
+
+    private Long videoId;
+    private String title;
+    private long totalViews;
+    private long totalLikes;
+
+    // Approximate distinct viewers, estimated from HyperLogLog sketches
+    private long uniqueViewers;
+
+    // Average watch duration in seconds
+    private double averageWatchDuration;
+
+    // Percentage of sessions that watched at least 90% of the video
+    private double completionRate;
+
+    // Session count per device type
+    private Map<String, Long> deviceDistribution;
+
+    // Buffer events, quality switches and bitrate averages
+    private Map<String, Double> qualityMetrics;
+
+    private LocalDateTime periodStart;
+    private LocalDateTime periodEnd;
+}
@@ -0,0 +1,101 @@
+/**
+ * Abstract Video Event Bus
+ * Location: src/main/java/com/videoanalytics/video/events/AbstractVideoEventBus.java
+ *
+ * Shared publishing and delivery for the event bus implementations. Publishing
+ * waits for the surrounding transaction to commit; delivery hands an event to
+ * every consumer, and one consumer failing does not keep it from the others.
+ * Transports that can redeliver deliver to the shared-state consumers separately
+ * and get their failure back once all of them had the event.
+ */
+package com.videoanalytics.video.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+@Slf4j
+public abstract class AbstractVideoEventBus implements VideoEventPublisher {
+
+    private final List<VideoEventConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+
+    protected AbstractVideoEventBus(List<VideoEventConsumer> consumers, MeterRegistry meterRegistry) {
+        this.consumers = consumers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(VideoEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    /**
+     * Hands a committed event to the transport.
+     */
+    protected abstract void send(VideoEvent event);
+
+    /**
+     * Delivers an event to every consumer.
+     */
+    protected void deliver(VideoEvent event) {
+        deliver(event, consumer -> true);
+    }
+
+    /**
+     * Delivers an event to the consumers that keep their state in this node's memory.
+     */
+    protected void deliverNodeLocal(VideoEvent event) {
+        deliver(event, VideoEventConsumer::isNodeLocal);
+    }
+
+    /**
+     * Delivers an event to the consumers of shared state and rethrows the first
+     * failure, so the transport redelivers it. These consumers are idempotent, so
+     * the ones that succeeded may see it again.
+     */
+    protected void deliverShared(VideoEvent event) {
+        RuntimeException failure = deliver(event, consumer -> !consumer.isNodeLocal());
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Helper methods
+
+    private RuntimeException deliver(VideoEvent event, Predicate<VideoEventConsumer> filter) {
+        RuntimeException firstFailure = null;
+        for (VideoEventConsumer consumer : consumers) {
+            if (!filter.test(consumer)) {
+                continue;
+            }
+            try {
+                consumer.consume(event);
+            } catch (RuntimeException e) {
+                String name = ClassUtils.getUserClass(consumer).getSimpleName();
+                meterRegistry.counter("events.consumer.failures",
+                        "consumer", name, "type", event.getClass().getSimpleName()).increment();
+                log.warn("{} failed to consume {} for video ID: {}", name,
+                        event.getClass().getSimpleName(), event.getVideoId(), e);
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        return firstFailure;
+    }
+}
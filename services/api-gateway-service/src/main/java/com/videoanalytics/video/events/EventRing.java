@@ -0,0 +1,95 @@
+/**
+ * Event Ring
+ * Location: src/main/java/com/videoanalytics/video/events/EventRing.java
+ *
+ * Bounded lock-free ring buffer with many producers and a single consumer. Every
+ * slot carries a sequence number: a producer claims the next position with one
+ * compare-and-set on the tail and publishes its event by advancing the slot's
+ * sequence, and the consumer takes a slot once its sequence shows it is full.
+ * Producers never wait for each other beyond a failed compare-and-set, and a full
+ * ring is reported to the caller instead of blocking.
+ */
+package com.videoanalytics.video.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class EventRing {
+
+    private final int mask;
+    private final AtomicReferenceArray<VideoEvent> slots;
+
+    // Position + 1 once the slot for that position holds an event, position + capacity
+    // once the consumer has emptied it again
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only written by the consumer thread; volatile so size() can be read elsewhere
+    private volatile long head;
+
+    public EventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an event, or returns false if the ring is full.
+     */
+    public boolean offer(VideoEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // The consumer has not emptied this slot since the last lap
+                return false;
+            } else {
+                // Another producer claimed this position first
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest event, or returns null if there is none yet. Must only be
+     * called from the consumer thread.
+     */
+    public VideoEvent poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        VideoEvent event = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    /**
+     * Events waiting to be consumed; approximate while producers are active.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
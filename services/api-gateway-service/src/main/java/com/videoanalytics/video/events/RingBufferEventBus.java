@@ -0,0 +1,139 @@
+/**
+ * Ring Buffer Event Bus
+ * Location: src/main/java/com/videoanalytics/video/events/RingBufferEventBus.java
+ *
+ * In-process event bus, used unless events.bus is "kafka". Events are spread over a
+ * fixed number of partitions by video ID; each partition is a lock-free ring with
+ * one consumer thread, so publishing costs the request thread a compare-and-set and
+ * the events of a video are consumed in order. When a ring stays full for longer
+ * than the publish timeout the event is dropped and counted rather than slowing
+ * the write path down further. Events still in the rings on shutdown are consumed
+ * before the application context closes; events of a crashed node are lost.
+ */
+package com.videoanalytics.video.events;
+
+import com.videoanalytics.video.config.EventsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@ConditionalOnProperty(name = "events.bus", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class RingBufferEventBus extends AbstractVideoEventBus {
+
+    // Spreads sequential video IDs over the partitions
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    // Empty polls a consumer spins through before it starts parking
+    private static final int IDLE_SPINS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final EventRing[] rings;
+    private final Thread[] consumerThreads;
+    private final long publishTimeoutNanos;
+    private final Counter eventsPublished;
+    private final Counter eventsDropped;
+
+    private volatile boolean running = true;
+
+    public RingBufferEventBus(List<VideoEventConsumer> consumers, EventsProperties eventsProperties,
+                              MeterRegistry meterRegistry) {
+        super(consumers, meterRegistry);
+        EventsProperties.Ring settings = eventsProperties.getRing();
+        this.rings = new EventRing[settings.getPartitions()];
+        this.consumerThreads = new Thread[settings.getPartitions()];
+        this.publishTimeoutNanos = settings.getPublishTimeout().toNanos();
+        this.eventsPublished = meterRegistry.counter("events.bus.published");
+        this.eventsDropped = meterRegistry.counter("events.bus.dropped");
+
+        for (int partition = 0; partition < rings.length; partition++) {
+            rings[partition] = new EventRing(settings.getCapacity());
+            meterRegistry.gauge("events.bus.backlog", Tags.of("partition", String.valueOf(partition)),
+                    rings[partition], EventRing::size);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int partition = 0; partition < rings.length; partition++) {
+            EventRing ring = rings[partition];
+            Thread thread = new Thread(() -> consume(ring), "video-events-" + partition);
+            thread.setDaemon(true);
+            consumerThreads[partition] = thread;
+            thread.start();
+        }
+        log.info("Started in-process event bus with {} partitions of {} events",
+                rings.length, rings[0].capacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : consumerThreads) {
+            LockSupport.unpark(thread);
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        log.info("Stopped in-process event bus");
+    }
+
+    @Override
+    protected void send(VideoEvent event) {
+        EventRing ring = rings[partitionOf(event.getPartitionKey())];
+        if (ring.offer(event)) {
+            eventsPublished.increment();
+            return;
+        }
+
+        // The consumer is behind; give it a moment before giving up on the event
+        long deadline = System.nanoTime() + publishTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (ring.offer(event)) {
+                eventsPublished.increment();
+                return;
+            }
+        }
+        eventsDropped.increment();
+        log.debug("Dropped {} for video ID: {}, its partition is full",
+                event.getClass().getSimpleName(), event.getVideoId());
+    }
+
+    int partitionOf(long partitionKey) {
+        return Math.floorMod(Long.hashCode(partitionKey * GOLDEN_RATIO), rings.length);
+    }
+
+    // Helper methods
+
+    private void consume(EventRing ring) {
+        int idlePolls = 0;
+        while (true) {
+            VideoEvent event = ring.poll();
+            if (event != null) {
+                idlePolls = 0;
+                deliver(event);
+                continue;
+            }
+            // Only stops once the ring is empty, so accepted events are not lost on shutdown
+            if (!running) {
+                return;
+            }
+            if (++idlePolls < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+}
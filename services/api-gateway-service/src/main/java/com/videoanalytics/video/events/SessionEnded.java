@@ -0,0 +1,33 @@
+/**
+ * Session Ended Event
+ * Location: src/main/java/com/videoanalytics/video/events/SessionEnded.java
+ *
+ * A session ended and its final state is committed. Consumers that need more
+ * than the fields below read the session itself.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SessionEnded extends VideoEvent {
+
+    private Long sessionId;
+    private String deviceType;
+    private LocalDateTime startedAt;
+    private int bufferEvents;
+
+    public SessionEnded(Long sessionId, Long videoId, Long userId, String deviceType,
+                        LocalDateTime startedAt, int bufferEvents) {
+        super(videoId, userId);
+        this.sessionId = sessionId;
+        this.deviceType = deviceType;
+        this.startedAt = startedAt;
+        this.bufferEvents = bufferEvents;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Session Started Event
+ * Location: src/main/java/com/videoanalytics/video/events/SessionStarted.java
+ *
+ * A viewer started a session on a video.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SessionStarted extends VideoEvent {
+
+    private Long sessionId;
+    private String deviceType;
+
+    public SessionStarted(Long sessionId, Long videoId, Long userId, String deviceType) {
+        super(videoId, userId);
+        this.sessionId = sessionId;
+        this.deviceType = deviceType;
+    }
+}
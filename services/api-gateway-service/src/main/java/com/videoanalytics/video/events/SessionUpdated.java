@@ -0,0 +1,32 @@
+/**
+ * Session Updated Event
+ * Location: src/main/java/com/videoanalytics/video/events/SessionUpdated.java
+ *
+ * A player reported progress on a live session.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SessionUpdated extends VideoEvent {
+
+    private Long sessionId;
+    private Duration lastPosition;
+    private boolean qualitySwitch;
+    private boolean bufferEvent;
+
+    public SessionUpdated(Long sessionId, Long videoId, Long userId, Duration lastPosition,
+                          boolean qualitySwitch, boolean bufferEvent) {
+        super(videoId, userId);
+        this.sessionId = sessionId;
+        this.lastPosition = lastPosition;
+        this.qualitySwitch = qualitySwitch;
+        this.bufferEvent = bufferEvent;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Video Event
+ * Location: src/main/java/com/videoanalytics/video/events/VideoEvent.java
+ *
+ * Base of the events published by the video and session write paths for the
+ * analytics consumers. Events of one video always go to the same partition, so
+ * they are consumed in the order they were published.
+ */
+package com.videoanalytics.video.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@JsonTypeInfo(use = JsonTypeInfo.Id.SIMPLE_NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(SessionStarted.class),
+        @JsonSubTypes.Type(SessionUpdated.class),
+        @JsonSubTypes.Type(SessionEnded.class),
+        @JsonSubTypes.Type(VideoViewed.class),
+        @JsonSubTypes.Type(VideoLiked.class),
+        @JsonSubTypes.Type(VideoUnliked.class)
+})
+public abstract class VideoEvent {
+
+    private Long videoId;
+
+    // Null for events without a user, e.g. anonymous views
+    private Long userId;
+
+    private LocalDateTime occurredAt;
+
+    protected VideoEvent(Long videoId, Long userId) {
+        this.videoId = videoId;
+        this.userId = userId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public long getPartitionKey() {
+        return videoId;
+    }
+}
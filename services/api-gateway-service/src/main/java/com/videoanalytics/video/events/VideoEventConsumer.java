@@ -0,0 +1,25 @@
+/**
+ * Video Event Consumer
+ * Location: src/main/java/com/videoanalytics/video/events/VideoEventConsumer.java
+ *
+ * Receives every published video event on a bus thread, never on the request
+ * thread that published it. Events of one video arrive in order. In process,
+ * delivery is at most once. Through Kafka, consumers of shared state see each
+ * event on one node and are redelivered an event they failed on, so they must
+ * tolerate both a missed and a repeated event. Node-local consumers see every
+ * event on every node.
+ */
+package com.videoanalytics.video.events;
+
+public interface VideoEventConsumer {
+
+    void consume(VideoEvent event);
+
+    /**
+     * Whether the consumer keeps its state in this node's memory, so it needs every
+     * event rather than its node's share of them.
+     */
+    default boolean isNodeLocal() {
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Video Event Publisher
+ * Location: src/main/java/com/videoanalytics/video/events/VideoEventPublisher.java
+ *
+ * Sends video events to the analytics consumers, in process or through Kafka
+ * depending on events.bus. An event published inside a transaction is sent once
+ * the transaction commits, and not at all if it rolls back.
+ */
+package com.videoanalytics.video.events;
+
+public interface VideoEventPublisher {
+
+    void publish(VideoEvent event);
+}
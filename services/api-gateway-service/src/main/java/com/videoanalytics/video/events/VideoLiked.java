@@ -0,0 +1,18 @@
+/**
+ * Video Liked Event
+ * Location: src/main/java/com/videoanalytics/video/events/VideoLiked.java
+ *
+ * A user liked a video.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VideoLiked extends VideoEvent {
+
+    public VideoLiked(Long videoId, Long userId) {
+        super(videoId, userId);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Video Unliked Event
+ * Location: src/main/java/com/videoanalytics/video/events/VideoUnliked.java
+ *
+ * A user removed a like, together with when the like was made.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VideoUnliked extends VideoEvent {
+
+    private LocalDateTime likedAt;
+
+    public VideoUnliked(Long videoId, Long userId, LocalDateTime likedAt) {
+        super(videoId, userId);
+        this.likedAt = likedAt;
+    }
+}
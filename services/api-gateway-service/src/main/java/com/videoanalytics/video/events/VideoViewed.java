@@ -0,0 +1,18 @@
+/**
+ * Video Viewed Event
+ * Location: src/main/java/com/videoanalytics/video/events/VideoViewed.java
+ *
+ * A video was viewed.
+ */
+package com.videoanalytics.video.events;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VideoViewed extends VideoEvent {
+
+    public VideoViewed(Long videoId) {
+        super(videoId, null);
+    }
+}
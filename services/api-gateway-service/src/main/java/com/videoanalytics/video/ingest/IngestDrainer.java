@@ -0,0 +1,242 @@
+/**
+ * Ingest Drainer
+ * Location: src/main/java/com/videoanalytics/video/ingest/IngestDrainer.java
+ *
+ * Applies the ingest log to the database in large batches, on one connection at a
+ * time however busy the write endpoints are. Views are summed per video and added
+ * to the view counts of a whole batch of videos by a single UPDATE ... FROM
+ * (VALUES ...). Of the likes and unlikes of a user and video in a batch only the
+ * last counts: a like is inserted with its like count increment, an unlike deletes
+ * the like with its decrement, each only if the row changed. The offset the
+ * log has been applied up to is stored in the same transaction as the batch, so
+ * after a crash the drainer resumes from exactly where the last committed batch
+ * ended and no event is applied twice. The log is caught up on startup before the
+ * application reports ready, and once more on shutdown.
+ */
+package com.videoanalytics.video.ingest;
+
+import com.videoanalytics.video.analytics.AnalyticsChangeEvent;
+import com.videoanalytics.video.config.IngestProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class IngestDrainer implements ApplicationRunner {
+
+    // Videos per view count update; two parameters each, well below the driver's limit
+    private static final int VIEWS_PER_STATEMENT = 1000;
+
+    // Only inserted likes raise the count; the direct sequence call uses the first ID of
+    // a fresh block, so it never collides with the IDs Hibernate hands out
+    private static final String LIKE_SQL = "WITH inserted AS (" +
+            "INSERT INTO video_likes (id, video_id, user_id, created_at) " +
+            "SELECT nextval('video_likes_seq'), v.id, ?, ? FROM videos v WHERE v.id = ? " +
+            "ON CONFLICT (video_id, user_id) DO NOTHING RETURNING video_id) " +
+            "UPDATE videos SET like_count = like_count + 1 WHERE id IN (SELECT video_id FROM inserted)";
+
+    private static final String UNLIKE_SQL = "WITH deleted AS (" +
+            "DELETE FROM video_likes WHERE video_id = ? AND user_id = ? RETURNING video_id) " +
+            "UPDATE videos SET like_count = like_count - 1 " +
+            "WHERE id IN (SELECT video_id FROM deleted) AND like_count > 0";
+
+    private static final String READ_OFFSET_SQL =
+            "SELECT committed_offset FROM ingest_log_offsets WHERE log_id = ?";
+
+    private static final String WRITE_OFFSET_SQL = "INSERT INTO ingest_log_offsets (log_id, committed_offset, updated_at) " +
+            "VALUES (?, ?, now()) ON CONFLICT (log_id) DO UPDATE " +
+            "SET committed_offset = EXCLUDED.committed_offset, updated_at = EXCLUDED.updated_at";
+
+    private final IngestLog ingestLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Counter eventsApplied;
+
+    // Held by whichever thread is draining; guards committedOffset
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private Long committedOffset;
+
+    public IngestDrainer(IngestLog ingestLog, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher, IngestProperties ingestProperties,
+                         MeterRegistry meterRegistry) {
+        this.ingestLog = ingestLog;
+        this.jdbcTemplate = jdbcTemplate;
+        // Batches commit on their own, also when a caller drains from inside its transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = ingestProperties.getDrain().getBatchSize();
+        this.eventsApplied = meterRegistry.counter("ingest.drain.applied");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int replayed = drain();
+            log.info("Replayed {} events from ingest log {}", replayed, ingestLog.getLogId());
+        } catch (DataAccessException e) {
+            log.warn("Could not replay ingest log {} on startup", ingestLog.getLogId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ingest.drain.interval:PT1S}")
+    public void drainPeriodically() {
+        drain();
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        // Anything left is replayed on the next start; this only keeps the counts current meanwhile
+        try {
+            int applied = drain();
+            log.info("Applied {} events from ingest log {} on shutdown", applied, ingestLog.getLogId());
+        } catch (DataAccessException e) {
+            log.warn("Could not apply ingest log {} on shutdown", ingestLog.getLogId(), e);
+        }
+    }
+
+    /**
+     * Applies everything appended so far and returns the number of events applied.
+     * Stops at the first batch that fails; it is retried by the next run.
+     */
+    public int drain() {
+        drainLock.lock();
+        try {
+            if (committedOffset == null) {
+                committedOffset = loadCommittedOffset();
+            }
+
+            int applied = 0;
+            List<SegmentedLog.LogRecord> records;
+            do {
+                records = ingestLog.read(committedOffset, batchSize);
+                if (records.isEmpty() || !applyBatch(records)) {
+                    break;
+                }
+                applied += records.size();
+            } while (records.size() == batchSize);
+            return applied;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // Helper methods
+
+    private Long loadCommittedOffset() {
+        List<Long> stored = jdbcTemplate.queryForList(READ_OFFSET_SQL, Long.class, ingestLog.getLogId());
+        return stored.isEmpty() ? ingestLog.getStartOffset() : stored.get(0);
+    }
+
+    private boolean applyBatch(List<SegmentedLog.LogRecord> records) {
+        Map<Long, Integer> viewsByVideo = new HashMap<>();
+        // Views appended by this run, which the log counts as pending until applied
+        Map<Long, Integer> pendingViewsByVideo = new HashMap<>();
+        // Last like or unlike of each video and user pair
+        Map<List<Long>, IngestEvent> likeChanges = new LinkedHashMap<>();
+        for (SegmentedLog.LogRecord record : records) {
+            IngestEvent event;
+            try {
+                event = IngestEvent.decode(record.getPayload());
+            } catch (IllegalArgumentException e) {
+                // Checksummed, so this is a format this version does not know; skip it
+                log.error("Skipping unreadable ingest event at offset {}", record.getOffset(), e);
+                continue;
+            }
+            if (event.getType() == IngestEvent.Type.VIEW) {
+                viewsByVideo.merge(event.getVideoId(), 1, Integer::sum);
+                if (ingestLog.isFromThisRun(record.getOffset())) {
+                    pendingViewsByVideo.merge(event.getVideoId(), 1, Integer::sum);
+                }
+            } else {
+                likeChanges.put(List.of(event.getVideoId(), event.getUserId()), event);
+            }
+        }
+        List<IngestEvent> likes = likeChanges.values().stream()
+                .filter(change -> change.getType() == IngestEvent.Type.LIKE)
+                .toList();
+        List<IngestEvent> unlikes = likeChanges.values().stream()
+                .filter(change -> change.getType() == IngestEvent.Type.UNLIKE)
+                .toList();
+
+        long nextOffset = records.get(records.size() - 1).getNextOffset();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                applyViews(new ArrayList<>(viewsByVideo.entrySet()));
+                jdbcTemplate.batchUpdate(LIKE_SQL, likes, batchSize, (statement, like) -> {
+                    statement.setLong(1, like.getUserId());
+                    // Local time, like the @CreationTimestamp of likes saved through JPA
+                    statement.setObject(2, LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(like.getOccurredAtMillis()), ZoneId.systemDefault()));
+                    statement.setLong(3, like.getVideoId());
+                });
+                jdbcTemplate.batchUpdate(UNLIKE_SQL, unlikes, batchSize, (statement, unlike) -> {
+                    statement.setLong(1, unlike.getVideoId());
+                    statement.setLong(2, unlike.getUserId());
+                });
+                jdbcTemplate.update(WRITE_OFFSET_SQL, ingestLog.getLogId(), nextOffset);
+
+                // Delivered after commit, when the changes are visible to the analytics reads
+                likeChanges.values().forEach(change -> eventPublisher.publishEvent(
+                        new AnalyticsChangeEvent(change.getVideoId(), change.getUserId())));
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not apply {} ingest events from offset {}", records.size(), committedOffset, e);
+            return false;
+        }
+
+        committedOffset = nextOffset;
+        ingestLog.applied(nextOffset);
+        likeChanges.values().forEach(change ->
+                ingestLog.likeApplied(change.getVideoId(), change.getUserId(), nextOffset));
+        pendingViewsByVideo.forEach(ingestLog::viewsApplied);
+        eventsApplied.increment(records.size());
+        log.debug("Applied {} ingest events up to offset {}", records.size(), nextOffset);
+        return true;
+    }
+
+    private void applyViews(List<Map.Entry<Long, Integer>> viewsByVideo) {
+        for (int from = 0; from < viewsByVideo.size(); from += VIEWS_PER_STATEMENT) {
+            List<Map.Entry<Long, Integer>> chunk =
+                    viewsByVideo.subList(from, Math.min(from + VIEWS_PER_STATEMENT, viewsByVideo.size()));
+            Object[] parameters = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                parameters[2 * i] = chunk.get(i).getKey();
+                parameters[2 * i + 1] = chunk.get(i).getValue();
+            }
+            jdbcTemplate.update(viewsSql(chunk.size()), parameters);
+        }
+    }
+
+    private static String viewsSql(int videos) {
+        return "UPDATE videos v SET view_count = v.view_count + d.views FROM (VALUES " +
+                String.join(", ", Collections.nCopies(videos, "(CAST(? AS bigint), CAST(? AS integer))")) +
+                ") AS d(id, views) WHERE v.id = d.id";
+    }
+}
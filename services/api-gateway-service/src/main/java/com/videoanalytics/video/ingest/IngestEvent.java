@@ -0,0 +1,82 @@
+/**
+ * Ingest Event
+ * Location: src/main/java/com/videoanalytics/video/ingest/IngestEvent.java
+ *
+ * A write accepted into the ingest log, in its fixed 25-byte log form: a type
+ * code, the video, the user (0 when there is none) and when it happened.
+ */
+package com.videoanalytics.video.ingest;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+@Getter
+public final class IngestEvent {
+
+    private static final int ENCODED_BYTES = 1 + 3 * Long.BYTES;
+
+    private final Type type;
+    private final long videoId;
+    private final long userId;
+    private final long occurredAtMillis;
+
+    private IngestEvent(Type type, long videoId, long userId, long occurredAtMillis) {
+        this.type = type;
+        this.videoId = videoId;
+        this.userId = userId;
+        this.occurredAtMillis = occurredAtMillis;
+    }
+
+    public static IngestEvent view(long videoId, long occurredAtMillis) {
+        return new IngestEvent(Type.VIEW, videoId, 0, occurredAtMillis);
+    }
+
+    public static IngestEvent like(long videoId, long userId, long occurredAtMillis) {
+        return new IngestEvent(Type.LIKE, videoId, userId, occurredAtMillis);
+    }
+
+    public static IngestEvent unlike(long videoId, long userId, long occurredAtMillis) {
+        return new IngestEvent(Type.UNLIKE, videoId, userId, occurredAtMillis);
+    }
+
+    public byte[] encode() {
+        return ByteBuffer.allocate(ENCODED_BYTES)
+                .put(type.code)
+                .putLong(videoId)
+                .putLong(userId)
+                .putLong(occurredAtMillis)
+                .array();
+    }
+
+    public static IngestEvent decode(byte[] payload) {
+        if (payload.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Unexpected event size: " + payload.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        Type type = Type.of(buffer.get());
+        return new IngestEvent(type, buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    // Codes are part of the log format and must not change
+    public enum Type {
+        VIEW((byte) 1),
+        LIKE((byte) 2),
+        UNLIKE((byte) 3);
+
+        private final byte code;
+
+        Type(byte code) {
+            this.code = code;
+        }
+
+        static Type of(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown event type: " + code);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Ingest Log
+ * Location: src/main/java/com/videoanalytics/video/ingest/IngestLog.java
+ *
+ * This node's durable log of accepted views and likes. Writes are appended to a
+ * memory-mapped segmented log and acknowledged without touching the database; the
+ * IngestDrainer applies them in large batches. Appended events are forced to disk
+ * on a short interval, so a crash loses at most the events since the last force.
+ * The log has a stable ID, kept in its directory, under which the drainer records
+ * how far it has applied it.
+ *
+ * Likes and unlikes are appended in the order they were accepted and applied in
+ * that order. The latest one of each user and video that is not applied yet is
+ * tracked in memory, so a repeated like is still refused and the user's own like
+ * or unlike is visible before it reaches the database. Views
+ * waiting to be applied are counted per video in striped counters, so the view
+ * count this node reports includes them. Other nodes' waiting views show up once
+ * their drainers apply them.
+ */
+package com.videoanalytics.video.ingest;
+
+import com.videoanalytics.video.config.IngestProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class IngestLog {
+
+    private static final String ID_FILE = "log.id";
+
+    private final SegmentedLog segmentedLog;
+    private final String logId;
+    private final Clock clock = Clock.systemUTC();
+
+    // Records from before this offset were appended by an earlier run and are not in pendingViews
+    private final long openedAtOffset;
+
+    // Views appended but not applied yet, per video
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    // Latest like or unlike not applied yet, by video and user ID pair
+    private final Map<List<Long>, PendingLike> pendingLikes = new ConcurrentHashMap<>();
+
+    // Offset the drainer has applied the log up to
+    private volatile long appliedThrough;
+
+    private final Counter viewsAppended;
+    private final Counter likesAppended;
+    private final Counter unlikesAppended;
+
+    public IngestLog(IngestProperties ingestProperties, MeterRegistry meterRegistry) throws IOException {
+        IngestProperties.Log settings = ingestProperties.getLog();
+        Path directory = Paths.get(settings.getDirectory());
+        this.segmentedLog = new SegmentedLog(directory, (int) settings.getSegmentSize().toBytes());
+        this.logId = readOrCreateId(directory.resolve(ID_FILE));
+        this.openedAtOffset = this.segmentedLog.getEndOffset();
+
+        this.viewsAppended = meterRegistry.counter("ingest.log.appended", "type", "view");
+        this.likesAppended = meterRegistry.counter("ingest.log.appended", "type", "like");
+        this.unlikesAppended = meterRegistry.counter("ingest.log.appended", "type", "unlike");
+        meterRegistry.gauge("ingest.log.segments", this.segmentedLog, SegmentedLog::getSegmentCount);
+
+        log.info("Opened ingest log {} in {} at offsets {}..{}",
+                logId, directory, this.segmentedLog.getStartOffset(), this.segmentedLog.getEndOffset());
+    }
+
+    public void recordView(Long videoId) {
+        // Counted as pending before it is appended, so the drainer never applies a view
+        // the count has not seen yet
+        pendingViews.computeIfAbsent(videoId, id -> new LongAdder()).increment();
+        try {
+            append(IngestEvent.view(videoId, clock.millis()));
+        } catch (RuntimeException e) {
+            viewsApplied(videoId, 1);
+            throw e;
+        }
+        viewsAppended.increment();
+    }
+
+    /**
+     * Views of a video accepted by this node and not in its view_count yet.
+     */
+    public long getPendingViews(Long videoId) {
+        LongAdder pending = pendingViews.get(videoId);
+        return pending != null ? Math.max(0, pending.sum()) : 0;
+    }
+
+    public void recordLike(Long videoId, Long userId) {
+        recordLikeChange(IngestEvent.like(videoId, userId, clock.millis()), true);
+        likesAppended.increment();
+    }
+
+    public void recordUnlike(Long videoId, Long userId) {
+        recordLikeChange(IngestEvent.unlike(videoId, userId, clock.millis()), false);
+        unlikesAppended.increment();
+    }
+
+    /**
+     * Whether the user's latest like or unlike of the video that is not applied yet
+     * was a like, or empty if the database is up to date for the pair.
+     */
+    public Optional<Boolean> getPendingLike(Long videoId, Long userId) {
+        return Optional.ofNullable(pendingLikes.get(List.of(videoId, userId))).map(PendingLike::isLiked);
+    }
+
+    @Scheduled(fixedDelayString = "${ingest.log.fsync-interval:PT0.1S}")
+    public void force() {
+        segmentedLog.force();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        segmentedLog.close();
+        log.info("Closed ingest log {}", logId);
+    }
+
+    String getLogId() {
+        return logId;
+    }
+
+    long getStartOffset() {
+        return segmentedLog.getStartOffset();
+    }
+
+    List<SegmentedLog.LogRecord> read(long fromOffset, int maxRecords) {
+        return segmentedLog.read(fromOffset, maxRecords);
+    }
+
+    // Called by the drainer once the records before an offset are in the database, before
+    // it releases their pending likes
+    void applied(long offset) {
+        appliedThrough = offset;
+        try {
+            segmentedLog.deleteBefore(offset);
+        } catch (IOException e) {
+            log.warn("Could not delete applied ingest log segments", e);
+        }
+    }
+
+    // Forgets the pair's pending like or unlike if it is before the applied offset
+    void likeApplied(Long videoId, Long userId, long appliedOffset) {
+        pendingLikes.computeIfPresent(List.of(videoId, userId),
+                (pair, pending) -> pending.getOffset() < appliedOffset ? null : pending);
+    }
+
+    boolean isFromThisRun(long offset) {
+        return offset >= openedAtOffset;
+    }
+
+    // Called by the drainer once a video's views are in its view_count
+    void viewsApplied(Long videoId, long views) {
+        // A view counted into an adder just as it is removed goes uncounted until it is
+        // applied; views are counted before they can be applied, so none is left behind
+        pendingViews.computeIfPresent(videoId, (id, pending) -> {
+            pending.add(-views);
+            return pending.sum() > 0 ? pending : null;
+        });
+    }
+
+    // Helper methods
+
+    private long append(IngestEvent event) {
+        try {
+            return segmentedLog.append(event.encode());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to ingest log", e);
+        }
+    }
+
+    private void recordLikeChange(IngestEvent event, boolean liked) {
+        List<Long> pair = List.of(event.getVideoId(), event.getUserId());
+        PendingLike pending = new PendingLike(append(event), liked);
+        pendingLikes.merge(pair, pending, (current, next) -> next.getOffset() > current.getOffset() ? next : current);
+
+        // The drainer may have applied the record before the pending state was visible to
+        // it; it advances appliedThrough before releasing pending likes, so this sees it
+        if (pending.getOffset() < appliedThrough) {
+            pendingLikes.remove(pair, pending);
+        }
+    }
+
+    private static String readOrCreateId(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(file, id, StandardCharsets.UTF_8);
+        return id;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class PendingLike {
+        private final long offset;
+        private final boolean liked;
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * Segmented Log
+ * Location: src/main/java/com/videoanalytics/video/ingest/SegmentedLog.java
+ *
+ * Append-only log of byte records in memory-mapped segment files. Each record is
+ * its payload length, the CRC32C of the payload and the payload itself. The length
+ * is written last, so a record is only visible once complete, and a record torn by
+ * a crash fails its checksum. Offsets are byte positions across the whole log:
+ * each segment starts at the offset where the previous one's records end, so the
+ * offset after a record is also the offset of the next one. Segment files are
+ * preallocated and zero-filled, and a zero length marks the end of a segment.
+ *
+ * Appends become durable once force() returns. On open, the last segment is
+ * scanned and anything after its last valid record is discarded.
+ */
+package com.videoanalytics.video.ingest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+public class SegmentedLog implements Closeable {
+
+    // Length and checksum in front of every payload
+    static final int HEADER_BYTES = 8;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private boolean unforced;
+
+    public SegmentedLog(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    long baseOffset = Long.parseLong(name.group(1));
+                    segments.put(baseOffset, Segment.open(file, baseOffset));
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            active = createSegment(0);
+        } else {
+            active = segments.lastEntry().getValue();
+            active.recover();
+        }
+    }
+
+    /**
+     * Appends a record and returns its offset.
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (payload.length == 0 || recordBytes > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a segment");
+        }
+        if (active.writePosition + recordBytes > active.buffer.capacity()) {
+            roll();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        int position = active.writePosition;
+        active.buffer.putInt(position + 4, (int) crc.getValue());
+        active.buffer.put(position + HEADER_BYTES, payload);
+        active.buffer.putInt(position, payload.length);
+        active.writePosition = position + recordBytes;
+        unforced = true;
+        return active.baseOffset + position;
+    }
+
+    /**
+     * Reads up to maxRecords complete records, starting at the given offset. An offset
+     * below the oldest remaining segment starts at that segment.
+     */
+    public synchronized List<LogRecord> read(long fromOffset, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>();
+        Map.Entry<Long, Segment> entry = segments.floorEntry(fromOffset);
+        if (entry == null) {
+            entry = segments.firstEntry();
+            fromOffset = entry.getKey();
+        }
+
+        Segment segment = entry.getValue();
+        int position = (int) (fromOffset - segment.baseOffset);
+        while (records.size() < maxRecords) {
+            byte[] payload = segment.readAt(position);
+            if (payload == null) {
+                // Continue in the next segment, which starts where this one ends
+                Map.Entry<Long, Segment> next = segments.higherEntry(segment.baseOffset);
+                if (next == null) {
+                    break;
+                }
+                segment = next.getValue();
+                position = 0;
+                continue;
+            }
+            long offset = segment.baseOffset + position;
+            position += HEADER_BYTES + payload.length;
+            records.add(new LogRecord(offset, segment.baseOffset + position, payload));
+        }
+        return records;
+    }
+
+    /**
+     * Writes appended records to disk.
+     */
+    public synchronized void force() {
+        if (unforced) {
+            active.buffer.force();
+            unforced = false;
+        }
+    }
+
+    /**
+     * Deletes the segments whose records all lie before the given offset.
+     */
+    public synchronized void deleteBefore(long offset) throws IOException {
+        while (segments.size() > 1) {
+            Map.Entry<Long, Segment> oldest = segments.firstEntry();
+            Long nextBase = segments.higherKey(oldest.getKey());
+            if (nextBase > offset) {
+                return;
+            }
+            segments.remove(oldest.getKey());
+            oldest.getValue().delete();
+        }
+    }
+
+    public synchronized long getStartOffset() {
+        return segments.firstKey();
+    }
+
+    public synchronized long getEndOffset() {
+        return active.baseOffset + active.writePosition;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    // Helper methods
+
+    private void roll() throws IOException {
+        active.buffer.force();
+        unforced = false;
+        long baseOffset = active.baseOffset + active.writePosition;
+        if (active.writePosition == 0) {
+            // A segment without records, e.g. one left smaller by an earlier setting,
+            // would share its file name with the next
+            segments.remove(active.baseOffset);
+            active.delete();
+        }
+        active = createSegment(baseOffset);
+    }
+
+    private Segment createSegment(long baseOffset) throws IOException {
+        Path file = directory.resolve(String.format("segment-%020d.log", baseOffset));
+        Segment segment = Segment.create(file, baseOffset, segmentSize);
+
+        // Make the new file's directory entry durable too
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync log directory {}", directory, e);
+        }
+
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    // One record and the offset of the record after it
+    @Getter
+    public static final class LogRecord {
+        private final long offset;
+        private final long nextOffset;
+        private final byte[] payload;
+
+        LogRecord(long offset, long nextOffset, byte[] payload) {
+            this.offset = offset;
+            this.nextOffset = nextOffset;
+            this.payload = payload;
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long baseOffset;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(Path file, long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path file, long baseOffset, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(file, baseOffset, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        static Segment open(Path file, long baseOffset) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(file, baseOffset, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            // Closed segments are only read; the last one is recovered before writing
+            segment.writePosition = segment.buffer.capacity();
+            return segment;
+        }
+
+        /**
+         * The payload of the record at a position, or null at the end of the segment.
+         */
+        byte[] readAt(int position) {
+            if (position + HEADER_BYTES > buffer.capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            return (int) crc.getValue() == buffer.getInt(position + 4) ? payload : null;
+        }
+
+        // Finds the end of the valid records and clears whatever follows
+        void recover() {
+            int position = 0;
+            byte[] payload;
+            while ((payload = readAt(position)) != null) {
+                position += HEADER_BYTES + payload.length;
+            }
+            writePosition = position;
+
+            int cleared = 0;
+            for (int i = position; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                    cleared++;
+                }
+            }
+            if (cleared > 0) {
+                buffer.force();
+                log.warn("Discarded an incomplete record at offset {} of {}", baseOffset + position, file);
+            }
+        }
+
+        void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
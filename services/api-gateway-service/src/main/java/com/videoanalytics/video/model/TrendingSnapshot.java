@@ -0,0 +1,41 @@
+/**
+ * Trending Snapshot Entity
+ * Location: src/main/java/com/videoanalytics/video/model/TrendingSnapshot.java
+ *
+ * Periodic snapshot of one in-memory trending tracker, so decayed scores survive
+ * a restart. Scores are stored as a single serialized array per tracker. The heavy
+ * hitter windows are stored here too, as their serialized panes.
+ */
+package com.videoanalytics.video.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trending_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TrendingSnapshot {
+    // Tracker name, e.g. "views", "likes" or "heavy-hitters:likes"
+    @Id
+    @Column(name = "tracker", nullable = false)
+    private String tracker;
+
+    // (video ID, decayed score) pairs as of takenAt, or the heavy hitter panes
+    @Column(name = "scores", nullable = false)
+    private byte[] scores;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    public TrendingSnapshot(String tracker, byte[] scores, LocalDateTime takenAt) {
+        this.tracker = tracker;
+        this.scores = scores;
+        this.takenAt = takenAt;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Hourly User Session Rollup Entity
+ * Location: src/main/java/com/videoanalytics/video/model/UserSessionRollup.java
+ *
+ * Per-user counterpart of ViewSessionRollup. It backs the engagement metrics that
+ * can be summed across hours: session count, watch time and device preferences.
+ */
+package com.videoanalytics.video.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_session_rollups_hourly")
+@IdClass(UserSessionRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserSessionRollup {
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "device_type", nullable = false)
+    private String deviceType;
+
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+
+    @Column(name = "timed_sessions", nullable = false)
+    private long timedSessions;
+
+    // Watch duration in seconds
+    @Column(name = "watch_seconds_sum", nullable = false)
+    private double watchSecondsSum;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
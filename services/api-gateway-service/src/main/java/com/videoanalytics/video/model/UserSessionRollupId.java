@@ -0,0 +1,25 @@
+/**
+ * User Session Rollup Key
+ * Location: src/main/java/com/videoanalytics/video/model/UserSessionRollupId.java
+ *
+ * Composite key of the hourly per-user session rollup: (user_id, bucket_start, device_type).
+ */
+package com.videoanalytics.video.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserSessionRollupId implements Serializable {
+    private Long userId;
+    private LocalDateTime bucketStart;
+    private String deviceType;
+}
@@ -14,6 +14,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -29,7 +30,8 @@ import java.util.Set;
 @NoArgsConstructor
 public class Video {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "videos_seq")
+    @SequenceGenerator(name = "videos_seq", sequenceName = "videos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -80,6 +82,13 @@ public class Video {
     @Column(name = "uploaded_by", nullable = false)
     private Long uploadedBy;
 
+    // Incremented on every entity update; cached metadata snapshots are invalidated by it.
+    // The counters are changed with bulk updates and do not touch it.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // Views and engagement metrics
     @Column(name = "view_count")
     private Long viewCount = 0L;
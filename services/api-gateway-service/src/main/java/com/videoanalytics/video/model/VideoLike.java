@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class VideoLike {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "video_likes_seq")
+    @SequenceGenerator(name = "video_likes_seq", sequenceName = "video_likes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
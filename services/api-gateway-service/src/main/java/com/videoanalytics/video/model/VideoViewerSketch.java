@@ -0,0 +1,36 @@
+/**
+ * Video Viewer Sketch Entity
+ * Location: src/main/java/com/videoanalytics/video/model/VideoViewerSketch.java
+ *
+ * Serialized HyperLogLog sketch of the users who watched one video on one day.
+ * Sketches merge across days and across videos, which gives approximate unique
+ * viewer counts for any date range and for all videos of a creator.
+ */
+package com.videoanalytics.video.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "video_viewer_sketches")
+@IdClass(VideoViewerSketchId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class VideoViewerSketch {
+    @Id
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Id
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    // HyperLogLog registers in their compact serialized form
+    @Column(name = "sketch", nullable = false)
+    private byte[] sketch;
+}
@@ -0,0 +1,24 @@
+/**
+ * Video Viewer Sketch Key
+ * Location: src/main/java/com/videoanalytics/video/model/VideoViewerSketchId.java
+ *
+ * Composite key of the daily unique-viewer sketch: (video_id, day).
+ */
+package com.videoanalytics.video.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class VideoViewerSketchId implements Serializable {
+    private Long videoId;
+    private LocalDate day;
+}
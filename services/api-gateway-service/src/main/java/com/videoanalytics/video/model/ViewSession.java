@@ -18,13 +18,24 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "view_sessions")
+@Table(name = "view_sessions",
+        indexes = {
+                // Supports the per-video, time-bounded analytics queries
+                @Index(name = "idx_view_sessions_video_started", columnList = "video_id, started_at"),
+                // Supports the per-user engagement queries
+                @Index(name = "idx_view_sessions_user_started", columnList = "user_id, started_at"),
+                // Supports the sweep for ended sessions whose rollup event was lost
+                @Index(name = "idx_view_sessions_rolled_up_ended", columnList = "rolled_up, ended_at"),
+                // Supports the hot store refresh of recently ended sessions
+                @Index(name = "idx_view_sessions_ended", columnList = "ended_at")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 public class ViewSession {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "view_sessions_seq")
+    @SequenceGenerator(name = "view_sessions_seq", sequenceName = "view_sessions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -69,6 +80,10 @@ public class ViewSession {
     @Column(name = "average_bitrate")
     private Long averageBitrate;
 
+    // Set once the ended session is in the rollups, only ever by claimRollup
+    @Column(name = "rolled_up", nullable = false, updatable = false)
+    private Boolean rolledUp = false;
+
     public ViewSession(Video video, Long userId, String deviceType, String platform, String ipAddress) {
         this.video = video;
         this.userId = userId;
@@ -0,0 +1,82 @@
+/**
+ * Hourly View Session Rollup Entity
+ * Location: src/main/java/com/videoanalytics/video/model/ViewSessionRollup.java
+ *
+ * Pre-aggregated metrics for the sessions of one video that started within one hour
+ * on one device type. Rows are maintained incrementally when sessions end, so period
+ * analytics can sum a few buckets instead of scanning raw view sessions. Watch
+ * duration and bitrate distributions are kept alongside as mergeable sketches.
+ */
+package com.videoanalytics.video.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "view_session_rollups_hourly")
+@IdClass(ViewSessionRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ViewSessionRollup {
+    @Id
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    // Start of the hour the sessions started in
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "device_type", nullable = false)
+    private String deviceType;
+
+    // Session counts
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+
+    @Column(name = "timed_sessions", nullable = false)
+    private long timedSessions;
+
+    @Column(name = "completed_views", nullable = false)
+    private long completedViews;
+
+    // Watch duration in seconds
+    @Column(name = "watch_seconds_sum", nullable = false)
+    private double watchSecondsSum;
+
+    @Column(name = "min_watch_seconds")
+    private Double minWatchSeconds;
+
+    @Column(name = "max_watch_seconds")
+    private Double maxWatchSeconds;
+
+    // Quality metrics
+    @Column(name = "buffer_events_sum", nullable = false)
+    private long bufferEventsSum;
+
+    @Column(name = "quality_switches_sum", nullable = false)
+    private long qualitySwitchesSum;
+
+    @Column(name = "bitrate_samples", nullable = false)
+    private long bitrateSamples;
+
+    @Column(name = "bitrate_sum", nullable = false)
+    private double bitrateSum;
+
+    // Serialized QuantileSketch distributions, for percentile queries
+    @Column(name = "watch_seconds_sketch")
+    private byte[] watchSecondsSketch;
+
+    @Column(name = "bitrate_sketch")
+    private byte[] bitrateSketch;
+
+    // Last time a session was folded into this bucket
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+/**
+ * View Session Rollup Key
+ * Location: src/main/java/com/videoanalytics/video/model/ViewSessionRollupId.java
+ *
+ * Composite key of the hourly view session rollup: (video_id, bucket_start, device_type).
+ */
+package com.videoanalytics.video.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ViewSessionRollupId implements Serializable {
+    private Long videoId;
+    private LocalDateTime bucketStart;
+    private String deviceType;
+}
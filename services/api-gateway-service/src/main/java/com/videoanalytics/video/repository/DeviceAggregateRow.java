@@ -0,0 +1,22 @@
+/**
+ * Device Aggregate Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/DeviceAggregateRow.java
+ *
+ * Session metrics summed per device type, as returned by the rollup queries and
+ * the raw edge-hour queries. Rows from both sources merge into a SessionAggregate.
+ */
+package com.videoanalytics.video.repository;
+
+public interface DeviceAggregateRow {
+    String getDeviceType();
+    Long getSessionCount();
+    Long getTimedSessions();
+    Double getWatchSecondsSum();
+    Double getMinWatchSeconds();
+    Double getMaxWatchSeconds();
+    Long getCompletedViews();
+    Long getBufferEventsSum();
+    Long getQualitySwitchesSum();
+    Long getBitrateSamples();
+    Double getBitrateSum();
+}
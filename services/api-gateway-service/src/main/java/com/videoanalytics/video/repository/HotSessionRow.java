@@ -0,0 +1,24 @@
+/**
+ * Hot Session Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/HotSessionRow.java
+ *
+ * The columns of an ended session that the in-memory hot store keeps, as loaded
+ * when the store is rebuilt on startup.
+ */
+package com.videoanalytics.video.repository;
+
+import java.time.LocalDateTime;
+
+public interface HotSessionRow {
+    Long getId();
+    Long getVideoId();
+    Long getUserId();
+    LocalDateTime getStartedAt();
+    LocalDateTime getEndedAt();
+    Long getWatchMillis();
+    Integer getBufferEvents();
+    Integer getQualitySwitches();
+    Long getAverageBitrate();
+    String getDeviceType();
+    Boolean getCompleted();
+}
@@ -0,0 +1,13 @@
+/**
+ * Rollup Sketch Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/RollupSketchRow.java
+ *
+ * Serialized distribution sketches of one hourly rollup bucket. Either sketch is
+ * null until a session with that value has been recorded.
+ */
+package com.videoanalytics.video.repository;
+
+public interface RollupSketchRow {
+    byte[] getWatchSecondsSketch();
+    byte[] getBitrateSketch();
+}
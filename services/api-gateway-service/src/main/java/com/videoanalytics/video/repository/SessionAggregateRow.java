@@ -0,0 +1,33 @@
+/**
+ * Session Aggregate Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/SessionAggregateRow.java
+ *
+ * One row of the grouped view session aggregate. The query returns a totals row
+ * (totalRow = 1) plus one row per device type, so every field needed to build
+ * VideoAnalytics comes back from a single round trip without hydrating entities.
+ * Only sums and counts are returned so that rows from different sources can be merged.
+ */
+package com.videoanalytics.video.repository;
+
+public interface SessionAggregateRow {
+    // Video metadata, repeated on every row
+    String getTitle();
+    Long getViewCount();
+    Long getLikeCount();
+
+    // Grouping information
+    String getDeviceType();
+    Integer getTotalRow();
+
+    // Session aggregates
+    Long getSessionCount();
+    Long getTimedSessions();
+    Double getWatchSecondsSum();
+    Double getMinWatchSeconds();
+    Double getMaxWatchSeconds();
+    Long getCompletedViews();
+    Long getBufferEventsSum();
+    Long getQualitySwitchesSum();
+    Long getBitrateSamples();
+    Double getBitrateSum();
+}
@@ -0,0 +1,13 @@
+/**
+ * Session Sample Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/SessionSampleRow.java
+ *
+ * Watch duration and bitrate of a single ended session, used to sketch the partial
+ * edge hours of a period.
+ */
+package com.videoanalytics.video.repository;
+
+public interface SessionSampleRow {
+    Double getWatchSeconds();
+    Long getAverageBitrate();
+}
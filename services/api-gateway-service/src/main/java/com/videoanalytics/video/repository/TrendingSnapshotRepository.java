@@ -0,0 +1,16 @@
+/**
+ * Trending Snapshot Repository Interface
+ * Location: src/main/java/com/videoanalytics/video/repository/TrendingSnapshotRepository.java
+ *
+ * This interface stores the periodic snapshots of the in-memory trending trackers
+ * and heavy hitter windows.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.TrendingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingSnapshotRepository extends JpaRepository<TrendingSnapshot, String> {
+}
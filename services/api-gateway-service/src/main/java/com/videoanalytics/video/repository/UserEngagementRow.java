@@ -0,0 +1,18 @@
+/**
+ * User Engagement Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/UserEngagementRow.java
+ *
+ * One (device type, video) group of a user's ended sessions, plus the user's like
+ * count for the same period. The session columns are null when the period has no
+ * sessions.
+ */
+package com.videoanalytics.video.repository;
+
+public interface UserEngagementRow {
+    Long getLikeCount();
+    String getDeviceType();
+    Long getVideoId();
+    Long getSessionCount();
+    Long getTimedSessions();
+    Double getWatchSecondsSum();
+}
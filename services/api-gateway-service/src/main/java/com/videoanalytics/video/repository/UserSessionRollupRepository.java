@@ -0,0 +1,43 @@
+/**
+ * User Session Rollup Repository Interface
+ * Location: src/main/java/com/videoanalytics/video/repository/UserSessionRollupRepository.java
+ *
+ * This interface maintains and queries the hourly per-user session rollups that
+ * back the user engagement metrics.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.UserSessionRollup;
+import com.videoanalytics.video.model.UserSessionRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserSessionRollupRepository extends JpaRepository<UserSessionRollup, UserSessionRollupId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO user_session_rollups_hourly AS r " +
+            "(user_id, bucket_start, device_type, session_count, timed_sessions, watch_seconds_sum, updated_at) " +
+            "VALUES (:userId, :bucketStart, :deviceType, 1, 1, :watchSeconds, now()) " +
+            "ON CONFLICT (user_id, bucket_start, device_type) DO UPDATE SET " +
+            "session_count = r.session_count + 1, " +
+            "timed_sessions = r.timed_sessions + 1, " +
+            "watch_seconds_sum = r.watch_seconds_sum + EXCLUDED.watch_seconds_sum, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    void recordSession(Long userId, LocalDateTime bucketStart, String deviceType, double watchSeconds);
+
+    // Sums whole buckets in [fromBucket, toBucket) per device type; the video-level
+    // quality columns are not tracked per user and come back as null
+    @Query("SELECT r.deviceType AS deviceType, SUM(r.sessionCount) AS sessionCount, " +
+            "SUM(r.timedSessions) AS timedSessions, SUM(r.watchSecondsSum) AS watchSecondsSum " +
+            "FROM UserSessionRollup r WHERE r.userId = :userId " +
+            "AND r.bucketStart >= :fromBucket AND r.bucketStart < :toBucket " +
+            "GROUP BY r.deviceType")
+    List<DeviceAggregateRow> sumBuckets(Long userId, LocalDateTime fromBucket, LocalDateTime toBucket);
+}
@@ -35,4 +35,12 @@ public interface VideoLikeRepository extends JpaRepository<VideoLike, Long> {
     @Query("SELECT COUNT(vl) FROM VideoLike vl " +
             "WHERE vl.userId = :userId AND vl.createdAt >= :since")
     Long countUserLikesSince(Long userId, LocalDateTime since);
+
+    @Query("SELECT COUNT(vl) FROM VideoLike vl " +
+            "WHERE vl.userId = :userId AND vl.createdAt >= :start AND vl.createdAt < :end")
+    long countUserLikesBetween(Long userId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT COUNT(vl) FROM VideoLike vl " +
+            "WHERE vl.video.id = :videoId AND vl.createdAt >= :start AND vl.createdAt < :end")
+    long countVideoLikesBetween(Long videoId, LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
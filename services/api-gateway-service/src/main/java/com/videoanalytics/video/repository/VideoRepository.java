@@ -25,6 +25,19 @@ import java.util.Set;
 public interface VideoRepository extends JpaRepository<Video, Long> {
     // Basic query methods
     Optional<Video> findByStorageKey(String storageKey);
+
+    // Fetches the tags in the same query instead of a second lazy load
+    @Query("SELECT v FROM Video v LEFT JOIN FETCH v.tags WHERE v.id = :id")
+    Optional<Video> findWithTagsById(Long id);
+
+    @Query("SELECT v.version AS version, v.updatedAt AS updatedAt, v.viewCount AS viewCount, " +
+            "v.likeCount AS likeCount FROM Video v WHERE v.id = :id")
+    Optional<VideoValidatorRow> findValidatorById(Long id);
+
+    // Keyset scan of every ID, for the known video IDs filter
+    @Query("SELECT v.id FROM Video v WHERE v.id > :afterId ORDER BY v.id")
+    List<Long> findIdsAfter(Long afterId, Pageable page);
+
     List<Video> findByStatus(VideoStatus status);
     Page<Video> findByUploadedBy(Long userId, Pageable pageable);
 
@@ -0,0 +1,17 @@
+/**
+ * Video Validator Row Projection
+ * Location: src/main/java/com/videoanalytics/video/repository/VideoValidatorRow.java
+ *
+ * The columns that change whenever a video's API representation changes, used to
+ * answer conditional requests without loading the entity.
+ */
+package com.videoanalytics.video.repository;
+
+import java.time.LocalDateTime;
+
+public interface VideoValidatorRow {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+    Long getViewCount();
+    Long getLikeCount();
+}
@@ -0,0 +1,44 @@
+/**
+ * Video Viewer Sketch Repository Interface
+ * Location: src/main/java/com/videoanalytics/video/repository/VideoViewerSketchRepository.java
+ *
+ * This interface stores the daily unique-viewer sketches and loads the sketches
+ * that need to be merged for a video or creator over a date range.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.VideoViewerSketch;
+import com.videoanalytics.video.model.VideoViewerSketchId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VideoViewerSketchRepository extends JpaRepository<VideoViewerSketch, VideoViewerSketchId> {
+
+    // Creates the day's row if missing so concurrent writers can lock it
+    @Modifying
+    @Query(value = "INSERT INTO video_viewer_sketches (video_id, day, sketch) " +
+            "VALUES (:videoId, :day, :emptySketch) ON CONFLICT (video_id, day) DO NOTHING",
+            nativeQuery = true)
+    void createIfAbsent(Long videoId, LocalDate day, byte[] emptySketch);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM VideoViewerSketch s WHERE s.videoId = :videoId AND s.day = :day")
+    Optional<VideoViewerSketch> findForUpdate(Long videoId, LocalDate day);
+
+    @Query("SELECT s.sketch FROM VideoViewerSketch s " +
+            "WHERE s.videoId = :videoId AND s.day >= :from AND s.day <= :to")
+    List<byte[]> findVideoSketches(Long videoId, LocalDate from, LocalDate to);
+
+    @Query("SELECT s.sketch FROM VideoViewerSketch s WHERE s.day >= :from AND s.day <= :to " +
+            "AND s.videoId IN (SELECT v.id FROM Video v WHERE v.uploadedBy = :creatorId)")
+    List<byte[]> findCreatorSketches(Long creatorId, LocalDate from, LocalDate to);
+}
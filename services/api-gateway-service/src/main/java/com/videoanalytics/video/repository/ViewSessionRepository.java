@@ -11,6 +11,7 @@ import com.videoanalytics.video.model.ViewSession;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -23,10 +24,127 @@ public interface ViewSessionRepository extends JpaRepository<ViewSession, Long>
     Page<ViewSession> findByUserId(Long userId, Pageable pageable);
     List<ViewSession> findByVideoIdAndUserId(Long videoId, Long userId);
 
+    @Query("SELECT MAX(vs.id) FROM ViewSession vs")
+    Long findMaxId();
+
+    // Marks an ended session as rolled up; 0 if it was rolled up already, so a repeated
+    // SessionEnded event or the repair sweep never counts a session twice
+    @Modifying
+    @Query(value = "UPDATE view_sessions SET rolled_up = TRUE " +
+            "WHERE id = :sessionId AND rolled_up = FALSE AND ended_at IS NOT NULL",
+            nativeQuery = true)
+    int claimRollup(Long sessionId);
+
+    @Query("SELECT vs.id FROM ViewSession vs WHERE vs.rolledUp = FALSE AND vs.endedAt < :endedBefore " +
+            "ORDER BY vs.endedAt")
+    List<Long> findUnrolledSessionIds(LocalDateTime endedBefore, Pageable page);
+
     // Analytics queries
     @Query("SELECT vs FROM ViewSession vs WHERE vs.startedAt >= :startDate AND vs.endedAt <= :endDate")
     List<ViewSession> findSessionsInTimeRange(LocalDateTime startDate, LocalDateTime endDate);
 
+    // Video-scoped variant of findSessionsInTimeRange; the predicate on video_id lets the
+    // (video_id, started_at) index bound the scan to that video's own sessions.
+    @Query("SELECT vs FROM ViewSession vs WHERE vs.video.id = :videoId " +
+            "AND vs.startedAt >= :startDate AND vs.endedAt <= :endDate")
+    List<ViewSession> findVideoSessionsInTimeRange(Long videoId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Single-pass aggregate of the ended sessions of a video that started in [startDate, endDate).
+    // Uses the same bucketing rule as the hourly rollups so both sources can be merged. GROUPING SETS yields the
+    // totals row and the per-device rows together; FILTER computes completed views in the same scan.
+    @Query(value = "SELECT v.title AS title, v.view_count AS viewCount, v.like_count AS likeCount, " +
+            "vs.device_type AS deviceType, GROUPING(vs.device_type) AS totalRow, " +
+            "COUNT(vs.id) AS sessionCount, " +
+            "COUNT(vs.watch_duration) AS timedSessions, " +
+            "CAST(COALESCE(SUM(EXTRACT(EPOCH FROM vs.watch_duration)), 0) AS double precision) AS watchSecondsSum, " +
+            "CAST(MIN(EXTRACT(EPOCH FROM vs.watch_duration)) AS double precision) AS minWatchSeconds, " +
+            "CAST(MAX(EXTRACT(EPOCH FROM vs.watch_duration)) AS double precision) AS maxWatchSeconds, " +
+            "COUNT(vs.id) FILTER (WHERE EXTRACT(EPOCH FROM vs.watch_duration) >= " +
+            "EXTRACT(EPOCH FROM v.duration) * :completionThreshold) AS completedViews, " +
+            "CAST(COALESCE(SUM(vs.buffer_events), 0) AS bigint) AS bufferEventsSum, " +
+            "CAST(COALESCE(SUM(vs.quality_switches), 0) AS bigint) AS qualitySwitchesSum, " +
+            "COUNT(vs.average_bitrate) AS bitrateSamples, " +
+            "CAST(COALESCE(SUM(vs.average_bitrate), 0) AS double precision) AS bitrateSum " +
+            "FROM videos v " +
+            "LEFT JOIN view_sessions vs ON vs.video_id = v.id " +
+            "AND vs.started_at >= :startDate AND vs.started_at < :endDate AND vs.ended_at IS NOT NULL " +
+            "WHERE v.id = :videoId " +
+            "GROUP BY GROUPING SETS ((v.id, v.title, v.view_count, v.like_count), " +
+            "(v.id, v.title, v.view_count, v.like_count, vs.device_type))",
+            nativeQuery = true)
+    List<SessionAggregateRow> aggregateVideoSessions(Long videoId, LocalDateTime startDate,
+                                                     LocalDateTime endDate, double completionThreshold);
+
+    // Raw counterpart of ViewSessionRollupRepository.findSketches, used for partial edge hours
+    // and the hours before the rollup watermark
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM vs.watch_duration) AS double precision) AS watchSeconds, " +
+            "vs.average_bitrate AS averageBitrate " +
+            "FROM view_sessions vs WHERE vs.video_id = :videoId " +
+            "AND vs.started_at >= :startDate AND vs.started_at < :endDate AND vs.ended_at IS NOT NULL",
+            nativeQuery = true)
+    List<SessionSampleRow> findVideoSessionSamples(Long videoId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Raw counterpart of UserSessionRollupRepository.sumBuckets, used for partial edge hours
+    // and the hours before the rollup watermark
+    @Query(value = "SELECT COALESCE(vs.device_type, 'unknown') AS deviceType, COUNT(*) AS sessionCount, " +
+            "COUNT(vs.watch_duration) AS timedSessions, " +
+            "CAST(COALESCE(SUM(EXTRACT(EPOCH FROM vs.watch_duration)), 0) AS double precision) AS watchSecondsSum " +
+            "FROM view_sessions vs WHERE vs.user_id = :userId " +
+            "AND vs.started_at >= :startDate AND vs.started_at < :endDate AND vs.ended_at IS NOT NULL " +
+            "GROUP BY COALESCE(vs.device_type, 'unknown')",
+            nativeQuery = true)
+    List<DeviceAggregateRow> aggregateUserSessions(Long userId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Keyset-paginated load of the recent ended sessions for the in-memory hot store
+    @Query(value = "SELECT vs.id AS id, vs.video_id AS videoId, vs.user_id AS userId, " +
+            "vs.started_at AS startedAt, vs.ended_at AS endedAt, " +
+            "CAST(EXTRACT(EPOCH FROM vs.watch_duration) * 1000 AS bigint) AS watchMillis, " +
+            "vs.buffer_events AS bufferEvents, vs.quality_switches AS qualitySwitches, " +
+            "vs.average_bitrate AS averageBitrate, vs.device_type AS deviceType, " +
+            "(EXTRACT(EPOCH FROM vs.watch_duration) >= EXTRACT(EPOCH FROM v.duration) * :completionThreshold) AS completed " +
+            "FROM view_sessions vs JOIN videos v ON v.id = vs.video_id " +
+            "WHERE vs.id > :afterId AND vs.started_at >= :since " +
+            "AND vs.ended_at IS NOT NULL AND vs.watch_duration IS NOT NULL " +
+            "ORDER BY vs.id LIMIT :batchSize",
+            nativeQuery = true)
+    List<HotSessionRow> findEndedSessionsForHotStore(LocalDateTime since, long afterId,
+                                                     double completionThreshold, int batchSize);
+
+    // The same load restricted to the sessions that ended since endedSince, for the hot store refresh
+    @Query(value = "SELECT vs.id AS id, vs.video_id AS videoId, vs.user_id AS userId, " +
+            "vs.started_at AS startedAt, vs.ended_at AS endedAt, " +
+            "CAST(EXTRACT(EPOCH FROM vs.watch_duration) * 1000 AS bigint) AS watchMillis, " +
+            "vs.buffer_events AS bufferEvents, vs.quality_switches AS qualitySwitches, " +
+            "vs.average_bitrate AS averageBitrate, vs.device_type AS deviceType, " +
+            "(EXTRACT(EPOCH FROM vs.watch_duration) >= EXTRACT(EPOCH FROM v.duration) * :completionThreshold) AS completed " +
+            "FROM view_sessions vs JOIN videos v ON v.id = vs.video_id " +
+            "WHERE vs.id > :afterId AND vs.ended_at >= :endedSince AND vs.started_at >= :since " +
+            "AND vs.watch_duration IS NOT NULL " +
+            "ORDER BY vs.id LIMIT :batchSize",
+            nativeQuery = true)
+    List<HotSessionRow> findSessionsEndedSinceForHotStore(LocalDateTime since, LocalDateTime endedSince, long afterId,
+                                                          double completionThreshold, int batchSize);
+
+    // Everything a user engagement partition needs in one round trip: the like count of the
+    // period on every row, and the ended sessions grouped by device and video. The LEFT JOIN
+    // keeps a single row with null session columns when the user watched nothing.
+    @Query(value = "SELECT l.like_count AS likeCount, s.device_type AS deviceType, s.video_id AS videoId, " +
+            "s.session_count AS sessionCount, s.timed_sessions AS timedSessions, s.watch_seconds_sum AS watchSecondsSum " +
+            "FROM (SELECT COUNT(*) AS like_count FROM video_likes vl WHERE vl.user_id = :userId " +
+            "AND vl.created_at >= :startDate AND vl.created_at < :endDate) l " +
+            "LEFT JOIN (SELECT COALESCE(vs.device_type, 'unknown') AS device_type, vs.video_id, " +
+            "COUNT(*) AS session_count, COUNT(vs.watch_duration) AS timed_sessions, " +
+            "CAST(COALESCE(SUM(EXTRACT(EPOCH FROM vs.watch_duration)), 0) AS double precision) AS watch_seconds_sum " +
+            "FROM view_sessions vs WHERE vs.user_id = :userId " +
+            "AND vs.started_at >= :startDate AND vs.started_at < :endDate AND vs.ended_at IS NOT NULL " +
+            "GROUP BY COALESCE(vs.device_type, 'unknown'), vs.video_id) s ON TRUE",
+            nativeQuery = true)
+    List<UserEngagementRow> aggregateUserEngagement(Long userId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT COUNT(DISTINCT vs.video.id) FROM ViewSession vs WHERE vs.userId = :userId " +
+            "AND vs.startedAt >= :startDate AND vs.startedAt < :endDate AND vs.endedAt IS NOT NULL")
+    long countDistinctVideosWatched(Long userId, LocalDateTime startDate, LocalDateTime endDate);
+
     @Query("SELECT COUNT(vs) FROM ViewSession vs WHERE vs.videoId = :videoId AND vs.watchDuration >= :minDuration")
     Long countCompletedViews(Long videoId, Duration minDuration);
 
@@ -0,0 +1,80 @@
+/**
+ * View Session Rollup Repository Interface
+ * Location: src/main/java/com/videoanalytics/video/repository/ViewSessionRollupRepository.java
+ *
+ * This interface maintains and queries the hourly per-video session rollups.
+ * Rows are upserted one session at a time and summed over arbitrary bucket ranges.
+ * Distribution sketches are rewritten after the upsert, while the row is still locked.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.ViewSessionRollup;
+import com.videoanalytics.video.model.ViewSessionRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ViewSessionRollupRepository extends JpaRepository<ViewSessionRollup, ViewSessionRollupId> {
+
+    // Folds one ended session into its bucket, creating the bucket on first use
+    @Modifying
+    @Query(value = "INSERT INTO view_session_rollups_hourly AS r " +
+            "(video_id, bucket_start, device_type, session_count, timed_sessions, completed_views, " +
+            "watch_seconds_sum, min_watch_seconds, max_watch_seconds, buffer_events_sum, " +
+            "quality_switches_sum, bitrate_samples, bitrate_sum, updated_at) " +
+            "VALUES (:videoId, :bucketStart, :deviceType, 1, 1, :completed, :watchSeconds, :watchSeconds, " +
+            ":watchSeconds, :bufferEvents, :qualitySwitches, :bitrateSamples, :bitrate, now()) " +
+            "ON CONFLICT (video_id, bucket_start, device_type) DO UPDATE SET " +
+            "session_count = r.session_count + 1, " +
+            "timed_sessions = r.timed_sessions + 1, " +
+            "completed_views = r.completed_views + EXCLUDED.completed_views, " +
+            "watch_seconds_sum = r.watch_seconds_sum + EXCLUDED.watch_seconds_sum, " +
+            "min_watch_seconds = LEAST(r.min_watch_seconds, EXCLUDED.min_watch_seconds), " +
+            "max_watch_seconds = GREATEST(r.max_watch_seconds, EXCLUDED.max_watch_seconds), " +
+            "buffer_events_sum = r.buffer_events_sum + EXCLUDED.buffer_events_sum, " +
+            "quality_switches_sum = r.quality_switches_sum + EXCLUDED.quality_switches_sum, " +
+            "bitrate_samples = r.bitrate_samples + EXCLUDED.bitrate_samples, " +
+            "bitrate_sum = r.bitrate_sum + EXCLUDED.bitrate_sum, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    void recordSession(Long videoId, LocalDateTime bucketStart, String deviceType, int completed,
+                       double watchSeconds, long bufferEvents, long qualitySwitches,
+                       int bitrateSamples, double bitrate);
+
+    // Sums whole buckets in [fromBucket, toBucket) per device type
+    @Query("SELECT r.deviceType AS deviceType, SUM(r.sessionCount) AS sessionCount, " +
+            "SUM(r.timedSessions) AS timedSessions, SUM(r.watchSecondsSum) AS watchSecondsSum, " +
+            "MIN(r.minWatchSeconds) AS minWatchSeconds, MAX(r.maxWatchSeconds) AS maxWatchSeconds, " +
+            "SUM(r.completedViews) AS completedViews, SUM(r.bufferEventsSum) AS bufferEventsSum, " +
+            "SUM(r.qualitySwitchesSum) AS qualitySwitchesSum, SUM(r.bitrateSamples) AS bitrateSamples, " +
+            "SUM(r.bitrateSum) AS bitrateSum " +
+            "FROM ViewSessionRollup r WHERE r.videoId = :videoId " +
+            "AND r.bucketStart >= :fromBucket AND r.bucketStart < :toBucket " +
+            "GROUP BY r.deviceType")
+    List<DeviceAggregateRow> sumBuckets(Long videoId, LocalDateTime fromBucket, LocalDateTime toBucket);
+
+    // Bucket row is locked by the preceding recordSession upsert until the transaction ends
+    @Query(value = "SELECT watch_seconds_sketch AS watchSecondsSketch, bitrate_sketch AS bitrateSketch " +
+            "FROM view_session_rollups_hourly " +
+            "WHERE video_id = :videoId AND bucket_start = :bucketStart AND device_type = :deviceType",
+            nativeQuery = true)
+    RollupSketchRow findBucketSketches(Long videoId, LocalDateTime bucketStart, String deviceType);
+
+    @Modifying
+    @Query(value = "UPDATE view_session_rollups_hourly " +
+            "SET watch_seconds_sketch = :watchSecondsSketch, bitrate_sketch = :bitrateSketch " +
+            "WHERE video_id = :videoId AND bucket_start = :bucketStart AND device_type = :deviceType",
+            nativeQuery = true)
+    void updateBucketSketches(Long videoId, LocalDateTime bucketStart, String deviceType,
+                              byte[] watchSecondsSketch, byte[] bitrateSketch);
+
+    @Query("SELECT r.watchSecondsSketch AS watchSecondsSketch, r.bitrateSketch AS bitrateSketch " +
+            "FROM ViewSessionRollup r WHERE r.videoId = :videoId " +
+            "AND r.bucketStart >= :fromBucket AND r.bucketStart < :toBucket")
+    List<RollupSketchRow> findSketches(Long videoId, LocalDateTime fromBucket, LocalDateTime toBucket);
+}
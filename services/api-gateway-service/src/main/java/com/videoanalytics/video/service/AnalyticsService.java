@@ -4,11 +4,15 @@
  */
 package com.videoanalytics.video.service;
 
+import com.videoanalytics.video.analytics.trending.RenderedTrending;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.dto.PlatformDashboard;
 import com.videoanalytics.video.dto.VideoAnalytics;
 import com.videoanalytics.video.dto.UserEngagement;
-import com.videoanalytics.video.dto.TrendingVideos;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public interface AnalyticsService {
     // Video analytics
@@ -19,11 +23,22 @@ public interface AnalyticsService {
     UserEngagement getUserEngagement(Long userId);
     UserEngagement getUserEngagementForPeriod(Long userId, LocalDateTime start, LocalDateTime end);
 
+    // Unique viewers (approximate)
+    long getUniqueViewers(Long videoId, LocalDate from, LocalDate to);
+    long getCreatorUniqueViewers(Long creatorId, LocalDate from, LocalDate to);
+
     // Trend analysis
-    TrendingVideos getTrendingVideos(int limit);
+    RenderedTrending getTrendingVideos(TrendingWindow window);
     Map<String, Double> getEngagementMetrics(Long videoId);
 
     // Performance metrics
     Map<String, Double> getPerformanceMetrics(Long videoId);
     double getAverageBufferRate(Long videoId);
+
+    // Distributions (p50, p90, p95, p99)
+    Map<String, Double> getWatchDurationPercentiles(Long videoId, LocalDateTime start, LocalDateTime end);
+    Map<String, Double> getBitratePercentiles(Long videoId, LocalDateTime start, LocalDateTime end);
+
+    // Platform-wide activity
+    PlatformDashboard getPlatformDashboard();
 }
\ No newline at end of file
@@ -4,12 +4,12 @@
  */
 package com.videoanalytics.video.service;
 
+import com.videoanalytics.video.dto.HeavyHitters;
 import com.videoanalytics.video.model.VideoLike;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 public interface VideoLikeService {
     // Like operations
@@ -19,6 +19,6 @@ public interface VideoLikeService {
 
     // Analytics
     long getLikeCount(Long videoId);
-    List<Long> getMostLikedVideos(LocalDateTime since, int limit);
+    HeavyHitters getMostLikedVideos(LocalDateTime since, int limit);
     Page<VideoLike> getUserLikes(Long userId, Pageable pageable);
 }
\ No newline at end of file
@@ -4,12 +4,14 @@
  */
 package com.videoanalytics.video.service;
 
+import com.videoanalytics.video.dto.HeavyHitters;
 import com.videoanalytics.video.model.Video;
 import com.videoanalytics.video.dto.VideoUploadRequest;
 import com.videoanalytics.video.dto.VideoUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
 
@@ -31,4 +33,5 @@ public interface VideoService {
     // Analytics triggers
     void recordView(Long id);
     long getViewCount(Long id);
+    HeavyHitters getMostViewedVideos(LocalDateTime since, int limit);
 }
\ No newline at end of file
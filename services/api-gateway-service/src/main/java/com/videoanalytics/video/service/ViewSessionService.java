@@ -6,6 +6,8 @@
 package com.videoanalytics.video.service;
 
 import com.videoanalytics.video.model.ViewSession;
+import com.videoanalytics.video.dto.SessionEvent;
+import com.videoanalytics.video.dto.SessionEventBatchResponse;
 import com.videoanalytics.video.dto.ViewSessionRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,7 @@ public interface ViewSessionService {
     ViewSession startSession(ViewSessionRequest request);
     ViewSession updateSession(Long sessionId, ViewSessionRequest request);
     void endSession(Long sessionId);
+    SessionEventBatchResponse applyEvents(List<SessionEvent> events);
 
     // User history
     Page<ViewSession> getUserSessions(Long userId, Pageable pageable);
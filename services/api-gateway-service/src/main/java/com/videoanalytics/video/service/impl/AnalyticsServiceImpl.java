@@ -4,28 +4,46 @@
  */
 package com.videoanalytics.video.service.impl;
 
+import com.videoanalytics.video.analytics.DirtyAnalyticsKeys;
+import com.videoanalytics.video.analytics.SessionAggregate;
+import com.videoanalytics.video.analytics.SessionRollupService;
+import com.videoanalytics.video.analytics.UniqueViewerService;
+import com.videoanalytics.video.analytics.UserEngagementAggregator;
+import com.videoanalytics.video.analytics.hotstore.ColumnScanResult;
+import com.videoanalytics.video.analytics.hotstore.SessionColumnStore;
+import com.videoanalytics.video.analytics.platform.PlatformMetrics;
+import com.videoanalytics.video.analytics.trending.PrecomputedTrending;
+import com.videoanalytics.video.analytics.trending.RenderedTrending;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.cache.VideoMetadataCache;
+import com.videoanalytics.video.cache.VideoSnapshot;
+import com.videoanalytics.video.config.CacheConfig;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.dto.PlatformDashboard;
 import com.videoanalytics.video.dto.VideoAnalytics;
 import com.videoanalytics.video.dto.UserEngagement;
-import com.videoanalytics.video.dto.TrendingVideos;
 import com.videoanalytics.video.exception.VideoNotFoundException;
-import com.videoanalytics.video.model.Video;
 import com.videoanalytics.video.model.ViewSession;
-import com.videoanalytics.video.repository.VideoRepository;
+import com.videoanalytics.video.repository.SessionAggregateRow;
 import com.videoanalytics.video.repository.VideoLikeRepository;
 import com.videoanalytics.video.repository.ViewSessionRepository;
 import com.videoanalytics.video.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,39 +51,57 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final VideoRepository videoRepository;
+    private final VideoMetadataCache videoMetadataCache;
     private final VideoLikeRepository videoLikeRepository;
     private final ViewSessionRepository viewSessionRepository;
-
-    // Cache duration for analytics data (15 minutes)
-    private static final Duration CACHE_DURATION = Duration.ofMinutes(15);
+    private final SessionRollupService sessionRollupService;
+    private final UniqueViewerService uniqueViewerService;
+    private final PrecomputedTrending precomputedTrending;
+    private final SessionColumnStore sessionColumnStore;
+    private final UserEngagementAggregator userEngagementAggregator;
+    private final PlatformMetrics platformMetrics;
+    private final DirtyAnalyticsKeys dirtyAnalyticsKeys;
+    private final CacheManager cacheManager;
+    private final CachingProperties cachingProperties;
+
+    // Threshold for considering a video "completed" (e.g., 90% watched)
+    private static final double COMPLETION_THRESHOLD = SessionRollupService.COMPLETION_THRESHOLD;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "videoAnalytics", key = "#videoId")
+    @Cacheable(value = CacheConfig.VIDEO_ANALYTICS, key = "#videoId", sync = true)
     public VideoAnalytics getVideoAnalytics(Long videoId) {
+        return computeVideoAnalytics(videoId);
+    }
+
+    private VideoAnalytics computeVideoAnalytics(Long videoId) {
         log.info("Generating analytics for video ID: {}", videoId);
 
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId));
+        // Aggregate the last month of sessions in a single round trip
+        List<SessionAggregateRow> rows = viewSessionRepository.aggregateVideoSessions(
+                videoId,
+                LocalDateTime.now().minusMonths(1),
+                LocalDateTime.now(),
+                COMPLETION_THRESHOLD
+        );
+        if (rows.isEmpty()) {
+            throw new VideoNotFoundException("Video not found with ID: " + videoId);
+        }
 
-        // Get view sessions for the video
-        List<ViewSession> sessions = viewSessionRepository.findSessionsInTimeRange(
-                        LocalDateTime.now().minusMonths(1),
-                        LocalDateTime.now()
-                ).stream()
-                .filter(session -> videoId.equals(session.getVideo().getId()))
-                .toList();
+        SessionAggregateRow video = rows.get(0);
+        SessionAggregate aggregate = SessionAggregate.fromRows(rows);
 
         return VideoAnalytics.builder()
                 .videoId(videoId)
                 .title(video.getTitle())
                 .totalViews(video.getViewCount())
                 .totalLikes(video.getLikeCount())
-                .averageWatchDuration(calculateAverageWatchDuration(sessions))
-                .completionRate(calculateCompletionRate(sessions, video.getDuration()))
-                .deviceDistribution(calculateDeviceDistribution(sessions))
-                .qualityMetrics(calculateQualityMetrics(sessions))
+                .uniqueViewers(uniqueViewerService.countVideoViewers(
+                        videoId, LocalDate.now().minusMonths(1), LocalDate.now()))
+                .averageWatchDuration(aggregate.averageWatchDuration())
+                .completionRate(aggregate.completionRate())
+                .deviceDistribution(aggregate.deviceDistribution())
+                .qualityMetrics(aggregate.qualityMetrics())
                 .build();
     }
 
@@ -74,58 +110,51 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public VideoAnalytics getVideoAnalyticsForPeriod(Long videoId, LocalDateTime start, LocalDateTime end) {
         log.info("Generating period analytics for video ID: {} from {} to {}", videoId, start, end);
 
-        Video video = videoRepository.findById(videoId)
+        VideoSnapshot video = videoMetadataCache.get(videoId)
                 .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId));
 
-        List<ViewSession> sessions = viewSessionRepository.findSessionsInTimeRange(start, end)
-                .stream()
-                .filter(session -> videoId.equals(session.getVideo().getId()))
-                .toList();
+        // Whole hours come from the rollups, only the edge hours touch raw sessions
+        SessionAggregate aggregate = sessionRollupService.aggregateVideo(videoId, start, end);
 
         return VideoAnalytics.builder()
                 .videoId(videoId)
                 .title(video.getTitle())
-                .totalViews(sessions.size())
+                .totalViews(aggregate.getSessions())
                 .totalLikes(calculatePeriodLikes(videoId, start, end))
-                .averageWatchDuration(calculateAverageWatchDuration(sessions))
-                .completionRate(calculateCompletionRate(sessions, video.getDuration()))
-                .deviceDistribution(calculateDeviceDistribution(sessions))
-                .qualityMetrics(calculateQualityMetrics(sessions))
+                // Sketches are kept per day, so partial days count their whole day's viewers
+                .uniqueViewers(uniqueViewerService.countVideoViewers(
+                        videoId, start.toLocalDate(), end.toLocalDate()))
+                .averageWatchDuration(aggregate.averageWatchDuration())
+                .completionRate(aggregate.completionRate())
+                .deviceDistribution(aggregate.deviceDistribution())
+                .qualityMetrics(aggregate.qualityMetrics())
                 .periodStart(start)
                 .periodEnd(end)
                 .build();
     }
 
+    // The engagement methods run without a surrounding transaction: the aggregator's
+    // partitions each query on their own pooled connection
+
     @Override
-    @Transactional(readOnly = true)
-    @Cacheable(value = "userEngagement", key = "#userId")
+    @Cacheable(value = CacheConfig.USER_ENGAGEMENT, key = "#userId", sync = true)
     public UserEngagement getUserEngagement(Long userId) {
-        log.info("Generating engagement metrics for user ID: {}", userId);
+        return computeUserEngagement(userId);
+    }
 
-        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
+    private UserEngagement computeUserEngagement(Long userId) {
+        log.info("Generating engagement metrics for user ID: {}", userId);
 
-        return UserEngagement.builder()
-                .userId(userId)
-                .totalWatchTime(calculateTotalWatchTime(userId, monthAgo))
-                .videosWatched(countVideosWatched(userId, monthAgo))
-                .averageWatchDuration(calculateUserAverageWatchDuration(userId, monthAgo))
-                .totalLikes(countUserLikes(userId, monthAgo))
-                .devicePreferences(getUserDevicePreferences(userId, monthAgo))
+        LocalDateTime now = LocalDateTime.now();
+        return userEngagementAggregator.aggregate(userId, now.minusMonths(1), now)
                 .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserEngagement getUserEngagementForPeriod(Long userId, LocalDateTime start, LocalDateTime end) {
         log.info("Generating period engagement for user ID: {} from {} to {}", userId, start, end);
 
-        return UserEngagement.builder()
-                .userId(userId)
-                .totalWatchTime(calculateTotalWatchTime(userId, start, end))
-                .videosWatched(countVideosWatched(userId, start, end))
-                .averageWatchDuration(calculateUserAverageWatchDuration(userId, start, end))
-                .totalLikes(countUserLikes(userId, start, end))
-                .devicePreferences(getUserDevicePreferences(userId, start, end))
+        return userEngagementAggregator.aggregate(userId, start, end)
                 .periodStart(start)
                 .periodEnd(end)
                 .build();
@@ -133,28 +162,26 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "trendingVideos")
-    public TrendingVideos getTrendingVideos(int limit) {
-        log.info("Getting trending videos with limit: {}", limit);
-
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-
-        // Get videos with high view counts
-        List<Video> trendingByViews = videoRepository.findTrendingVideos(100L, weekAgo);
-
-        // Get most liked videos
-        List<Long> trendingByLikes = videoLikeRepository.findMostLikedVideos(weekAgo)
-                .stream()
-                .map(row -> (Long) row[0])
-                .limit(limit)
-                .toList();
-
-        return TrendingVideos.builder()
-                .topByViews(trendingByViews.stream().limit(limit).collect(Collectors.toList()))
-                .topByLikes(trendingByLikes)
-                .periodStart(weekAgo)
-                .periodEnd(LocalDateTime.now())
-                .build();
+    public long getUniqueViewers(Long videoId, LocalDate from, LocalDate to) {
+        log.info("Estimating unique viewers for video ID: {} from {} to {}", videoId, from, to);
+
+        return uniqueViewerService.countVideoViewers(videoId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getCreatorUniqueViewers(Long creatorId, LocalDate from, LocalDate to) {
+        log.info("Estimating unique viewers for creator ID: {} from {} to {}", creatorId, from, to);
+
+        return uniqueViewerService.countCreatorViewers(creatorId, from, to);
+    }
+
+    @Override
+    public RenderedTrending getTrendingVideos(TrendingWindow window) {
+        log.debug("Getting trending videos for the {} window", window.getLabel());
+
+        // Rendered ahead of time; callers slice it to the limit they need
+        return precomputedTrending.get(window);
     }
 
     @Override
@@ -164,19 +191,27 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
         Map<String, Double> metrics = new HashMap<>();
 
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusMonths(1);
+
+        VideoSnapshot video = videoMetadataCache.get(videoId)
+                .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId));
+
+        // Scan the in-memory column store when it holds the whole month
+        if (sessionColumnStore.covers(start)) {
+            ColumnScanResult scan = sessionColumnStore.scanVideo(videoId, start, end);
+
+            metrics.put("averageWatchDuration", scan.getAggregate().averageWatchDuration());
+            metrics.put("completionRate", scan.getAggregate().completionRate());
+            metrics.put("replayRate", scan.repeatRate());
+            return metrics;
+        }
+
         // Get recent sessions
-        List<ViewSession> sessions = viewSessionRepository.findSessionsInTimeRange(
-                        LocalDateTime.now().minusMonths(1),
-                        LocalDateTime.now()
-                ).stream()
-                .filter(session -> videoId.equals(session.getVideo().getId()))
-                .toList();
+        List<ViewSession> sessions = viewSessionRepository.findVideoSessionsInTimeRange(videoId, start, end);
 
         metrics.put("averageWatchDuration", calculateAverageWatchDuration(sessions));
-        metrics.put("completionRate", calculateCompletionRate(sessions,
-                videoRepository.findById(videoId)
-                        .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId))
-                        .getDuration()));
+        metrics.put("completionRate", calculateCompletionRate(sessions, video.getDuration()));
         metrics.put("replayRate", calculateReplayRate(sessions));
 
         return metrics;
@@ -187,20 +222,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public Map<String, Double> getPerformanceMetrics(Long videoId) {
         log.info("Calculating performance metrics for video ID: {}", videoId);
 
-        Map<String, Double> metrics = new HashMap<>();
-
-        List<ViewSession> sessions = viewSessionRepository.findSessionsInTimeRange(
-                        LocalDateTime.now().minusMonths(1),
-                        LocalDateTime.now()
-                ).stream()
-                .filter(session -> videoId.equals(session.getVideo().getId()))
-                .toList();
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusMonths(1);
 
-        metrics.put("averageBufferEvents", calculateAverageBufferEvents(sessions));
-        metrics.put("qualitySwitchRate", calculateQualitySwitchRate(sessions));
-        metrics.put("averageBitrate", calculateAverageBitrate(sessions));
+        SessionAggregate aggregate = sessionColumnStore.covers(start)
+                ? sessionColumnStore.scanVideo(videoId, start, end).getAggregate()
+                : SessionAggregate.fromRows(viewSessionRepository.aggregateVideoSessions(
+                        videoId, start, end, COMPLETION_THRESHOLD));
 
-        return metrics;
+        return aggregate.qualityMetrics();
     }
 
     @Override
@@ -211,71 +241,55 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         return viewSessionRepository.getAverageBufferEvents(videoId, LocalDateTime.now().minusMonths(1));
     }
 
-    // Helper methods for calculations
-
-    private double calculateAverageWatchDuration(List<ViewSession> sessions) {
-        if (sessions.isEmpty()) return 0.0;
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Double> getWatchDurationPercentiles(Long videoId, LocalDateTime start, LocalDateTime end) {
+        log.info("Calculating watch duration percentiles for video ID: {} from {} to {}", videoId, start, end);
 
-        return sessions.stream()
-                .filter(session -> session.getWatchDuration() != null)
-                .mapToLong(session -> session.getWatchDuration().getSeconds())
-                .average()
-                .orElse(0.0);
+        return sessionRollupService.distributionsForVideo(videoId, start, end).watchSecondsPercentiles();
     }
 
-    private double calculateCompletionRate(List<ViewSession> sessions, Duration videoDuration) {
-        if (sessions.isEmpty()) return 0.0;
-
-        long completedViews = sessions.stream()
-                .filter(session -> session.getWatchDuration() != null)
-                .filter(session -> session.getWatchDuration().getSeconds() >= videoDuration.getSeconds() * 0.9)
-                .count();
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Double> getBitratePercentiles(Long videoId, LocalDateTime start, LocalDateTime end) {
+        log.info("Calculating bitrate percentiles for video ID: {} from {} to {}", videoId, start, end);
 
-        return (double) completedViews / sessions.size() * 100;
+        return sessionRollupService.distributionsForVideo(videoId, start, end).bitratePercentiles();
     }
 
-    private Map<String, Long> calculateDeviceDistribution(List<ViewSession> sessions) {
-        return sessions.stream()
-                .collect(Collectors.groupingBy(
-                        ViewSession::getDeviceType,
-                        Collectors.counting()
-                ));
-    }
+    @Override
+    public PlatformDashboard getPlatformDashboard() {
+        log.debug("Retrieving platform dashboard snapshot");
 
-    private Map<String, Double> calculateQualityMetrics(List<ViewSession> sessions) {
-        Map<String, Double> metrics = new HashMap<>();
+        // Maintained on the ingest paths and snapshotted every second
+        return platformMetrics.getDashboard();
+    }
 
-        metrics.put("averageBufferEvents", calculateAverageBufferEvents(sessions));
-        metrics.put("qualitySwitchRate", calculateQualitySwitchRate(sessions));
-        metrics.put("averageBitrate", calculateAverageBitrate(sessions));
+    // Helper methods for calculations
 
-        return metrics;
+    private long calculatePeriodLikes(Long videoId, LocalDateTime start, LocalDateTime end) {
+        return videoLikeRepository.countVideoLikesBetween(videoId, start, end);
     }
 
-    private double calculateAverageBufferEvents(List<ViewSession> sessions) {
+    private double calculateAverageWatchDuration(List<ViewSession> sessions) {
         if (sessions.isEmpty()) return 0.0;
 
         return sessions.stream()
-                .mapToInt(ViewSession::getBufferEvents)
+                .filter(session -> session.getWatchDuration() != null)
+                .mapToLong(session -> session.getWatchDuration().getSeconds())
                 .average()
                 .orElse(0.0);
     }
 
-    private double calculateQualitySwitchRate(List<ViewSession> sessions) {
+    private double calculateCompletionRate(List<ViewSession> sessions, Duration videoDuration) {
         if (sessions.isEmpty()) return 0.0;
 
-        return sessions.stream()
-                .mapToInt(ViewSession::getQualitySwitches)
-                .average()
-                .orElse(0.0);
-    }
+        long completedViews = sessions.stream()
+                .filter(session -> session.getWatchDuration() != null)
+                .filter(session -> session.getWatchDuration().getSeconds() >= videoDuration.getSeconds() * COMPLETION_THRESHOLD)
+                .count();
 
-    private double calculateAverageBitrate(List<ViewSession> sessions) {
-        return sessions.stream()
-                .filter(session -> session.getAverageBitrate() != null)
-                .mapToLong(ViewSession::getAverageBitrate)
-                .average()
-                .orElse(0.0);
+        return (double) completedViews / sessions.size() * 100;
     }
 
     private double calculateReplayRate(List<ViewSession> sessions) {
@@ -294,9 +308,47 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     // Cache management
-    @Scheduled(fixedRate = 900000) // 15 minutes
+
+    /**
+     * Recomputes cached analytics that writes have made stale, at most one batch of
+     * videos and one of users per run. Only keys that are still cached are recomputed:
+     * a key nobody reads has expired or was never cached, and its next read computes
+     * it fresh. Readers keep getting the previous value until the new one is written,
+     * so they never wait for a recomputation.
+     */
+    @Scheduled(fixedDelayString = "${cache.refresh.interval:PT30S}")
     public void refreshAnalyticsCache() {
-        log.info("Refreshing analytics cache");
-        // Implementation would clear/update caches as needed
+        int batchSize = cachingProperties.getRefresh().getBatchSize();
+
+        int videos = refreshCached(CacheConfig.VIDEO_ANALYTICS,
+                dirtyAnalyticsKeys.drainVideos(batchSize), this::computeVideoAnalytics);
+        int users = refreshCached(CacheConfig.USER_ENGAGEMENT,
+                dirtyAnalyticsKeys.drainUsers(batchSize), this::computeUserEngagement);
+
+        if (videos > 0 || users > 0) {
+            log.info("Refreshed analytics cache: {} videos, {} users ({} and {} still pending)",
+                    videos, users, dirtyAnalyticsKeys.pendingVideos(), dirtyAnalyticsKeys.pendingUsers());
+        }
+    }
+
+    private int refreshCached(String cacheName, List<Long> dirtyIds, Function<Long, ?> compute) {
+        Cache cache = cacheManager.getCache(cacheName);
+        int refreshed = 0;
+        for (Long id : dirtyIds) {
+            if (cache.get(id) == null) {
+                continue;
+            }
+            try {
+                // The put reaches Redis and tells the other nodes to drop their local copies
+                cache.put(id, compute.apply(id));
+                refreshed++;
+            } catch (VideoNotFoundException e) {
+                cache.evict(id);
+            } catch (RuntimeException e) {
+                // Keep serving the cached value; its TTL bounds how stale it gets
+                log.warn("Could not refresh {} entry {}", cacheName, id, e);
+            }
+        }
+        return refreshed;
     }
 }
\ No newline at end of file
@@ -4,25 +4,29 @@
  */
 package com.videoanalytics.video.service.impl;
 
+import com.videoanalytics.video.analytics.trending.HeavyHitterService;
+import com.videoanalytics.video.cache.VideoMetadataCache;
+import com.videoanalytics.video.dto.HeavyHitters;
+import com.videoanalytics.video.events.VideoEventPublisher;
+import com.videoanalytics.video.events.VideoLiked;
+import com.videoanalytics.video.events.VideoUnliked;
 import com.videoanalytics.video.exception.DuplicateLikeException;
 import com.videoanalytics.video.exception.LikeNotFoundException;
 import com.videoanalytics.video.exception.VideoNotFoundException;
-import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.ingest.IngestLog;
 import com.videoanalytics.video.model.VideoLike;
 import com.videoanalytics.video.repository.VideoRepository;
 import com.videoanalytics.video.repository.VideoLikeRepository;
 import com.videoanalytics.video.service.VideoLikeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -31,51 +35,60 @@ public class VideoLikeServiceImpl implements VideoLikeService {
 
     private final VideoLikeRepository videoLikeRepository;
     private final VideoRepository videoRepository;
+    private final HeavyHitterService heavyHitterService;
+    private final VideoMetadataCache videoMetadataCache;
+    private final IngestLog ingestLog;
+    private final VideoEventPublisher videoEventPublisher;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void addLike(Long videoId, Long userId) {
         log.info("Adding like for video ID: {} by user ID: {}", videoId, userId);
 
         // Check if video exists
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId));
+        if (!videoRepository.existsById(videoId)) {
+            throw new VideoNotFoundException("Video not found with ID: " + videoId);
+        }
 
-        // Check if user has already liked the video
-        if (videoLikeRepository.existsByVideoIdAndUserId(videoId, userId)) {
+        // Check if user has already liked the video. Two racing likes are both appended,
+        // and the second one is a no-op when applied.
+        if (isLiked(videoId, userId)) {
             throw new DuplicateLikeException("User has already liked this video");
         }
 
-        try {
-            // Create new like
-            VideoLike like = new VideoLike(video, userId);
-            videoLikeRepository.save(like);
+        // The like and its like count increment are written by the ingest log's drainer,
+        // which also announces the analytics change once they are committed
+        ingestLog.recordLike(videoId, userId);
+        videoEventPublisher.publish(new VideoLiked(videoId, userId));
 
-            // Increment video like count
-            videoRepository.incrementLikeCount(videoId);
-
-            log.info("Successfully added like for video ID: {} by user ID: {}", videoId, userId);
-        } catch (DataIntegrityViolationException e) {
-            // Handle rare case of concurrent like addition
-            log.warn("Concurrent like addition detected for video ID: {} by user ID: {}", videoId, userId);
-            throw new DuplicateLikeException("Like already exists (concurrent operation)");
-        }
+        log.info("Successfully added like for video ID: {} by user ID: {}", videoId, userId);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void removeLike(Long videoId, Long userId) {
         log.info("Removing like for video ID: {} by user ID: {}", videoId, userId);
 
-        // Check if like exists
-        VideoLike like = videoLikeRepository.findByVideoIdAndUserId(videoId, userId)
-                .orElseThrow(() -> new LikeNotFoundException("Like not found for video ID: " + videoId + " and user ID: " + userId));
+        // Check if like exists, either still in the ingest log or in the database
+        Optional<Boolean> pending = ingestLog.getPendingLike(videoId, userId);
+        LocalDateTime likedAt;
+        if (pending.isPresent()) {
+            if (!pending.get()) {
+                throw new LikeNotFoundException("Like not found for video ID: " + videoId + " and user ID: " + userId);
+            }
+            // Liked moments ago, the like is not applied yet
+            likedAt = LocalDateTime.now();
+        } else {
+            likedAt = videoLikeRepository.findByVideoIdAndUserId(videoId, userId)
+                    .map(VideoLike::getCreatedAt)
+                    .orElseThrow(() -> new LikeNotFoundException("Like not found for video ID: " + videoId + " and user ID: " + userId));
+        }
 
-        // Remove like
-        videoLikeRepository.delete(like);
+        // Appended after the like, so the drainer deletes it and decrements the like count
+        // in that order
+        ingestLog.recordUnlike(videoId, userId);
 
-        // Decrement video like count
-        videoRepository.decrementLikeCount(videoId);
+        videoEventPublisher.publish(new VideoUnliked(videoId, userId, likedAt));
 
         log.info("Successfully removed like for video ID: {} by user ID: {}", videoId, userId);
     }
@@ -84,7 +97,7 @@ public class VideoLikeServiceImpl implements VideoLikeService {
     @Transactional(readOnly = true)
     public boolean hasUserLiked(Long videoId, Long userId) {
         log.debug("Checking if user ID: {} has liked video ID: {}", userId, videoId);
-        return videoLikeRepository.existsByVideoIdAndUserId(videoId, userId);
+        return isLiked(videoId, userId);
     }
 
     @Override
@@ -93,7 +106,7 @@ public class VideoLikeServiceImpl implements VideoLikeService {
         log.debug("Getting like count for video ID: {}", videoId);
 
         // Verify video exists
-        if (!videoRepository.existsById(videoId)) {
+        if (videoMetadataCache.get(videoId).isEmpty()) {
             throw new VideoNotFoundException("Video not found with ID: " + videoId);
         }
 
@@ -101,18 +114,11 @@ public class VideoLikeServiceImpl implements VideoLikeService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<Long> getMostLikedVideos(LocalDateTime since, int limit) {
+    public HeavyHitters getMostLikedVideos(LocalDateTime since, int limit) {
         log.debug("Getting most liked videos since: {} with limit: {}", since, limit);
 
-        // Get video IDs and like counts
-        List<Object[]> results = videoLikeRepository.findMostLikedVideos(since);
-
-        // Extract video IDs and apply limit
-        return results.stream()
-                .map(row -> (Long) row[0])  // First element is video ID
-                .limit(limit)
-                .collect(Collectors.toList());
+        // Answered from the streaming sketches, no database access
+        return heavyHitterService.mostLiked(since, limit);
     }
 
     @Override
@@ -122,6 +128,14 @@ public class VideoLikeServiceImpl implements VideoLikeService {
         return videoLikeRepository.findAll(pageable);
     }
 
+    // Helper methods
+
+    // The latest like or unlike still in the ingest log decides, otherwise the database
+    private boolean isLiked(Long videoId, Long userId) {
+        return ingestLog.getPendingLike(videoId, userId)
+                .orElseGet(() -> videoLikeRepository.existsByVideoIdAndUserId(videoId, userId));
+    }
+
     /**
      * Helper method to ensure atomic like count updates.
      * This method uses optimistic locking to handle concurrent modifications.
@@ -4,7 +4,18 @@
  */
 package com.videoanalytics.video.service.impl;
 
+import com.videoanalytics.video.analytics.AnalyticsChangeEvent;
+import com.videoanalytics.video.analytics.platform.PlatformMetrics;
+import com.videoanalytics.video.analytics.trending.HeavyHitterService;
+import com.videoanalytics.video.cache.KnownVideoIds;
+import com.videoanalytics.video.cache.VideoCreatedEvent;
+import com.videoanalytics.video.cache.VideoMetadataCache;
+import com.videoanalytics.video.cache.VideoMetadataChangedEvent;
+import com.videoanalytics.video.dto.HeavyHitters;
+import com.videoanalytics.video.events.VideoEventPublisher;
+import com.videoanalytics.video.events.VideoViewed;
 import com.videoanalytics.video.exception.VideoNotFoundException;
+import com.videoanalytics.video.ingest.IngestLog;
 import com.videoanalytics.video.model.Video;
 import com.videoanalytics.video.model.VideoStatus;
 import com.videoanalytics.video.repository.VideoRepository;
@@ -13,11 +24,13 @@ import com.videoanalytics.video.dto.VideoUploadRequest;
 import com.videoanalytics.video.dto.VideoUpdateRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
 
@@ -27,6 +40,13 @@ import java.util.Set;
 public class VideoServiceImpl implements VideoService {
 
     private final VideoRepository videoRepository;
+    private final HeavyHitterService heavyHitterService;
+    private final PlatformMetrics platformMetrics;
+    private final KnownVideoIds knownVideoIds;
+    private final VideoMetadataCache videoMetadataCache;
+    private final IngestLog ingestLog;
+    private final VideoEventPublisher videoEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -54,6 +74,8 @@ public class VideoServiceImpl implements VideoService {
 
         // Save and return the video
         Video savedVideo = videoRepository.save(video);
+        eventPublisher.publishEvent(new VideoCreatedEvent(savedVideo.getId()));
+        platformMetrics.recordUpload();
         log.info("Successfully uploaded video with ID: {}", savedVideo.getId());
         return savedVideo;
     }
@@ -62,7 +84,15 @@ public class VideoServiceImpl implements VideoService {
     @Transactional(readOnly = true)
     public Optional<Video> getVideo(Long id) {
         log.debug("Fetching video with ID: {}", id);
-        return videoRepository.findById(id);
+
+        if (!knownVideoIds.mightExist(id)) {
+            return Optional.empty();
+        }
+        Optional<Video> video = videoRepository.findWithTagsById(id);
+        if (video.isEmpty()) {
+            knownVideoIds.recordMissing(id);
+        }
+        return video;
     }
 
     @Override
@@ -85,8 +115,10 @@ public class VideoServiceImpl implements VideoService {
             video.setTags(request.getTags());
         }
 
-        // Save and return updated video
-        Video updatedVideo = videoRepository.save(video);
+        // Save and return updated video, flushed so the new version is known
+        Video updatedVideo = videoRepository.saveAndFlush(video);
+        eventPublisher.publishEvent(AnalyticsChangeEvent.ofVideo(id));
+        eventPublisher.publishEvent(new VideoMetadataChangedEvent(id, updatedVideo.getVersion()));
         log.info("Successfully updated video with ID: {}", updatedVideo.getId());
         return updatedVideo;
     }
@@ -102,7 +134,8 @@ public class VideoServiceImpl implements VideoService {
 
         // Mark video as deleted instead of physical deletion
         video.setStatus(VideoStatus.DELETED);
-        videoRepository.save(video);
+        videoRepository.saveAndFlush(video);
+        eventPublisher.publishEvent(new VideoMetadataChangedEvent(id, video.getVersion()));
 
         log.info("Successfully marked video as deleted with ID: {}", id);
     }
@@ -139,18 +172,25 @@ public class VideoServiceImpl implements VideoService {
 
         // Update status
         video.setStatus(newStatus);
-        videoRepository.save(video);
+        videoRepository.saveAndFlush(video);
+        eventPublisher.publishEvent(new VideoMetadataChangedEvent(id, video.getVersion()));
 
         log.info("Successfully updated status for video ID: {}", id);
     }
 
     @Override
-    @Transactional
     public void recordView(Long id) {
         log.debug("Recording view for video ID: {}", id);
 
-        // Increment view count atomically
-        videoRepository.incrementViewCount(id);
+        // Views of unknown IDs would reach the trending and most-viewed rankings
+        if (videoMetadataCache.get(id).isEmpty()) {
+            throw new VideoNotFoundException("Video not found with ID: " + id);
+        }
+
+        // Counted in the ingest log and added to the view count by its drainer
+        ingestLog.recordView(id);
+
+        videoEventPublisher.publish(new VideoViewed(id));
     }
 
     @Override
@@ -158,8 +198,23 @@ public class VideoServiceImpl implements VideoService {
     public long getViewCount(Long id) {
         log.debug("Getting view count for video ID: {}", id);
 
+        if (!knownVideoIds.mightExist(id)) {
+            throw new VideoNotFoundException("Video not found with ID: " + id);
+        }
+        // Views still in this node's ingest log are counted too, so a viewer sees their own view
         return videoRepository.findById(id)
-                .map(Video::getViewCount)
-                .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + id));
+                .map(video -> video.getViewCount() + ingestLog.getPendingViews(id))
+                .orElseThrow(() -> {
+                    knownVideoIds.recordMissing(id);
+                    return new VideoNotFoundException("Video not found with ID: " + id);
+                });
+    }
+
+    @Override
+    public HeavyHitters getMostViewedVideos(LocalDateTime since, int limit) {
+        log.debug("Getting most viewed videos since: {} with limit: {}", since, limit);
+
+        // Answered from the streaming sketches, no database access
+        return heavyHitterService.mostViewed(since, limit);
     }
-}
\ No newline at end of file
+}
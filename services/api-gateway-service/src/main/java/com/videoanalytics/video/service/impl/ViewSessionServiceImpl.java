@@ -4,6 +4,13 @@
  */
 package com.videoanalytics.video.service.impl;
 
+import com.videoanalytics.video.cache.KnownSessionIds;
+import com.videoanalytics.video.cache.VideoMetadataCache;
+import com.videoanalytics.video.cache.VideoSnapshot;
+import com.videoanalytics.video.events.SessionEnded;
+import com.videoanalytics.video.events.SessionStarted;
+import com.videoanalytics.video.events.SessionUpdated;
+import com.videoanalytics.video.events.VideoEventPublisher;
 import com.videoanalytics.video.exception.SessionNotFoundException;
 import com.videoanalytics.video.exception.VideoNotFoundException;
 import com.videoanalytics.video.model.Video;
@@ -11,6 +18,10 @@ import com.videoanalytics.video.model.ViewSession;
 import com.videoanalytics.video.repository.VideoRepository;
 import com.videoanalytics.video.repository.ViewSessionRepository;
 import com.videoanalytics.video.service.ViewSessionService;
+import com.videoanalytics.video.session.LiveSession;
+import com.videoanalytics.video.session.LiveSessionBuffer;
+import com.videoanalytics.video.dto.SessionEvent;
+import com.videoanalytics.video.dto.SessionEventBatchResponse;
 import com.videoanalytics.video.dto.ViewSessionRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,11 +29,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +48,10 @@ public class ViewSessionServiceImpl implements ViewSessionService {
 
     private final ViewSessionRepository viewSessionRepository;
     private final VideoRepository videoRepository;
+    private final VideoMetadataCache videoMetadataCache;
+    private final KnownSessionIds knownSessionIds;
+    private final LiveSessionBuffer liveSessionBuffer;
+    private final VideoEventPublisher videoEventPublisher;
 
     // Threshold for considering a video "completed" (e.g., 90% watched)
     private static final double COMPLETION_THRESHOLD = 0.9;
@@ -56,39 +76,40 @@ public class ViewSessionServiceImpl implements ViewSessionService {
 
         // Save and return the session
         ViewSession savedSession = viewSessionRepository.save(session);
+        knownSessionIds.recordCreated(savedSession.getId());
+
+        // Distinct viewers and the platform dashboard are updated by the event consumers
+        videoEventPublisher.publish(new SessionStarted(savedSession.getId(), video.getId(),
+                request.getUserId(), request.getDeviceType()));
+
         log.info("Started view session with ID: {}", savedSession.getId());
         return savedSession;
     }
 
     @Override
-    @Transactional
     public ViewSession updateSession(Long sessionId, ViewSessionRequest request) {
         log.info("Updating view session with ID: {}", sessionId);
 
-        // Find existing session
-        ViewSession session = viewSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
-
-        // Update session metrics
-        if (request.getLastPosition() != null) {
-            session.setLastPosition(request.getLastPosition());
-        }
-        if (request.getAverageBitrate() != null) {
-            session.setAverageBitrate(request.getAverageBitrate());
-        }
-
-        // Record quality switch if occurred
-        if (Boolean.TRUE.equals(request.getQualitySwitch())) {
-            session.recordQualitySwitch();
-        }
-
-        // Record buffer event if occurred
-        if (Boolean.TRUE.equals(request.getBufferEvent())) {
-            session.recordBufferEvent();
+        // Heartbeats of live sessions are applied in memory and written behind in batches
+        Optional<ViewSession> live = liveSessionBuffer.recordHeartbeat(sessionId,
+                request.getLastPosition(),
+                request.getAverageBitrate(),
+                Boolean.TRUE.equals(request.getQualitySwitch()),
+                Boolean.TRUE.equals(request.getBufferEvent()));
+        if (live.isPresent()) {
+            publishUpdated(live.get(), request.getLastPosition(),
+                    Boolean.TRUE.equals(request.getQualitySwitch()), Boolean.TRUE.equals(request.getBufferEvent()));
+            return live.get();
         }
 
-        // Save and return updated session
-        ViewSession updatedSession = viewSessionRepository.save(session);
+        // Ended sessions are updated directly
+        ViewSession updatedSession = updateStoredSession(sessionId,
+                request.getLastPosition(),
+                request.getAverageBitrate(),
+                Boolean.TRUE.equals(request.getQualitySwitch()),
+                Boolean.TRUE.equals(request.getBufferEvent()));
+        publishUpdated(updatedSession, request.getLastPosition(),
+                Boolean.TRUE.equals(request.getQualitySwitch()), Boolean.TRUE.equals(request.getBufferEvent()));
         log.info("Updated view session with ID: {}", updatedSession.getId());
         return updatedSession;
     }
@@ -98,9 +119,16 @@ public class ViewSessionServiceImpl implements ViewSessionService {
     public void endSession(Long sessionId) {
         log.info("Ending view session with ID: {}", sessionId);
 
+        // Stop the session's heartbeat flushes before reading it, so its unflushed
+        // changes are saved below; it leaves the buffer once this transaction commits
+        LiveSession live = liveSessionBuffer.end(sessionId);
+
         // Find existing session
         ViewSession session = viewSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+        if (live != null) {
+            live.applyPendingTo(session);
+        }
 
         // Calculate watch duration
         Duration watchDuration = Duration.between(session.getStartedAt(), LocalDateTime.now());
@@ -109,9 +137,62 @@ public class ViewSessionServiceImpl implements ViewSessionService {
         session.endSession(watchDuration, session.getLastPosition());
         viewSessionRepository.save(session);
 
+        // Rolled up by the event consumers once this transaction commits
+        videoEventPublisher.publish(new SessionEnded(sessionId, session.getVideo().getId(), session.getUserId(),
+                session.getDeviceType(), session.getStartedAt(), session.getBufferEvents()));
+
         log.info("Ended view session with ID: {}", sessionId);
     }
 
+    @Override
+    @Transactional
+    public SessionEventBatchResponse applyEvents(List<SessionEvent> events) {
+        log.debug("Applying batch of {} session events", events.size());
+
+        // Heartbeats of sessions that stay live go through the write-behind buffer once
+        // this transaction commits, so a batch that rolls back leaves no changes behind for
+        // its retry to count again. Ends, and the events of sessions that end here or have
+        // already ended, are saved together in this transaction
+        Map<Long, List<SessionEvent>> bySession = events.stream()
+                .collect(Collectors.groupingBy(SessionEvent::getSessionId, LinkedHashMap::new, Collectors.toList()));
+
+        List<SessionEvent> buffered = new ArrayList<>();
+        int applied = 0;
+        int ignored = 0;
+        int ended = 0;
+        for (Map.Entry<Long, List<SessionEvent>> entry : bySession.entrySet()) {
+            Long sessionId = entry.getKey();
+            boolean staysLive = entry.getValue().stream().noneMatch(event -> event.getType() == SessionEvent.Type.END)
+                    && isLive(sessionId);
+            boolean sessionEnded = false;
+            for (SessionEvent event : entry.getValue()) {
+                // A player may keep reporting briefly after it has ended the session
+                if (sessionEnded) {
+                    ignored++;
+                    continue;
+                }
+                if (event.getType() == SessionEvent.Type.END) {
+                    endSession(sessionId);
+                    sessionEnded = true;
+                    ended++;
+                } else if (staysLive) {
+                    buffered.add(event);
+                } else {
+                    applyStoredEvent(sessionId, event);
+                }
+                applied++;
+            }
+        }
+        afterCommit(() -> buffered.forEach(event -> applyEvent(event.getSessionId(), event)));
+
+        return SessionEventBatchResponse.builder()
+                .eventsApplied(applied)
+                .eventsIgnored(ignored)
+                .sessionsUpdated(bySession.size())
+                .sessionsEnded(ended)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ViewSession> getUserSessions(Long userId, Pageable pageable) {
@@ -142,11 +223,11 @@ public class ViewSessionServiceImpl implements ViewSessionService {
         log.debug("Calculating average watch duration for video ID: {}", videoId);
 
         // Get all completed sessions for the video
-        List<ViewSession> sessions = viewSessionRepository.findSessionsInTimeRange(
+        List<ViewSession> sessions = viewSessionRepository.findVideoSessionsInTimeRange(
+                        videoId,
                         LocalDateTime.now().minusMonths(1),  // Last month of data
                         LocalDateTime.now()
                 ).stream()
-                .filter(session -> videoId.equals(session.getVideo().getId()))
                 .filter(session -> session.getWatchDuration() != null)
                 .toList();
 
@@ -175,7 +256,7 @@ public class ViewSessionServiceImpl implements ViewSessionService {
         log.debug("Calculating completion rate for video ID: {}", videoId);
 
         // Get video duration
-        Video video = videoRepository.findById(videoId)
+        VideoSnapshot video = videoMetadataCache.get(videoId)
                 .orElseThrow(() -> new VideoNotFoundException("Video not found with ID: " + videoId));
 
         Duration minDuration = video.getDuration().multipliedBy((long) (COMPLETION_THRESHOLD * 100)).dividedBy(100);
@@ -183,4 +264,79 @@ public class ViewSessionServiceImpl implements ViewSessionService {
         // Count completed views
         return viewSessionRepository.countCompletedViews(videoId, minDuration);
     }
+
+    // Helper methods
+
+    private void applyEvent(Long sessionId, SessionEvent event) {
+        boolean qualitySwitch = event.getType() == SessionEvent.Type.QUALITY_SWITCH;
+        boolean bufferEvent = event.getType() == SessionEvent.Type.BUFFER;
+        ViewSession session = liveSessionBuffer.recordHeartbeat(sessionId, event.getLastPosition(),
+                        event.getAverageBitrate(), qualitySwitch, bufferEvent)
+                .orElseGet(() -> updateStoredSession(sessionId, event.getLastPosition(),
+                        event.getAverageBitrate(), qualitySwitch, bufferEvent));
+        publishUpdated(session, event.getLastPosition(), qualitySwitch, bufferEvent);
+    }
+
+    private void applyStoredEvent(Long sessionId, SessionEvent event) {
+        boolean qualitySwitch = event.getType() == SessionEvent.Type.QUALITY_SWITCH;
+        boolean bufferEvent = event.getType() == SessionEvent.Type.BUFFER;
+        ViewSession session = updateStoredSession(sessionId, event.getLastPosition(), event.getAverageBitrate(),
+                qualitySwitch, bufferEvent);
+        publishUpdated(session, event.getLastPosition(), qualitySwitch, bufferEvent);
+    }
+
+    // Whether the session's heartbeats go to the buffer; fails if the session does not exist
+    private boolean isLive(Long sessionId) {
+        if (liveSessionBuffer.ownerOf(sessionId).isPresent()) {
+            return true;
+        }
+        return viewSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId))
+                .getEndedAt() == null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void publishUpdated(ViewSession session, Duration lastPosition,
+                                boolean qualitySwitch, boolean bufferEvent) {
+        videoEventPublisher.publish(new SessionUpdated(session.getId(), session.getVideo().getId(),
+                session.getUserId(), lastPosition, qualitySwitch, bufferEvent));
+    }
+
+    private ViewSession updateStoredSession(Long sessionId, Duration lastPosition, Long averageBitrate,
+                                            boolean qualitySwitch, boolean bufferEvent) {
+        ViewSession session = viewSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+
+        // Update session metrics
+        if (lastPosition != null) {
+            session.setLastPosition(lastPosition);
+        }
+        if (averageBitrate != null) {
+            session.setAverageBitrate(averageBitrate);
+        }
+
+        // Record quality switch if occurred
+        if (qualitySwitch) {
+            session.recordQualitySwitch();
+        }
+
+        // Record buffer event if occurred
+        if (bufferEvent) {
+            session.recordBufferEvent();
+        }
+
+        return viewSessionRepository.save(session);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+/**
+ * Live Session
+ * Location: src/main/java/com/videoanalytics/video/session/LiveSession.java
+ *
+ * In-memory state of a session that is receiving heartbeats. The detached entity
+ * holds the values returned to the player. Position and bitrate are written back as
+ * the latest values; quality switches and buffer events are written back as the
+ * increments made since the last flush, so heartbeats of one session handled by
+ * different nodes add up instead of overwriting each other.
+ */
+package com.videoanalytics.video.session;
+
+import com.videoanalytics.video.model.ViewSession;
+
+import java.time.Duration;
+
+public final class LiveSession {
+
+    private final ViewSession session;
+    private long lastHeartbeatMillis;
+
+    // Set while the session is ending; heartbeats are refused meanwhile
+    private boolean ended;
+
+    // Changes not yet written to the database
+    private boolean dirty;
+    private boolean positionChanged;
+    private boolean bitrateChanged;
+    private int pendingQualitySwitches;
+    private int pendingBufferEvents;
+
+    LiveSession(ViewSession session, long nowMillis) {
+        this.session = session;
+        this.lastHeartbeatMillis = nowMillis;
+    }
+
+    public Long getId() {
+        return session.getId();
+    }
+
+    public Long getUserId() {
+        return session.getUserId();
+    }
+
+    /**
+     * Applies a heartbeat and returns the current state, or returns null if the
+     * session has ended.
+     */
+    synchronized ViewSession recordHeartbeat(Duration lastPosition, Long averageBitrate,
+                                             boolean qualitySwitch, boolean bufferEvent, long nowMillis) {
+        if (ended) {
+            return null;
+        }
+        if (lastPosition != null) {
+            session.setLastPosition(lastPosition);
+            positionChanged = true;
+        }
+        if (averageBitrate != null) {
+            session.setAverageBitrate(averageBitrate);
+            bitrateChanged = true;
+        }
+        if (qualitySwitch) {
+            session.recordQualitySwitch();
+            pendingQualitySwitches++;
+        }
+        if (bufferEvent) {
+            session.recordBufferEvent();
+            pendingBufferEvents++;
+        }
+        dirty = true;
+        lastHeartbeatMillis = nowMillis;
+        return session;
+    }
+
+    /**
+     * Takes the pending changes for a flush, or returns null if there are none.
+     */
+    synchronized PendingWrite drain() {
+        if (!dirty) {
+            return null;
+        }
+        PendingWrite write = new PendingWrite(session.getId(),
+                positionChanged ? session.getLastPosition() : null,
+                bitrateChanged ? session.getAverageBitrate() : null,
+                pendingQualitySwitches, pendingBufferEvents);
+        dirty = false;
+        positionChanged = false;
+        bitrateChanged = false;
+        pendingQualitySwitches = 0;
+        pendingBufferEvents = 0;
+        return write;
+    }
+
+    /**
+     * Puts back the changes of a flush that failed, merged with any made since.
+     */
+    synchronized void restore(PendingWrite write) {
+        positionChanged |= write.lastPosition != null;
+        bitrateChanged |= write.averageBitrate != null;
+        pendingQualitySwitches += write.qualitySwitches;
+        pendingBufferEvents += write.bufferEvents;
+        dirty = true;
+    }
+
+    /**
+     * Applies the unflushed changes to a managed copy of the session, when it ends.
+     */
+    public synchronized void applyPendingTo(ViewSession managed) {
+        if (positionChanged) {
+            managed.setLastPosition(session.getLastPosition());
+        }
+        if (bitrateChanged) {
+            managed.setAverageBitrate(session.getAverageBitrate());
+        }
+        managed.setQualitySwitches(count(managed.getQualitySwitches()) + pendingQualitySwitches);
+        managed.setBufferEvents(count(managed.getBufferEvents()) + pendingBufferEvents);
+    }
+
+    synchronized void markEnded() {
+        ended = true;
+    }
+
+    // Takes heartbeats again after the transaction ending the session rolled back
+    synchronized void reopen() {
+        ended = false;
+    }
+
+    synchronized boolean isIdleSince(long cutoffMillis) {
+        return !dirty && lastHeartbeatMillis < cutoffMillis;
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    // One session's row update in a flush batch
+    static final class PendingWrite {
+        final Long sessionId;
+        final Duration lastPosition;
+        final Long averageBitrate;
+        final int qualitySwitches;
+        final int bufferEvents;
+
+        private PendingWrite(Long sessionId, Duration lastPosition, Long averageBitrate,
+                             int qualitySwitches, int bufferEvents) {
+            this.sessionId = sessionId;
+            this.lastPosition = lastPosition;
+            this.averageBitrate = averageBitrate;
+            this.qualitySwitches = qualitySwitches;
+            this.bufferEvents = bufferEvents;
+        }
+    }
+}
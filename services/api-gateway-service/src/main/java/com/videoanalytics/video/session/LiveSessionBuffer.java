@@ -0,0 +1,251 @@
+/**
+ * Live Session Buffer
+ * Location: src/main/java/com/videoanalytics/video/session/LiveSessionBuffer.java
+ *
+ * Write-behind buffer for player heartbeats. A session is read once on its first
+ * heartbeat and then kept in memory; later heartbeats only change the in-memory
+ * copy and mark it dirty. Dirty sessions are written in JDBC batches on a fixed
+ * interval, or as soon as enough of them are waiting. Ending a session stops its
+ * flushes so its last changes are saved with the end of the session; it leaves the
+ * buffer once that transaction commits, and takes heartbeats again if it rolls back.
+ * The remaining dirty sessions are flushed on shutdown. A node that stops without a
+ * graceful shutdown loses at most one flush interval of heartbeats.
+ */
+package com.videoanalytics.video.session;
+
+import com.videoanalytics.video.config.SessionProperties;
+import com.videoanalytics.video.model.ViewSession;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class LiveSessionBuffer {
+
+    // Position and bitrate keep their stored value when a flush has none; counters add
+    // up; a session that has ended since it was buffered is left alone
+    private static final String FLUSH_SQL = "UPDATE view_sessions SET " +
+            "last_position = COALESCE(make_interval(secs => ?), last_position), " +
+            "average_bitrate = COALESCE(?, average_bitrate), " +
+            "quality_switches = COALESCE(quality_switches, 0) + ?, " +
+            "buffer_events = COALESCE(buffer_events, 0) + ? " +
+            "WHERE id = ? AND ended_at IS NULL";
+
+    private final ViewSessionRepository viewSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionProperties.Heartbeats settings;
+    private final long inactiveTimeoutMillis;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Long, LiveSession> live = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Held while a flush is in flight, so a session cannot end halfway through one
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LiveSessionBuffer(ViewSessionRepository viewSessionRepository, JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate, SessionProperties sessionProperties,
+                             MeterRegistry meterRegistry) {
+        this.viewSessionRepository = viewSessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = sessionProperties.getHeartbeats();
+        this.inactiveTimeoutMillis = sessionProperties.getAnalytics().getInactiveTimeout().toMillis();
+
+        meterRegistry.gaugeMapSize("session.heartbeats.live", List.of(), live);
+        meterRegistry.gaugeCollectionSize("session.heartbeats.dirty", List.of(), dirty);
+    }
+
+    /**
+     * Applies a heartbeat to a live session and returns its current state. Returns
+     * empty if the session does not exist or has already ended.
+     */
+    public Optional<ViewSession> recordHeartbeat(Long sessionId, Duration lastPosition, Long averageBitrate,
+                                                 boolean qualitySwitch, boolean bufferEvent) {
+        LiveSession session = live.get(sessionId);
+        if (session == null) {
+            Optional<ViewSession> stored = viewSessionRepository.findById(sessionId)
+                    .filter(found -> found.getEndedAt() == null);
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            session = live.computeIfAbsent(sessionId, id -> new LiveSession(stored.get(), clock.millis()));
+        }
+
+        ViewSession current;
+        synchronized (session) {
+            current = session.recordHeartbeat(lastPosition, averageBitrate, qualitySwitch, bufferEvent,
+                    clock.millis());
+            if (current == null) {
+                return Optional.empty();
+            }
+            // Put back in case the session was evicted as idle between the lookup and now.
+            // end() marks the session ended under this lock before removing it, so an
+            // ended session is never put back
+            live.putIfAbsent(sessionId, session);
+        }
+        dirty.add(sessionId);
+
+        if (dirty.size() >= settings.getFlushSize() && flushLock.tryLock()) {
+            try {
+                flushDirty();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * The owner of a live session, if it is in the buffer.
+     */
+    public Optional<Long> ownerOf(Long sessionId) {
+        LiveSession session = live.get(sessionId);
+        return session != null ? Optional.of(session.getUserId()) : Optional.empty();
+    }
+
+    /**
+     * Marks a session that is ending and returns it, so its unflushed changes can be
+     * saved with it. Waits for any flush in flight, so the caller reads the session
+     * after the flushed changes are in the database. Heartbeats that arrive for the
+     * session from then on are refused. The session is removed once the caller's
+     * transaction commits; if it rolls back, the session is live again and its
+     * changes are flushed as usual.
+     */
+    public LiveSession end(Long sessionId) {
+        LiveSession session;
+        flushLock.lock();
+        try {
+            session = live.get(sessionId);
+            if (session == null) {
+                return null;
+            }
+            session.markEnded();
+            dirty.remove(sessionId);
+        } finally {
+            flushLock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        live.remove(sessionId, session);
+                    } else {
+                        session.reopen();
+                        dirty.add(sessionId);
+                    }
+                }
+            });
+        } else {
+            live.remove(sessionId, session);
+        }
+        return session;
+    }
+
+    @Scheduled(fixedDelayString = "${session.heartbeats.flush-interval:PT5S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushDirty();
+            evictIdle();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushLock.lock();
+        try {
+            flushDirty();
+        } finally {
+            flushLock.unlock();
+        }
+        log.info("Flushed live sessions on shutdown");
+    }
+
+    // Helper methods
+
+    private void flushDirty() {
+        List<LiveSession.PendingWrite> writes = new ArrayList<>();
+        for (Iterator<Long> ids = dirty.iterator(); ids.hasNext(); ) {
+            Long sessionId = ids.next();
+            ids.remove();
+            LiveSession session = live.get(sessionId);
+            LiveSession.PendingWrite write = session != null ? session.drain() : null;
+            if (write != null) {
+                writes.add(write);
+            }
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        // One transaction for all batches, so a failed flush can be retried without
+        // adding any counter twice
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, writes, settings.getBatchSize(), LiveSessionBuffer::bind));
+            log.debug("Flushed {} live sessions", writes.size());
+        } catch (DataAccessException | TransactionException e) {
+            // Retried with the next flush
+            log.warn("Could not flush {} live sessions", writes.size(), e);
+            for (LiveSession.PendingWrite write : writes) {
+                LiveSession session = live.get(write.sessionId);
+                if (session != null) {
+                    session.restore(write);
+                    dirty.add(write.sessionId);
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, LiveSession.PendingWrite write) throws SQLException {
+        if (write.lastPosition != null) {
+            statement.setDouble(1, write.lastPosition.toNanos() / 1e9);
+        } else {
+            statement.setNull(1, Types.DOUBLE);
+        }
+        if (write.averageBitrate != null) {
+            statement.setLong(2, write.averageBitrate);
+        } else {
+            statement.setNull(2, Types.BIGINT);
+        }
+        statement.setInt(3, write.qualitySwitches);
+        statement.setInt(4, write.bufferEvents);
+        statement.setLong(5, write.sessionId);
+    }
+
+    // Abandoned sessions never end, so they are dropped once clean and quiet
+    private void evictIdle() {
+        long cutoff = clock.millis() - inactiveTimeoutMillis;
+        live.entrySet().removeIf(entry -> entry.getValue().isIdleSince(cutoff));
+    }
+}
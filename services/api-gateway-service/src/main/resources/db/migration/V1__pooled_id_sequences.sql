@@ -0,0 +1,32 @@
+-- Pooled ID Sequences
+-- Location: src/main/resources/db/migration/V1__pooled_id_sequences.sql
+--
+-- Moves videos, view_sessions, video_likes and refresh_tokens from identity columns
+-- to sequences that are read 50 IDs at a time, so Hibernate can batch their inserts.
+-- Tables are still created by Hibernate's schema update, which runs after this, so
+-- on a new database only the sequences are created.
+
+CREATE SEQUENCE IF NOT EXISTS videos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS view_sessions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS video_likes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq START WITH 1 INCREMENT BY 50;
+
+-- Existing tables stop generating their own IDs, and each sequence continues after
+-- the highest ID already used
+DO $$
+DECLARE
+    t record;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+            ('videos', 'videos_seq'),
+            ('view_sessions', 'view_sessions_seq'),
+            ('video_likes', 'video_likes_seq'),
+            ('refresh_tokens', 'refresh_tokens_seq')) AS s (table_name, sequence_name)
+    LOOP
+        IF to_regclass(t.table_name) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t.table_name);
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT max(id) FROM %I), 0) + 1, false)',
+                    t.sequence_name, t.table_name);
+        END IF;
+    END LOOP;
+END $$;
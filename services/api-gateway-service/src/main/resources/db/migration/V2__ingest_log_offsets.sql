@@ -0,0 +1,11 @@
+-- Ingest Log Offsets
+-- Location: src/main/resources/db/migration/V2__ingest_log_offsets.sql
+--
+-- How far each node's ingest log has been applied. The offset is written in the
+-- same transaction as the events before it.
+
+CREATE TABLE IF NOT EXISTS ingest_log_offsets (
+    log_id           VARCHAR(64) PRIMARY KEY,
+    committed_offset BIGINT      NOT NULL,
+    updated_at       TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,18 @@
+-- View Sessions Rolled Up Flag
+-- Location: src/main/resources/db/migration/V3__view_sessions_rolled_up.sql
+--
+-- Marks the ended sessions whose rollup has been written. Sessions ended before the
+-- rollups moved to the event consumers were rolled up when they ended; sessions
+-- still live are not, and are claimed by the consumer or the repair sweep once they
+-- end. On a new database Hibernate creates the column itself.
+
+DO $$
+BEGIN
+    IF to_regclass('view_sessions') IS NOT NULL THEN
+        -- No default yet, so existing rows are left NULL and the update below sees them
+        ALTER TABLE view_sessions ADD COLUMN IF NOT EXISTS rolled_up BOOLEAN;
+        UPDATE view_sessions SET rolled_up = (ended_at IS NOT NULL);
+        ALTER TABLE view_sessions ALTER COLUMN rolled_up SET DEFAULT FALSE;
+        ALTER TABLE view_sessions ALTER COLUMN rolled_up SET NOT NULL;
+    END IF;
+END $$;
@@ -0,0 +1,18 @@
+-- Session Rollup Watermark
+-- Location: src/main/resources/db/migration/V4__session_rollup_watermark.sql
+--
+-- The hour from which every session is in the hourly rollups. Sessions that ended
+-- before the rollups existed were never folded into them, so period aggregates read
+-- view_sessions for the hours before it. An upgraded database starts the rollups at
+-- the next whole hour, in the same local time as started_at; a new database has
+-- nothing to backfill and is served from the rollups throughout.
+
+CREATE TABLE IF NOT EXISTS session_rollup_watermark (
+    id             SMALLINT  PRIMARY KEY,
+    rolled_up_from TIMESTAMP NOT NULL
+);
+
+INSERT INTO session_rollup_watermark (id, rolled_up_from)
+SELECT 1, CASE WHEN to_regclass('view_sessions') IS NULL THEN TIMESTAMP '1970-01-01 00:00:00'
+               ELSE date_trunc('hour', LOCALTIMESTAMP) + INTERVAL '1 hour' END
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,90 @@
+/**
+ * Off-Heap Response Store Tests
+ * Location: src/test/java/com/videoanalytics/gateway/filter/OffHeapResponseStoreTest.java
+ */
+package com.videoanalytics.gateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapResponseStoreTest {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final long NOW = 1_000_000L;
+
+    private OffHeapResponseStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapResponseStore(4 * BLOCK_SIZE, BLOCK_SIZE);
+    }
+
+    @Test
+    void whenValueSpansBlocks_thenReadsBackUnchanged() {
+        byte[] value = "a value longer than a single block".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(store.put("key", value, NOW + 1000)).isTrue();
+
+        assertThat(store.get("key", NOW)).isEqualTo(value);
+        assertThat(store.usedBytes()).isEqualTo(3 * BLOCK_SIZE);
+    }
+
+    @Test
+    void whenFull_thenEvictsLeastRecentlyUsed() {
+        store.put("first", bytes(2 * BLOCK_SIZE), NOW + 1000);
+        store.put("second", bytes(2 * BLOCK_SIZE), NOW + 1000);
+        store.get("first", NOW);
+
+        store.put("third", bytes(BLOCK_SIZE), NOW + 1000);
+
+        assertThat(store.get("second", NOW)).isNull();
+        assertThat(store.get("first", NOW)).isNotNull();
+        assertThat(store.get("third", NOW)).isNotNull();
+    }
+
+    @Test
+    void whenExpired_thenMissesAndFreesBlocks() {
+        store.put("key", bytes(BLOCK_SIZE), NOW + 1000);
+
+        assertThat(store.get("key", NOW + 1000)).isNull();
+        assertThat(store.size()).isZero();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    @Test
+    void whenReplaced_thenOldBlocksAreReused() {
+        store.put("key", bytes(4 * BLOCK_SIZE), NOW + 1000);
+        store.put("key", bytes(BLOCK_SIZE), NOW + 1000);
+
+        assertThat(store.get("key", NOW)).hasSize(BLOCK_SIZE);
+        assertThat(store.usedBytes()).isEqualTo(BLOCK_SIZE);
+    }
+
+    @Test
+    void whenLargerThanStore_thenRejected() {
+        store.put("kept", bytes(BLOCK_SIZE), NOW + 1000);
+
+        assertThat(store.put("huge", bytes(4 * BLOCK_SIZE + 1), NOW + 1000)).isFalse();
+        assertThat(store.get("kept", NOW)).isNotNull();
+    }
+
+    @Test
+    void whenCapacityBelowOneBlock_thenThrows() {
+        assertThatThrownBy(() -> new OffHeapResponseStore(BLOCK_SIZE - 1, BLOCK_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Helper methods
+
+    private static byte[] bytes(int length) {
+        byte[] value = new byte[length];
+        Arrays.fill(value, (byte) 7);
+        return value;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Response Cache Filter Tests
+ * Location: src/test/java/com/videoanalytics/gateway/filter/ResponseCacheFilterTest.java
+ */
+package com.videoanalytics.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final HttpStatusCode OK = HttpStatusCode.valueOf(200);
+
+    // Keys
+
+    @Test
+    void whenQueryParametersAreReordered_thenCacheKeyIsTheSame() {
+        MockServerHttpRequest first = MockServerHttpRequest.get("/api/analytics/trending?window=24h&limit=10").build();
+        MockServerHttpRequest second = MockServerHttpRequest.get("/api/analytics/trending?limit=10&window=24h").build();
+
+        assertThat(ResponseCacheFilter.cacheKey("public", first))
+                .isEqualTo(ResponseCacheFilter.cacheKey("public", second))
+                .isEqualTo("public /api/analytics/trending?limit=10&window=24h");
+    }
+
+    @Test
+    void whenScopesDiffer_thenCacheKeysDiffer() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/videos/7").build();
+
+        assertThat(ResponseCacheFilter.cacheKey("user:1", request))
+                .isNotEqualTo(ResponseCacheFilter.cacheKey("user:2", request));
+    }
+
+    @Test
+    void whenRolesAreListedInAnyOrder_thenScopeIsTheSame() {
+        MockServerHttpRequest first = MockServerHttpRequest.get("/api/videos/7")
+                .header("X-User-Roles", "USER, ADMIN").build();
+        MockServerHttpRequest second = MockServerHttpRequest.get("/api/videos/7")
+                .header("X-User-Roles", "ADMIN,USER").build();
+
+        assertThat(ResponseCacheFilter.scopeOf(first, ResponseCacheFilter.Scope.ROLES))
+                .isEqualTo(ResponseCacheFilter.scopeOf(second, ResponseCacheFilter.Scope.ROLES))
+                .isEqualTo("roles:ADMIN,USER");
+    }
+
+    @Test
+    void whenScopeHeaderIsMissing_thenRequestIsNotCached() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/videos/7").build();
+
+        assertThat(ResponseCacheFilter.scopeOf(request, ResponseCacheFilter.Scope.PUBLIC)).isEqualTo("public");
+        assertThat(ResponseCacheFilter.scopeOf(request, ResponseCacheFilter.Scope.ROLES)).isNull();
+        assertThat(ResponseCacheFilter.scopeOf(request, ResponseCacheFilter.Scope.USER)).isNull();
+    }
+
+    // Freshness
+
+    @Test
+    void whenSharedMaxAgeIsSet_thenItWinsOverMaxAge() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=60, s-maxage=5");
+
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, headers, config(ResponseCacheFilter.Scope.PUBLIC)))
+                .isEqualTo(5_000);
+    }
+
+    @Test
+    void whenResponseIsPrivate_thenOnlyTheUserScopeStoresIt() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("private, max-age=30");
+
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, headers, config(ResponseCacheFilter.Scope.PUBLIC)))
+                .isZero();
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, headers, config(ResponseCacheFilter.Scope.USER)))
+                .isEqualTo(30_000);
+    }
+
+    @Test
+    void whenResponseIsNotCacheable_thenFreshnessIsZero() {
+        HttpHeaders noStore = new HttpHeaders();
+        noStore.setCacheControl("no-store");
+        HttpHeaders cookie = new HttpHeaders();
+        cookie.setCacheControl("max-age=30");
+        cookie.add(HttpHeaders.SET_COOKIE, "session=1");
+        ResponseCacheFilter.Config config = config(ResponseCacheFilter.Scope.PUBLIC);
+
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, noStore, config)).isZero();
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, cookie, config)).isZero();
+        assertThat(ResponseCacheFilter.freshnessMillis(HttpStatusCode.valueOf(404), new HttpHeaders(), config))
+                .isZero();
+    }
+
+    @Test
+    void whenNoMaxAgeIsSent_thenRouteDefaultApplies() {
+        ResponseCacheFilter.Config config = config(ResponseCacheFilter.Scope.PUBLIC);
+
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, new HttpHeaders(), config)).isZero();
+
+        config.setDefaultTtl(Duration.ofSeconds(10));
+        assertThat(ResponseCacheFilter.freshnessMillis(OK, new HttpHeaders(), config)).isEqualTo(10_000);
+    }
+
+    // Revalidation
+
+    @Test
+    void whenIfNoneMatchNamesTheStoredETag_thenHitIsNotModified() {
+        HttpHeaders cached = new HttpHeaders();
+        cached.setETag("\"v3.42\"");
+        HttpHeaders matching = new HttpHeaders();
+        matching.setIfNoneMatch("\"v2.40\", W/\"v3.42\"");
+        HttpHeaders stale = new HttpHeaders();
+        stale.setIfNoneMatch("\"v2.40\"");
+
+        assertThat(ResponseCacheFilter.isNotModified(matching, cached)).isTrue();
+        assertThat(ResponseCacheFilter.isNotModified(stale, cached)).isFalse();
+        assertThat(ResponseCacheFilter.isNotModified(new HttpHeaders(), cached)).isFalse();
+        assertThat(ResponseCacheFilter.isNotModified(matching, new HttpHeaders())).isFalse();
+    }
+
+    // Helper methods
+
+    private static ResponseCacheFilter.Config config(ResponseCacheFilter.Scope scope) {
+        ResponseCacheFilter.Config config = new ResponseCacheFilter.Config();
+        config.setScope(scope);
+        return config;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Session Security Service Tests
+ * Location: src/test/java/com/videoanalytics/security/SessionSecurityServiceTest.java
+ */
+package com.videoanalytics.security;
+
+import com.videoanalytics.video.cache.KnownSessionIds;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.model.ViewSession;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import com.videoanalytics.video.session.LiveSessionBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionSecurityServiceTest {
+
+    @Mock
+    private ViewSessionRepository viewSessionRepository;
+
+    @Mock
+    private KnownSessionIds knownSessionIds;
+
+    @Mock
+    private LiveSessionBuffer liveSessionBuffer;
+
+    @InjectMocks
+    private SessionSecurityService sessionSecurityService;
+
+    private UserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        principal = User.withUsername("7").password("secret").roles("USER").build();
+    }
+
+    @Test
+    void whenBatchSessionsOwned_thenStoredSessionsAreReadInOneQuery() {
+        when(liveSessionBuffer.ownerOf(anyLong())).thenReturn(Optional.empty());
+        when(liveSessionBuffer.ownerOf(1L)).thenReturn(Optional.of(7L));
+        when(knownSessionIds.mightExist(anyLong())).thenReturn(true);
+        when(viewSessionRepository.findAllById(Set.of(2L, 3L)))
+                .thenReturn(List.of(session(2L, 7L), session(3L, 7L)));
+
+        assertThat(sessionSecurityService.isOwnerOfAll(Set.of(1L, 2L, 3L), principal)).isTrue();
+        verify(viewSessionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void whenOneBatchSessionBelongsToAnotherUser_thenBatchIsRejected() {
+        when(liveSessionBuffer.ownerOf(anyLong())).thenReturn(Optional.empty());
+        when(knownSessionIds.mightExist(anyLong())).thenReturn(true);
+        when(viewSessionRepository.findAllById(Set.of(2L, 3L)))
+                .thenReturn(List.of(session(2L, 7L), session(3L, 8L)));
+
+        assertThat(sessionSecurityService.isOwnerOfAll(Set.of(2L, 3L), principal)).isFalse();
+    }
+
+    @Test
+    void whenBatchSessionMissing_thenItIsRecordedAsMissing() {
+        when(liveSessionBuffer.ownerOf(anyLong())).thenReturn(Optional.empty());
+        when(knownSessionIds.mightExist(anyLong())).thenReturn(true);
+        when(viewSessionRepository.findAllById(Set.of(2L, 4L))).thenReturn(List.of(session(2L, 7L)));
+
+        assertThat(sessionSecurityService.isOwnerOfAll(Set.of(2L, 4L), principal)).isFalse();
+        verify(knownSessionIds).recordMissing(4L);
+    }
+
+    // Helper methods
+
+    private static ViewSession session(Long sessionId, Long userId) {
+        Video video = new Video("Test Video", "videos/1", Duration.ofMinutes(10), 42L);
+        video.setId(1L);
+        ViewSession session = new ViewSession(video, userId, "mobile", "ios", "127.0.0.1");
+        session.setId(sessionId);
+        return session;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Dirty Analytics Keys Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/DirtyAnalyticsKeysTest.java
+ */
+package com.videoanalytics.video.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirtyAnalyticsKeysTest {
+
+    private final DirtyAnalyticsKeys dirtyKeys = new DirtyAnalyticsKeys();
+
+    @Test
+    void whenLikeChanges_thenVideoAndUserAreMarked() {
+        dirtyKeys.onChange(new AnalyticsChangeEvent(7L, 42L));
+
+        assertThat(dirtyKeys.drainVideos(10)).containsExactly(7L);
+        assertThat(dirtyKeys.drainUsers(10)).containsExactly(42L);
+    }
+
+    @Test
+    void whenVideoMetadataChanges_thenNoUserIsMarked() {
+        dirtyKeys.onChange(AnalyticsChangeEvent.ofVideo(7L));
+
+        assertThat(dirtyKeys.drainVideos(10)).containsExactly(7L);
+        assertThat(dirtyKeys.drainUsers(10)).isEmpty();
+    }
+
+    @Test
+    void whenKeyMarkedRepeatedly_thenItIsDrainedOnce() {
+        for (int i = 0; i < 5; i++) {
+            dirtyKeys.onChange(new AnalyticsChangeEvent(7L, 42L));
+        }
+
+        assertThat(dirtyKeys.drainVideos(10)).containsExactly(7L);
+        assertThat(dirtyKeys.drainVideos(10)).isEmpty();
+    }
+
+    @Test
+    void whenMoreKeysThanBatch_thenTheRestWaitForTheNextDrain() {
+        for (long videoId = 1; videoId <= 25; videoId++) {
+            dirtyKeys.onChange(AnalyticsChangeEvent.ofVideo(videoId));
+        }
+
+        List<Long> drained = new ArrayList<>(dirtyKeys.drainVideos(10));
+        assertThat(drained).hasSize(10);
+        assertThat(dirtyKeys.pendingVideos()).isEqualTo(15);
+
+        drained.addAll(dirtyKeys.drainVideos(10));
+        drained.addAll(dirtyKeys.drainVideos(10));
+        assertThat(drained).doesNotHaveDuplicates().hasSize(25);
+        assertThat(dirtyKeys.pendingVideos()).isZero();
+    }
+}
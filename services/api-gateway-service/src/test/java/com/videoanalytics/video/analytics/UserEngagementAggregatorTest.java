@@ -0,0 +1,162 @@
+/**
+ * User Engagement Aggregator Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/UserEngagementAggregatorTest.java
+ */
+package com.videoanalytics.video.analytics;
+
+import com.videoanalytics.video.analytics.hotstore.SessionColumnStore;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.dto.UserEngagement;
+import com.videoanalytics.video.repository.UserEngagementRow;
+import com.videoanalytics.video.repository.VideoLikeRepository;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserEngagementAggregatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private ViewSessionRepository viewSessionRepository;
+
+    @Mock
+    private VideoLikeRepository videoLikeRepository;
+
+    @Mock
+    private SessionColumnStore sessionColumnStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserEngagementAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getEngagement().setParallelism(3);
+        properties.getEngagement().setPartition(Duration.ofDays(7));
+
+        meterRegistry = new SimpleMeterRegistry();
+        aggregator = new UserEngagementAggregator(viewSessionRepository, videoLikeRepository,
+                sessionColumnStore, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void whenPeriodSpansPartitions_thenPartialResultsMerged() {
+        // Every partition: one like, video 100 on mobile, and a video of its own on tv
+        when(viewSessionRepository.aggregateUserEngagement(eq(1L), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(1);
+            long ownVideo = 200 + Duration.between(START, from).toDays();
+            return List.of(
+                    row(1L, "mobile", 100L, 2L, 2L, 120.0),
+                    row(1L, "tv", ownVideo, 1L, 1L, 30.0));
+        });
+
+        UserEngagement engagement = aggregator.aggregate(1L, START, START.plusDays(30)).build();
+
+        // 30 days in 7-day partitions: four whole weeks and a 2-day tail
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(viewSessionRepository, times(5)).aggregateUserEngagement(eq(1L), from.capture(), to.capture());
+        assertThat(partitions(from.getAllValues(), to.getAllValues()))
+                .containsExactlyInAnyOrder(
+                        List.of(START, START.plusDays(7)),
+                        List.of(START.plusDays(7), START.plusDays(14)),
+                        List.of(START.plusDays(14), START.plusDays(21)),
+                        List.of(START.plusDays(21), START.plusDays(28)),
+                        List.of(START.plusDays(28), START.plusDays(30)));
+
+        assertThat(engagement.getTotalLikes()).isEqualTo(5);
+        assertThat(engagement.getVideosWatched()).isEqualTo(6);
+        assertThat(engagement.getTotalWatchTime()).isEqualTo(750);
+        assertThat(engagement.getAverageWatchDuration()).isEqualTo(50.0);
+        assertThat(engagement.getDevicePreferences()).containsEntry("mobile", 10L).containsEntry("tv", 5L);
+    }
+
+    @Test
+    void whenPeriodFitsOnePartition_thenSingleQueryAnswersIt() {
+        when(viewSessionRepository.aggregateUserEngagement(1L, START, START.plusDays(2)))
+                .thenReturn(List.of(row(3L, null, null, null, null, null)));
+
+        UserEngagement engagement = aggregator.aggregate(1L, START, START.plusDays(2)).build();
+
+        assertThat(engagement.getTotalLikes()).isEqualTo(3);
+        assertThat(engagement.getVideosWatched()).isZero();
+        assertThat(engagement.getTotalWatchTime()).isZero();
+        assertThat(engagement.getDevicePreferences()).isEmpty();
+    }
+
+    @Test
+    void whenAggregatorCreated_thenPoolMetricsRegistered() {
+        assertThat(meterRegistry.get("executor.parallelism").tag("name", "analytics.engagement").gauge().value())
+                .isEqualTo(3.0);
+    }
+
+    // Helper methods
+
+    private static List<List<LocalDateTime>> partitions(List<LocalDateTime> from, List<LocalDateTime> to) {
+        List<List<LocalDateTime>> partitions = new ArrayList<>();
+        for (int i = 0; i < from.size(); i++) {
+            partitions.add(List.of(from.get(i), to.get(i)));
+        }
+        return partitions;
+    }
+
+    private static UserEngagementRow row(Long likeCount, String deviceType, Long videoId,
+                                         Long sessionCount, Long timedSessions, Double watchSecondsSum) {
+        return new UserEngagementRow() {
+            @Override
+            public Long getLikeCount() {
+                return likeCount;
+            }
+
+            @Override
+            public String getDeviceType() {
+                return deviceType;
+            }
+
+            @Override
+            public Long getVideoId() {
+                return videoId;
+            }
+
+            @Override
+            public Long getSessionCount() {
+                return sessionCount;
+            }
+
+            @Override
+            public Long getTimedSessions() {
+                return timedSessions;
+            }
+
+            @Override
+            public Double getWatchSecondsSum() {
+                return watchSecondsSum;
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Session Column Store Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/hotstore/SessionColumnStoreTest.java
+ */
+package com.videoanalytics.video.analytics.hotstore;
+
+import com.videoanalytics.video.analytics.SessionRollupService;
+import com.videoanalytics.video.config.AnalyticsProperties;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.repository.HotSessionRow;
+import com.videoanalytics.video.repository.ViewSessionRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionColumnStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Mock
+    private ViewSessionRepository viewSessionRepository;
+
+    private SessionColumnStore store;
+    private Video video;
+    private final List<HotSessionRow> endedSessions = new ArrayList<>();
+    private long nextSessionId = 1;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        // Small chunks so the scans cross chunk boundaries
+        properties.getHotStore().setChunkSize(4);
+        store = new SessionColumnStore(viewSessionRepository, properties);
+
+        video = new Video("Test Video", "test-key", Duration.ofMinutes(10), 1L);
+        video.setId(1L);
+    }
+
+    @Test
+    void whenVideoScanned_thenMetricsMatchAppendedSessions() {
+        append(video, 10L, "mobile", Duration.ofMinutes(10), 2, 1500L, NOW.minusDays(1));
+        append(video, 10L, "mobile", Duration.ofMinutes(2), 0, null, NOW.minusDays(2));
+        append(video, 11L, "desktop", Duration.ofMinutes(6), 4, 3000L, NOW.minusDays(3));
+        append(otherVideo(), 10L, "tv", Duration.ofMinutes(1), 0, null, NOW.minusDays(1));
+        rebuild();
+
+        ColumnScanResult scan = store.scanVideo(1L, NOW.minusDays(30), NOW);
+
+        assertThat(scan.getAggregate().getSessions()).isEqualTo(3);
+        assertThat(scan.getAggregate().averageWatchDuration()).isCloseTo(360.0, within(1e-9));
+        assertThat(scan.getAggregate().completionRate()).isCloseTo(100.0 / 3, within(1e-9));
+        assertThat(scan.getAggregate().averageBitrate()).isCloseTo(2250.0, within(1e-9));
+        assertThat(scan.getAggregate().deviceDistribution()).containsEntry("mobile", 2L).containsEntry("desktop", 1L);
+        assertThat(scan.distinctCounterparts()).isEqualTo(2);
+        assertThat(scan.repeatRate()).isCloseTo(50.0, within(1e-9));
+    }
+
+    @Test
+    void whenUserScanned_thenDistinctVideosCounted() {
+        append(video, 10L, "mobile", Duration.ofMinutes(3), 0, null, NOW.minusDays(1));
+        append(video, 10L, "mobile", Duration.ofMinutes(3), 0, null, NOW.minusDays(1));
+        append(otherVideo(), 10L, null, Duration.ofMinutes(3), 0, null, NOW.minusDays(1));
+        append(video, 12L, "mobile", Duration.ofMinutes(3), 0, null, NOW.minusDays(1));
+        rebuild();
+
+        ColumnScanResult scan = store.scanUser(10L, NOW.minusDays(7), NOW);
+
+        assertThat(scan.getAggregate().getSessions()).isEqualTo(3);
+        assertThat(scan.getAggregate().getWatchSecondsSum()).isCloseTo(540.0, within(1e-9));
+        assertThat(scan.distinctCounterparts()).isEqualTo(2);
+        assertThat(scan.getAggregate().deviceDistribution()).containsEntry("unknown", 1L);
+    }
+
+    @Test
+    void whenSessionsOutsidePeriod_thenExcluded() {
+        append(video, 10L, "mobile", Duration.ofMinutes(3), 0, null, NOW.minusDays(10));
+        append(video, 11L, "mobile", Duration.ofMinutes(3), 0, null, NOW.minusDays(1));
+        rebuild();
+
+        ColumnScanResult scan = store.scanVideo(1L, NOW.minusDays(7), NOW);
+
+        assertThat(scan.getAggregate().getSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void whenNotRebuilt_thenStoreDoesNotClaimCoverage() {
+        assertThat(store.covers(NOW.minusDays(1))).isFalse();
+    }
+
+    @Test
+    void whenRefreshReadsSessionsAgain_thenEachIsAppendedOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        append(video, 10L, "mobile", Duration.ofMinutes(3), 0, null, now.minusMinutes(5));
+        rebuild();
+        // Ended on another node, and committed after the rebuild read
+        append(video, 11L, "tv", Duration.ofMinutes(3), 0, null, now.minusMinutes(4));
+        when(viewSessionRepository.findSessionsEndedSinceForHotStore(any(), any(), anyLong(), anyDouble(), anyInt()))
+                .thenReturn(List.copyOf(endedSessions));
+
+        store.refresh();
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.covers(now.minusDays(1))).isTrue();
+    }
+
+    // Helper methods
+
+    private Video otherVideo() {
+        Video other = new Video("Other Video", "other-key", Duration.ofMinutes(10), 2L);
+        other.setId(2L);
+        return other;
+    }
+
+    private void rebuild() {
+        when(viewSessionRepository.findEndedSessionsForHotStore(any(), anyLong(), anyDouble(), anyInt()))
+                .thenReturn(List.copyOf(endedSessions));
+        store.rebuild();
+    }
+
+    private void append(Video target, Long userId, String deviceType, Duration watched,
+                        int bufferEvents, Long bitrate, LocalDateTime startedAt) {
+        boolean completed = watched.getSeconds()
+                >= target.getDuration().getSeconds() * SessionRollupService.COMPLETION_THRESHOLD;
+        endedSessions.add(new Row(nextSessionId++, target.getId(), userId, startedAt, startedAt.plus(watched),
+                watched.toMillis(), bufferEvents, 0, bitrate, deviceType, completed));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Row implements HotSessionRow {
+        private final Long id;
+        private final Long videoId;
+        private final Long userId;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime endedAt;
+        private final Long watchMillis;
+        private final Integer bufferEvents;
+        private final Integer qualitySwitches;
+        private final Long averageBitrate;
+        private final String deviceType;
+        private final Boolean completed;
+    }
+}
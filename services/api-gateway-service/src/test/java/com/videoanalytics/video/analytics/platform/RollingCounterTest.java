@@ -0,0 +1,78 @@
+/**
+ * Rolling Counter Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/platform/RollingCounterTest.java
+ */
+package com.videoanalytics.video.analytics.platform;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingCounterTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void whenHeadAdvances_thenExpiredSlotsAreCleared() {
+        RollingCounter counter = new RollingCounter(Duration.ofSeconds(1), 60, T0);
+
+        counter.add(5, T0);
+        counter.advanceTo(T0 + 30_000);
+        counter.add(3, T0 + 30_000);
+        assertThat(counter.sum()).isEqualTo(8);
+
+        // The first slot is now more than a minute old
+        counter.advanceTo(T0 + 60_000);
+        assertThat(counter.sum()).isEqualTo(3);
+    }
+
+    @Test
+    void whenSummingLastSlots_thenOnlyNewestSlotsCounted() {
+        RollingCounter counter = new RollingCounter(Duration.ofMinutes(1), 1440, T0);
+
+        counter.add(10, T0);
+        counter.advanceTo(T0 + Duration.ofMinutes(90).toMillis());
+        counter.add(2, T0 + Duration.ofMinutes(90).toMillis());
+
+        assertThat(counter.sumLast(60)).isEqualTo(2);
+        assertThat(counter.sum()).isEqualTo(12);
+
+        long[] lastThree = counter.lastSlots(3);
+        assertThat(lastThree).containsExactly(0, 0, 2);
+    }
+
+    @Test
+    void whenEventIsOlderThanRing_thenItIsDropped() {
+        RollingCounter counter = new RollingCounter(Duration.ofMinutes(1), 10, T0);
+        counter.advanceTo(T0 + Duration.ofMinutes(30).toMillis());
+
+        counter.add(-1, T0);
+        counter.add(1, T0 + Duration.ofMinutes(25).toMillis());
+
+        assertThat(counter.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void whenTickerFallsBehind_thenNewerEventsCountInHead() {
+        RollingCounter counter = new RollingCounter(Duration.ofSeconds(1), 60, T0);
+
+        counter.add(1, T0 + 5_000);
+
+        assertThat(counter.sumLast(1)).isEqualTo(1);
+    }
+
+    @Test
+    void whenIdleLongerThanRing_thenAllSlotsCleared() {
+        RollingCounter counter = new RollingCounter(Duration.ofSeconds(1), 60, T0);
+        for (int i = 0; i < 60; i++) {
+            counter.advanceTo(T0 + i * 1000L);
+            counter.add(1, T0 + i * 1000L);
+        }
+
+        counter.advanceTo(T0 + Duration.ofHours(1).toMillis());
+
+        assertThat(counter.sum()).isZero();
+    }
+}
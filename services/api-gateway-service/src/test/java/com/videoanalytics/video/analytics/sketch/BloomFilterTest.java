@@ -0,0 +1,47 @@
+/**
+ * Bloom Filter Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/sketch/BloomFilterTest.java
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void whenKeysPut_thenAllAreFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long videoId = 1; videoId <= 10_000; videoId++) {
+            filter.put(videoId);
+        }
+
+        for (long videoId = 1; videoId <= 10_000; videoId++) {
+            assertThat(filter.mightContain(videoId)).isTrue();
+        }
+    }
+
+    @Test
+    void whenSizedForLoad_thenFalsePositiveRateIsNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long videoId = 1; videoId <= 10_000; videoId++) {
+            filter.put(videoId);
+        }
+
+        int falsePositives = 0;
+        for (long videoId = 1_000_001; videoId <= 1_100_000; videoId++) {
+            if (filter.mightContain(videoId)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void whenSizingInvalid_thenThrows() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Count-Min Sketch Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/sketch/CountMinSketchTest.java
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void whenSkewedStream_thenEstimatesWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        for (long videoId = 1; videoId <= 5_000; videoId++) {
+            sketch.add(videoId, videoId <= 10 ? 1_000 : 3);
+        }
+
+        long bound = (long) Math.ceil(sketch.getEpsilon() * sketch.getTotal());
+        for (long videoId = 1; videoId <= 10; videoId++) {
+            assertThat(sketch.estimate(videoId)).isBetween(1_000L, 1_000L + bound);
+        }
+    }
+
+    @Test
+    void whenCountsRetracted_thenEstimateDrops() {
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+        sketch.add(42L, 5);
+        sketch.add(42L, -2);
+
+        assertThat(sketch.estimate(42L)).isEqualTo(3);
+        assertThat(sketch.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void whenSketchesCombined_thenCountsAreSummed() {
+        CountMinSketch monday = new CountMinSketch(0.01, 0.01);
+        CountMinSketch tuesday = new CountMinSketch(0.01, 0.01);
+        monday.add(7L, 4);
+        tuesday.add(7L, 6);
+
+        assertThat(CountMinSketch.estimate(List.of(monday, tuesday), 7L)).isEqualTo(10);
+    }
+
+    @Test
+    void whenSerialized_thenEstimatesAndTotalSurvive() {
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+        sketch.add(7L, 40);
+        sketch.add(8L, 3);
+        sketch.add(8L, -1);
+
+        CountMinSketch restored = CountMinSketch.fromBytes(sketch.toBytes());
+
+        assertThat(restored.estimate(7L)).isEqualTo(sketch.estimate(7L));
+        assertThat(restored.estimate(8L)).isEqualTo(sketch.estimate(8L));
+        assertThat(restored.getTotal()).isEqualTo(42);
+        assertThat(CountMinSketch.estimate(List.of(sketch, restored), 7L)).isEqualTo(2 * sketch.estimate(7L));
+    }
+}
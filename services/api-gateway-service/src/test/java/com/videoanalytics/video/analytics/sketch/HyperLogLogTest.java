@@ -0,0 +1,73 @@
+/**
+ * HyperLogLog Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/sketch/HyperLogLogTest.java
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void whenFewViewers_thenEstimateIsExactAndSketchIsSmall() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 1; userId <= 10; userId++) {
+            sketch.add(userId);
+            sketch.add(userId);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(10);
+        assertThat(sketch.toBytes().length).isLessThan(64);
+    }
+
+    @Test
+    void whenManyViewers_thenEstimateIsWithinStandardError() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 0; userId < 100_000; userId++) {
+            sketch.add(userId);
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(5_000.0));
+        assertThat(sketch.toBytes().length).isLessThanOrEqualTo(2 + 4096 * 6 / 8);
+    }
+
+    @Test
+    void whenSketchesMerged_thenOverlappingViewersCountedOnce() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (long userId = 0; userId < 20_000; userId++) {
+            monday.add(userId);
+            tuesday.add(userId + 10_000);
+        }
+
+        long merged = monday.merge(tuesday).estimate();
+
+        assertThat((double) merged).isCloseTo(30_000, within(1_500.0));
+    }
+
+    @Test
+    void whenSerialized_thenRoundTripPreservesEstimate() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (long userId = 0; userId < 50_000; userId++) {
+            if (userId < 100) {
+                sparse.add(userId);
+            }
+            dense.add(userId);
+        }
+
+        assertThat(HyperLogLog.fromBytes(sparse.toBytes()).estimate()).isEqualTo(sparse.estimate());
+        assertThat(HyperLogLog.fromBytes(dense.toBytes()).estimate()).isEqualTo(dense.estimate());
+    }
+
+    @Test
+    void whenViewerAlreadyCounted_thenAddReportsNoChange() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        assertThat(sketch.add(42L)).isTrue();
+        assertThat(sketch.add(42L)).isFalse();
+    }
+}
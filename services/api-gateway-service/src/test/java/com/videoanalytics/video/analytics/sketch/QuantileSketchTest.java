@@ -0,0 +1,74 @@
+/**
+ * Quantile Sketch Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/sketch/QuantileSketchTest.java
+ */
+package com.videoanalytics.video.analytics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class QuantileSketchTest {
+
+    @Test
+    void whenLongTailedValues_thenPercentilesWithinRelativeAccuracy() {
+        Random random = new Random(7);
+        double[] values = new double[50_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 5);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[]{0.5, 0.9, 0.95, 0.99}) {
+            double exact = values[(int) (quantile * (values.length - 1))];
+            assertThat(sketch.quantile(quantile)).isCloseTo(exact, withinPercentage(1.0));
+        }
+    }
+
+    @Test
+    void whenHourlySketchesMerged_thenSameAsSingleSketch() {
+        QuantileSketch single = new QuantileSketch();
+        QuantileSketch merged = new QuantileSketch();
+        for (int hour = 0; hour < 24; hour++) {
+            QuantileSketch hourly = new QuantileSketch();
+            for (int i = 1; i <= 100; i++) {
+                double value = hour * 100 + i;
+                hourly.add(value);
+                single.add(value);
+            }
+            merged.merge(QuantileSketch.fromBytes(hourly.toBytes()));
+        }
+
+        assertThat(merged.getCount()).isEqualTo(single.getCount());
+        assertThat(merged.quantile(0.5)).isEqualTo(single.quantile(0.5));
+        assertThat(merged.quantile(0.99)).isEqualTo(single.quantile(0.99));
+    }
+
+    @Test
+    void whenZeroValuesRecorded_thenLowPercentilesAreZero() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < 60; i++) {
+            sketch.add(0.0);
+        }
+        for (int i = 0; i < 40; i++) {
+            sketch.add(120.0);
+        }
+
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(sketch.quantile(0.9)).isCloseTo(120.0, withinPercentage(1.0));
+    }
+
+    @Test
+    void whenEmpty_thenPercentilesAreZeroAndRoundTripWorks() {
+        QuantileSketch sketch = QuantileSketch.fromBytes(new QuantileSketch().toBytes());
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.99)).isZero();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Decayed Top-K Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/trending/DecayedTopKTest.java
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.dto.ScoredVideo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DecayedTopKTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    void whenEventsRecorded_thenTopKOrderedByScoreAndBounded() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(6), 3, 0);
+        for (long videoId = 1; videoId <= 10; videoId++) {
+            for (int i = 0; i < videoId; i++) {
+                topK.record(videoId, 1.0, 0);
+            }
+        }
+
+        List<ScoredVideo> top = topK.top(10, 0);
+
+        assertThat(top).extracting(ScoredVideo::getVideoId).containsExactly(10L, 9L, 8L);
+        assertThat(top.get(0).getScore()).isCloseTo(10.0, within(1e-9));
+    }
+
+    @Test
+    void whenHalfLifePasses_thenOlderEventsCountHalf() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(6), 10, 0);
+        for (int i = 0; i < 10; i++) {
+            topK.record(1L, 1.0, 0);
+        }
+        for (int i = 0; i < 6; i++) {
+            topK.record(2L, 1.0, 6 * HOUR);
+        }
+
+        List<ScoredVideo> top = topK.top(2, 6 * HOUR);
+
+        // 6 fresh views outrank 10 views that are one half-life old
+        assertThat(top).extracting(ScoredVideo::getVideoId).containsExactly(2L, 1L);
+        assertThat(top.get(1).getScore()).isCloseTo(5.0, within(1e-9));
+    }
+
+    @Test
+    void whenLandmarkRebased_thenScoresArePreserved() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 10, 0);
+        topK.record(1L, 1.0, 0);
+
+        // Far enough ahead that the stored scores would overflow without rebasing
+        long later = 1_000 * HOUR;
+        topK.record(2L, 1.0, later);
+
+        List<ScoredVideo> top = topK.top(2, later);
+        assertThat(top).extracting(ScoredVideo::getVideoId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getScore()).isCloseTo(1.0, within(1e-9));
+        assertThat(Double.isFinite(top.get(1).getScore())).isTrue();
+    }
+
+    @Test
+    void whenSnapshotRestored_thenScoresKeepDecaying() {
+        DecayedTopK original = new DecayedTopK(Duration.ofHours(6), 10, 0);
+        for (int i = 0; i < 8; i++) {
+            original.record(7L, 1.0, 0);
+        }
+        byte[] snapshot = original.toBytes(100, 0);
+
+        DecayedTopK restored = new DecayedTopK(Duration.ofHours(6), 10, 6 * HOUR);
+        restored.restore(snapshot, 0);
+
+        assertThat(restored.top(1, 6 * HOUR).get(0).getScore()).isCloseTo(4.0, within(1e-9));
+    }
+
+    @Test
+    void whenPruned_thenStaleVideosForgotten() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 10, 0);
+        topK.record(1L, 1.0, 0);
+        topK.record(2L, 1.0, 20 * HOUR);
+
+        topK.prune(0.01, 20 * HOUR);
+
+        assertThat(topK.size()).isEqualTo(1);
+        assertThat(topK.top(10, 20 * HOUR)).extracting(ScoredVideo::getVideoId).containsExactly(2L);
+    }
+}
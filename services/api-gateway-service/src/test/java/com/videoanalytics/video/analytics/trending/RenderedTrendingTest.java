@@ -0,0 +1,85 @@
+/**
+ * Rendered Trending Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/trending/RenderedTrendingTest.java
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.videoanalytics.video.dto.ScoredVideo;
+import com.videoanalytics.video.dto.TrendingVideos;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedTrendingTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void whenSlicedToLimit_thenBodyIsTheDtoWithThatManyEntries() throws Exception {
+        RenderedTrending rendered = render(5);
+
+        TrendingVideos body = parse(rendered, 2);
+
+        assertThat(body.getTrending()).containsExactly(new ScoredVideo(1L, 9.5), new ScoredVideo(2L, 7.25));
+        assertThat(body.getTopByViews()).containsExactly(2L, 1L);
+        assertThat(body.getTopByLikes()).containsExactly(3L);
+        assertThat(body.getWindow()).isEqualTo("24h");
+        assertThat(body.getHalfLifeSeconds()).isEqualTo(21_600);
+        assertThat(body.getGeneratedAt()).isEqualTo(GENERATED_AT);
+    }
+
+    @Test
+    void whenLimitExceedsMaximum_thenListsAreCappedAtMaximum() throws Exception {
+        RenderedTrending rendered = render(2);
+
+        assertThat(parse(rendered, 50).getTrending()).hasSize(2);
+        assertThat(parse(rendered, 0).getTrending()).isEmpty();
+        assertThat(parse(rendered, -1).getTopByViews()).isEmpty();
+    }
+
+    @Test
+    void whenSliced_thenContentLengthMatchesBody() throws Exception {
+        RenderedTrending rendered = render(5);
+
+        for (int limit = 0; limit <= 6; limit++) {
+            assertThat(bytes(rendered, limit)).hasSize(rendered.contentLength(limit));
+        }
+    }
+
+    // Helper methods
+
+    private RenderedTrending render(int maxLimit) throws Exception {
+        List<ScoredVideo> trending = List.of(new ScoredVideo(1L, 9.5), new ScoredVideo(2L, 7.25), new ScoredVideo(3L, 1.0));
+        List<ScoredVideo> views = List.of(new ScoredVideo(2L, 6.0), new ScoredVideo(1L, 4.0));
+        List<ScoredVideo> likes = List.of(new ScoredVideo(3L, 2.0));
+
+        return RenderedTrending.render(objectMapper, TrendingWindow.DAY, maxLimit,
+                trending, views, likes, 21_600, GENERATED_AT);
+    }
+
+    private TrendingVideos parse(RenderedTrending rendered, int limit) throws Exception {
+        return objectMapper.readValue(bytes(rendered, limit), TrendingVideos.class);
+    }
+
+    private static byte[] bytes(RenderedTrending rendered, int limit) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer slice : rendered.slices(limit)) {
+            byte[] chunk = new byte[slice.remaining()];
+            slice.get(chunk);
+            out.writeBytes(chunk);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Windowed Heavy Hitters Tests
+ * Location: src/test/java/com/videoanalytics/video/analytics/trending/WindowedHeavyHittersTest.java
+ */
+package com.videoanalytics.video.analytics.trending;
+
+import com.videoanalytics.video.dto.HeavyHitters;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedHeavyHittersTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @Test
+    void whenEventsStreamed_thenTopVideosRankedWithErrorBounds() {
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(0.001, 0.001, 100, Duration.ofDays(1), 8);
+        long now = 10 * DAY;
+        for (long videoId = 1; videoId <= 2_000; videoId++) {
+            hitters.add(videoId, videoId <= 3 ? 500 * videoId : 1, now, now);
+        }
+
+        HeavyHitters top = hitters.top(now - 7 * DAY, 3, now);
+
+        assertThat(top.getVideos()).extracting(HeavyHitters.Entry::getVideoId).containsExactly(3L, 2L, 1L);
+        assertThat(top.getTotalEvents()).isEqualTo(3_000 + 1_997);
+        assertThat(top.getMaxOverestimate()).isEqualTo((long) Math.ceil(0.001 * top.getTotalEvents()));
+        assertThat(top.getVideos().get(0).getEstimatedCount())
+                .isBetween(1_500L, 1_500L + top.getMaxOverestimate());
+    }
+
+    @Test
+    void whenQueriedSince_thenOnlyOverlappingPanesCounted() {
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(0.01, 0.01, 10, Duration.ofDays(1), 8);
+        long now = 10 * DAY + 1;
+        hitters.add(1L, 100, now - 5 * DAY, now);
+        hitters.add(2L, 10, now, now);
+
+        assertThat(hitters.top(now - DAY / 2, 10, now).getVideos())
+                .extracting(HeavyHitters.Entry::getVideoId).containsExactly(2L);
+        assertThat(hitters.top(now - 6 * DAY, 10, now).getVideos())
+                .extracting(HeavyHitters.Entry::getVideoId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void whenLikeRetracted_thenRemovedFromItsOriginalPane() {
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(0.01, 0.01, 10, Duration.ofDays(1), 8);
+        long likedAt = 3 * DAY + 5;
+        long now = 5 * DAY;
+        hitters.add(1L, 1, likedAt, likedAt);
+        hitters.add(1L, -1, likedAt, now);
+
+        assertThat(hitters.top(0, 10, now).getVideos()).isEmpty();
+        assertThat(hitters.top(0, 10, now).getTotalEvents()).isZero();
+    }
+
+    @Test
+    void whenPaneLeavesWindow_thenItsEventsAreDropped() {
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(0.01, 0.01, 10, Duration.ofDays(1), 2);
+        hitters.add(1L, 50, 0, 0);
+        hitters.add(2L, 5, 3 * DAY, 3 * DAY);
+
+        HeavyHitters top = hitters.top(0, 10, 3 * DAY);
+
+        assertThat(top.getVideos()).extracting(HeavyHitters.Entry::getVideoId).containsExactly(2L);
+    }
+
+    @Test
+    void whenRestoredFromSnapshot_thenPanesStillInWindowAreCounted() {
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(0.01, 0.01, 10, Duration.ofDays(1), 2);
+        hitters.add(1L, 50, 2 * DAY, 2 * DAY);
+        hitters.add(2L, 5, 3 * DAY, 3 * DAY);
+        byte[] snapshot = hitters.toBytes(3 * DAY);
+
+        WindowedHeavyHitters restored = new WindowedHeavyHitters(0.01, 0.01, 10, Duration.ofDays(1), 2);
+        restored.restore(snapshot, 4 * DAY);
+
+        // The pane of day 2 has left the window by day 4
+        HeavyHitters top = restored.top(0, 10, 4 * DAY);
+        assertThat(top.getVideos()).extracting(HeavyHitters.Entry::getVideoId).containsExactly(2L);
+        assertThat(top.getTotalEvents()).isEqualTo(5);
+    }
+}
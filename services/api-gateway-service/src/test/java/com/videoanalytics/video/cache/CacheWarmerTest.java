@@ -0,0 +1,97 @@
+/**
+ * Cache Warmer Tests
+ * Location: src/test/java/com/videoanalytics/video/cache/CacheWarmerTest.java
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.analytics.trending.TrendingEngine;
+import com.videoanalytics.video.analytics.trending.TrendingWindow;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.dto.ScoredVideo;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.service.AnalyticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private TrendingEngine trendingEngine;
+
+    @Mock
+    private VideoMetadataCache videoMetadataCache;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    private CachingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CachingProperties();
+        properties.getWarmup().setTopVideos(3);
+        properties.getWarmup().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWarmer = new CacheWarmer(trendingEngine, videoMetadataCache, analyticsService, properties, meterRegistry);
+    }
+
+    @Test
+    void whenTopVideosLoaded_thenEntriesAreCountedAndReported() {
+        when(trendingEngine.topTrending(TrendingWindow.DAY, 3))
+                .thenReturn(List.of(scored(1L), scored(2L), scored(3L)));
+        when(videoMetadataCache.get(anyLong())).thenReturn(Optional.of(snapshot()));
+        when(videoMetadataCache.get(2L)).thenReturn(Optional.empty());
+
+        CacheWarmer.WarmupResult result = cacheWarmer.warmUp();
+
+        assertThat(result.getVideos()).isEqualTo(3);
+        assertThat(result.getMetadata()).isEqualTo(2);
+        assertThat(result.getAnalytics()).isEqualTo(2);
+        assertThat(result.isTimedOut()).isFalse();
+        verify(analyticsService, never()).getVideoAnalytics(2L);
+        assertThat(meterRegistry.get("cache.warmup.entries").tag("cache", VideoMetadataCache.NAME)
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.warmup").tag("outcome", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenBudgetExhausted_thenWarmupStopsWithoutLoading() {
+        properties.getWarmup().setTimeBudget(Duration.ZERO);
+        when(trendingEngine.topTrending(TrendingWindow.DAY, 3)).thenReturn(List.of(scored(1L)));
+
+        CacheWarmer.WarmupResult result = cacheWarmer.warmUp();
+
+        assertThat(result.isTimedOut()).isTrue();
+        assertThat(result.getVideos()).isZero();
+        verify(videoMetadataCache, never()).get(anyLong());
+    }
+
+    // Helper methods
+
+    private static ScoredVideo scored(Long videoId) {
+        return new ScoredVideo(videoId, 1.0);
+    }
+
+    private static VideoSnapshot snapshot() {
+        Video video = new Video("Test Video", "videos/1", Duration.ofMinutes(10), 42L);
+        video.setId(1L);
+        return VideoSnapshot.of(video);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Entity Tags Tests
+ * Location: src/test/java/com/videoanalytics/video/cache/EntityTagsTest.java
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CacheConfig;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.dto.VideoAnalytics;
+import com.videoanalytics.video.ingest.IngestLog;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.repository.VideoRepository;
+import com.videoanalytics.video.repository.VideoValidatorRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityTagsTest {
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private IngestLog ingestLog;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private TwoTierCacheManager cacheManager;
+    private EntityTags entityTags;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoTierCacheManager(redisTemplate, new CachingProperties(), new SimpleMeterRegistry(),
+                List.of(new CacheSpec(CacheConfig.VIDEO_ANALYTICS, VideoAnalytics.class, Duration.ofMinutes(5))));
+        entityTags = new EntityTags(videoRepository, cacheManager, ingestLog);
+    }
+
+    @Test
+    void whenOnlyCountersChange_thenVideoTagChanges() {
+        Video video = video();
+        String before = entityTags.forVideo(video);
+
+        video.incrementViewCount();
+
+        assertThat(entityTags.forVideo(video)).isNotEqualTo(before).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void whenServedAnalyticsAreCached_thenTagMatchesTheCurrentEntry() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        VideoAnalytics analytics = VideoAnalytics.builder().videoId(7L).title("Test Video").totalViews(10).build();
+        cacheManager.getCache(CacheConfig.VIDEO_ANALYTICS).put(7L, analytics);
+
+        assertThat(entityTags.forVideoAnalytics(7L, analytics)).isEqualTo(entityTags.forVideoAnalytics(7L)).isPresent();
+    }
+
+    @Test
+    void whenCacheHoldsNewerAnalytics_thenServedBodyGetsNoTag() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        VideoAnalytics served = VideoAnalytics.builder().videoId(7L).title("Test Video").totalViews(10).build();
+        VideoAnalytics refreshed = VideoAnalytics.builder().videoId(7L).title("Test Video").totalViews(11).build();
+        cacheManager.getCache(CacheConfig.VIDEO_ANALYTICS).put(7L, refreshed);
+
+        assertThat(entityTags.forVideoAnalytics(7L, served)).isEmpty();
+    }
+
+    @Test
+    void whenViewsArePending_thenViewCountTagIncludesThem() {
+        VideoValidatorRow row = mock(VideoValidatorRow.class);
+        when(row.getViewCount()).thenReturn(40L);
+        when(videoRepository.findValidatorById(7L)).thenReturn(Optional.of(row));
+        when(ingestLog.getPendingViews(7L)).thenReturn(2L);
+
+        // Boxed, so the lookup overload is called rather than the one formatting a count
+        assertThat(entityTags.forViewCount(Long.valueOf(7L))).contains(entityTags.forViewCount(42L));
+    }
+
+    // Helper methods
+
+    private static Video video() {
+        Video video = new Video("Test Video", "videos/7", Duration.ofMinutes(10), 42L);
+        video.setId(7L);
+        video.setVersion(3);
+        video.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return video;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Known Video IDs Tests
+ * Location: src/test/java/com/videoanalytics/video/cache/KnownVideoIdsTest.java
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.repository.VideoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KnownVideoIdsTest {
+
+    private static final String CHANNEL = "test:video-created";
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    private KnownVideoIds knownVideoIds;
+
+    @BeforeEach
+    void setUp() {
+        CachingProperties properties = new CachingProperties();
+        properties.getKnownVideos().setExpectedVideos(1_000);
+        properties.getKnownVideos().setChannel(CHANNEL);
+        knownVideoIds = new KnownVideoIds(videoRepository, redisTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void whenNotYetLoaded_thenEveryIdMightExist() {
+        assertThat(knownVideoIds.mightExist(12_345L)).isTrue();
+    }
+
+    @Test
+    void whenLoaded_thenUnknownIdsInRangeAreRejected() {
+        rebuildWith(List.of(1L, 2L, 5L, 100L));
+
+        assertThat(knownVideoIds.mightExist(5L)).isTrue();
+        assertThat(knownVideoIds.mightExist(3L)).isFalse();
+        // Beyond the scanned range, the video may have been uploaded on another node
+        assertThat(knownVideoIds.mightExist(101L)).isTrue();
+    }
+
+    @Test
+    void whenIdInRangeExistsButWasNotAnnounced_thenItIsFoundAndAdded() {
+        rebuildWith(List.of(1L, 100L));
+        // Created on another node from a lower ID block, announcement not received
+        when(videoRepository.existsById(40L)).thenReturn(true);
+
+        assertThat(knownVideoIds.mightExist(40L)).isTrue();
+        assertThat(knownVideoIds.mightExist(40L)).isTrue();
+        verify(videoRepository, times(1)).existsById(40L);
+    }
+
+    @Test
+    void whenVideoCreated_thenIdIsAddedAndAnnounced() {
+        rebuildWith(List.of(1L, 100L));
+
+        knownVideoIds.onCreated(new VideoCreatedEvent(50L));
+        knownVideoIds.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "60".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(knownVideoIds.mightExist(50L)).isTrue();
+        assertThat(knownVideoIds.mightExist(60L)).isTrue();
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), eq("50".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void whenMissRecorded_thenRepeatLookupIsRejectedUntilCreated() {
+        rebuildWith(List.of(1L, 100L));
+
+        // As after a Bloom false positive, and a lookup beyond the scanned range
+        knownVideoIds.recordMissing(100L);
+        knownVideoIds.recordMissing(99_999_999L);
+
+        assertThat(knownVideoIds.mightExist(100L)).isFalse();
+        assertThat(knownVideoIds.mightExist(99_999_999L)).isFalse();
+
+        knownVideoIds.onCreated(new VideoCreatedEvent(100L));
+        knownVideoIds.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "99999999".getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(knownVideoIds.mightExist(100L)).isTrue();
+        assertThat(knownVideoIds.mightExist(99_999_999L)).isTrue();
+    }
+
+    // Helper methods
+
+    private void rebuildWith(List<Long> ids) {
+        when(videoRepository.count()).thenReturn((long) ids.size());
+        when(videoRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(ids);
+        knownVideoIds.rebuild();
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Two-Tier Cache Tests
+ * Location: src/test/java/com/videoanalytics/video/cache/TwoTierCacheTest.java
+ */
+package com.videoanalytics.video.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.dto.VideoAnalytics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String CACHE = "videoAnalytics";
+    private static final String CHANNEL = "test:invalidations";
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private CachingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager node;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CachingProperties();
+        properties.setKeyPrefix("test:");
+        properties.setInvalidationChannel(CHANNEL);
+        meterRegistry = new SimpleMeterRegistry();
+        node = createNode();
+    }
+
+    @Test
+    void whenValueEncoded_thenItDecodesToAnEqualDto() {
+        CacheValueSerializer serializer = new CacheValueSerializer();
+        VideoAnalytics analytics = analytics(7L);
+
+        VideoAnalytics decoded = serializer.deserialize(serializer.serialize(analytics), VideoAnalytics.class);
+
+        assertThat(decoded).isEqualTo(analytics);
+    }
+
+    @Test
+    void whenRedisHasTheEntry_thenItIsPromotedToTheLocalTier() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("test:videoAnalytics::7"))
+                .thenReturn(new CacheEntry(null, 0, Long.MAX_VALUE).toBytes(new CacheValueSerializer().serialize(analytics(7L))));
+
+        assertThat(node.getCache(CACHE).get(7L, VideoAnalytics.class)).isEqualTo(analytics(7L));
+        assertThat(node.getCache(CACHE).get(7L, VideoAnalytics.class)).isEqualTo(analytics(7L));
+
+        verify(valueOperations, times(1)).get(anyString());
+    }
+
+    @Test
+    void whenRedisIsDown_thenLookupIsAMiss() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(node.getCache(CACHE).get(7L)).isNull();
+    }
+
+    @Test
+    void whenAnotherNodeWrites_thenLocalCopyIsEvicted() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        TwoTierCacheManager otherNode = createNode();
+        node.getCache(CACHE).put(7L, analytics(7L));
+        otherNode.getCache(CACHE).put(7L, analytics(7L));
+
+        // The first node receives the second node's announcement
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), body.capture());
+        node.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getAllValues().get(1)), null);
+
+        assertThat(localTier(node).asMap()).isEmpty();
+        assertThat(localTier(otherNode).asMap()).containsKey("7");
+    }
+
+    @Test
+    void whenNodeReceivesItsOwnMessage_thenLocalCopyIsKept() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        node.getCache(CACHE).put(7L, analytics(7L));
+
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), body.capture());
+        verify(valueOperations).set(eq("test:videoAnalytics::7"), any(), eq(Duration.ofMinutes(5)));
+        node.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getValue()), null);
+
+        assertThat(localTier(node).asMap()).containsKey("7");
+    }
+
+    @Test
+    void whenConcurrentCallersMiss_thenOneLoadServesThemAll() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<VideoAnalytics> loader = () -> {
+            loads.incrementAndGet();
+            release.await();
+            return analytics(7L);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<VideoAnalytics>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> node.getCache(CACHE).get(7L, loader)));
+            }
+
+            // Hold the load until every other caller is waiting on it
+            Counter waiters = meterRegistry.get("cache.coalesced.waiters").tag("cache", CACHE).counter();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (waiters.count() < callers - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<VideoAnalytics> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(analytics(7L));
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(waiters.count()).isEqualTo(callers - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenEntryNearsExpiry_thenRefreshIsLikelierForCostlyEntries() {
+        long expiresAt = 100_000;
+        CacheEntry cheap = new CacheEntry("value", 10, expiresAt);
+        CacheEntry costly = new CacheEntry("value", 5_000, expiresAt);
+
+        // A draw of 0.5 moves expiry earlier by about 0.69 compute times
+        assertThat(cheap.expiresEarly(expiresAt - 1_000, 1.0, 0.5)).isFalse();
+        assertThat(costly.expiresEarly(expiresAt - 1_000, 1.0, 0.5)).isTrue();
+        assertThat(costly.expiresEarly(expiresAt - 1_000, 0.0, 0.5)).isFalse();
+        assertThat(cheap.expiresEarly(expiresAt, 1.0, 1.0)).isTrue();
+    }
+
+    // Helper methods
+
+    private TwoTierCacheManager createNode() {
+        return new TwoTierCacheManager(redisTemplate, properties, meterRegistry,
+                List.of(new CacheSpec(CACHE, VideoAnalytics.class, Duration.ofMinutes(5))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, Object> localTier(TwoTierCacheManager manager) {
+        return (Cache<String, Object>) manager.getCache(CACHE).getNativeCache();
+    }
+
+    private static VideoAnalytics analytics(Long videoId) {
+        return VideoAnalytics.builder()
+                .videoId(videoId)
+                .title("Test Video")
+                .totalViews(120)
+                .totalLikes(9)
+                .averageWatchDuration(42.5)
+                .deviceDistribution(Map.of("mobile", 80L, "desktop", 40L))
+                .periodStart(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+}
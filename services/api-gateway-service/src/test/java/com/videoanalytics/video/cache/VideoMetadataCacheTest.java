@@ -0,0 +1,110 @@
+/**
+ * Video Metadata Cache Tests
+ * Location: src/test/java/com/videoanalytics/video/cache/VideoMetadataCacheTest.java
+ */
+package com.videoanalytics.video.cache;
+
+import com.videoanalytics.video.config.CachingProperties;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.repository.VideoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VideoMetadataCacheTest {
+
+    private static final String CHANNEL = "test:video-metadata";
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VideoMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CachingProperties properties = new CachingProperties();
+        properties.getVideoMetadata().setInvalidationChannel(CHANNEL);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VideoMetadataCache(videoRepository,
+                new KnownVideoIds(videoRepository, redisTemplate, properties, meterRegistry),
+                redisTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void whenSnapshotCached_thenRepeatedLookupsSkipTheDatabase() {
+        when(videoRepository.findWithTagsById(7L)).thenReturn(Optional.of(video(7L, 0)));
+
+        VideoSnapshot first = cache.get(7L).orElseThrow();
+        VideoSnapshot second = cache.get(7L).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getTags()).containsExactlyInAnyOrder("music", "live");
+        verify(videoRepository, times(1)).findWithTagsById(7L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VideoMetadataCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void whenVideoMissing_thenNothingIsCached() {
+        when(videoRepository.findWithTagsById(7L)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(7L)).isEmpty();
+        assertThat(cache.get(7L)).isEmpty();
+
+        verify(videoRepository, times(2)).findWithTagsById(7L);
+    }
+
+    @Test
+    void whenVideoUpdated_thenOlderSnapshotIsDroppedAndChangeAnnounced() {
+        when(videoRepository.findWithTagsById(7L)).thenReturn(Optional.of(video(7L, 0)), Optional.of(video(7L, 1)));
+        cache.get(7L);
+
+        cache.onChange(new VideoMetadataChangedEvent(7L, 1));
+
+        assertThat(cache.get(7L).orElseThrow().getVersion()).isEqualTo(1);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), eq("7:1".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void whenInvalidationIsStale_thenNewerSnapshotIsKept() {
+        when(videoRepository.findWithTagsById(7L)).thenReturn(Optional.of(video(7L, 3)));
+        cache.get(7L);
+
+        cache.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "7:2".getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(7L);
+
+        verify(videoRepository, times(1)).findWithTagsById(7L);
+    }
+
+    // Helper methods
+
+    private static Video video(Long id, long version) {
+        Video video = new Video("Test Video", "videos/" + id, Duration.ofMinutes(10), 42L);
+        video.setId(id);
+        video.setVersion(version);
+        video.setTags(Set.of("music", "live"));
+        return video;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Event Ring Tests
+ * Location: src/test/java/com/videoanalytics/video/events/EventRingTest.java
+ */
+package com.videoanalytics.video.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventRingTest {
+
+    @Test
+    void whenEventsOffered_thenTheyArePolledInOrder() {
+        EventRing ring = new EventRing(8);
+        for (long videoId = 1; videoId <= 20; videoId++) {
+            assertThat(ring.offer(new VideoViewed(videoId))).isTrue();
+            assertThat(ring.poll().getVideoId()).isEqualTo(videoId);
+        }
+
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void whenRingIsFull_thenOfferIsRefusedUntilAnEventIsPolled() {
+        EventRing ring = new EventRing(4);
+        for (long videoId = 1; videoId <= 4; videoId++) {
+            assertThat(ring.offer(new VideoViewed(videoId))).isTrue();
+        }
+
+        assertThat(ring.offer(new VideoViewed(5L))).isFalse();
+        assertThat(ring.poll().getVideoId()).isEqualTo(1L);
+        assertThat(ring.offer(new VideoViewed(5L))).isTrue();
+        assertThat(ring.size()).isEqualTo(4);
+    }
+
+    @Test
+    void whenCapacityIsNotAPowerOfTwo_thenConstructionFails() {
+        assertThatThrownBy(() -> new EventRing(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenManyProducersOffer_thenEveryEventIsPolledOnceInPerProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int eventsPerProducer = 50_000;
+        EventRing ring = new EventRing(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int producer = 0; producer < producers; producer++) {
+            long producerId = producer;
+            executor.submit(() -> {
+                start.await();
+                for (long sequence = 0; sequence < eventsPerProducer; sequence++) {
+                    VideoEvent event = new VideoLiked(producerId, sequence);
+                    while (!ring.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        List<VideoEvent> polled = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (polled.size() < producers * eventsPerProducer && System.nanoTime() < deadline) {
+            VideoEvent event = ring.poll();
+            if (event != null) {
+                polled.add(event);
+            }
+        }
+        executor.shutdown();
+
+        assertThat(polled).hasSize(producers * eventsPerProducer);
+        Map<Long, Long> nextSequence = new HashMap<>();
+        for (VideoEvent event : polled) {
+            long expected = nextSequence.getOrDefault(event.getVideoId(), 0L);
+            assertThat(event.getUserId()).isEqualTo(expected);
+            nextSequence.put(event.getVideoId(), expected + 1);
+        }
+        assertThat(ring.poll()).isNull();
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Ingest Drainer Tests
+ * Location: src/test/java/com/videoanalytics/video/ingest/IngestDrainerTest.java
+ *
+ * Drains a real log into PostgreSQL. The test itself runs outside a transaction,
+ * since each batch commits in a transaction of its own.
+ */
+package com.videoanalytics.video.ingest;
+
+import com.videoanalytics.video.config.IngestProperties;
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.repository.VideoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IngestDrainerTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    private IngestLog ingestLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ingestLog = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ingestLog.close();
+    }
+
+    @Test
+    void whenBatchDrained_thenLastLikeChangeAndSummedViewsAreAppliedOnce() throws IOException {
+        Long liked = videoRepository.save(new Video("Liked", "drainer-liked", Duration.ofMinutes(5), 1L)).getId();
+        Long viewed = videoRepository.save(new Video("Viewed", "drainer-viewed", Duration.ofMinutes(5), 1L)).getId();
+
+        ingestLog.recordLike(liked, 7L);
+        ingestLog.recordUnlike(liked, 7L);
+        ingestLog.recordLike(liked, 7L);
+        // Never liked, so the unlike deletes nothing and leaves the count alone
+        ingestLog.recordUnlike(viewed, 8L);
+        ingestLog.recordView(liked);
+        ingestLog.recordView(liked);
+        ingestLog.recordView(viewed);
+        ingestLog.recordView(viewed);
+        ingestLog.recordView(viewed);
+
+        List<SegmentedLog.LogRecord> records = ingestLog.read(ingestLog.getStartOffset(), 100);
+        long endOffset = records.get(records.size() - 1).getNextOffset();
+
+        assertThat(drainer().drain()).isEqualTo(9);
+
+        assertThat(count("like_count", liked)).isEqualTo(1);
+        assertThat(count("view_count", liked)).isEqualTo(2);
+        assertThat(count("like_count", viewed)).isZero();
+        assertThat(count("view_count", viewed)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM video_likes WHERE video_id = ? AND user_id = ?", Long.class, liked, 7L))
+                .isEqualTo(1);
+        assertThat(committedOffset()).isEqualTo(endOffset);
+        assertThat(ingestLog.getPendingViews(liked)).isZero();
+        assertThat(ingestLog.getPendingLike(liked, 7L)).isEmpty();
+
+        // As after a restart: a new drainer resumes from the stored offset
+        ingestLog.close();
+        ingestLog = open();
+        assertThat(drainer().drain()).isZero();
+
+        assertThat(count("like_count", liked)).isEqualTo(1);
+        assertThat(count("view_count", liked)).isEqualTo(2);
+        assertThat(count("view_count", viewed)).isEqualTo(3);
+        assertThat(committedOffset()).isEqualTo(endOffset);
+    }
+
+    // Helper methods
+
+    private IngestLog open() throws IOException {
+        IngestProperties properties = new IngestProperties();
+        properties.getLog().setDirectory(directory.toString());
+        properties.getLog().setSegmentSize(DataSize.ofKilobytes(4));
+        return new IngestLog(properties, new SimpleMeterRegistry());
+    }
+
+    private IngestDrainer drainer() {
+        return new IngestDrainer(ingestLog, jdbcTemplate, transactionManager, event -> { },
+                new IngestProperties(), new SimpleMeterRegistry());
+    }
+
+    private long count(String column, Long videoId) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM videos WHERE id = ?", Long.class, videoId);
+    }
+
+    private long committedOffset() {
+        return jdbcTemplate.queryForObject("SELECT committed_offset FROM ingest_log_offsets WHERE log_id = ?",
+                Long.class, ingestLog.getLogId());
+    }
+}
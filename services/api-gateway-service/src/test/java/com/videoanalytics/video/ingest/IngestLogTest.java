@@ -0,0 +1,93 @@
+/**
+ * Ingest Log Tests
+ * Location: src/test/java/com/videoanalytics/video/ingest/IngestLogTest.java
+ */
+package com.videoanalytics.video.ingest;
+
+import com.videoanalytics.video.config.IngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestLogTest {
+
+    @TempDir
+    Path directory;
+
+    private IngestLog ingestLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ingestLog = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ingestLog.close();
+    }
+
+    @Test
+    void whenViewsRecorded_thenTheyArePendingUntilApplied() {
+        ingestLog.recordView(1L);
+        ingestLog.recordView(1L);
+        ingestLog.recordView(2L);
+
+        assertThat(ingestLog.getPendingViews(1L)).isEqualTo(2);
+        assertThat(ingestLog.getPendingViews(2L)).isEqualTo(1);
+
+        ingestLog.viewsApplied(1L, 2);
+
+        assertThat(ingestLog.getPendingViews(1L)).isZero();
+        assertThat(ingestLog.getPendingViews(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void whenReopened_thenEarlierRecordsAreNotFromThisRun() throws IOException {
+        ingestLog.recordView(1L);
+        long firstOffset = ingestLog.getStartOffset();
+        ingestLog.close();
+
+        ingestLog = open();
+        ingestLog.recordView(1L);
+        SegmentedLog.LogRecord second = ingestLog.read(firstOffset, 10).get(1);
+
+        assertThat(ingestLog.isFromThisRun(firstOffset)).isFalse();
+        assertThat(ingestLog.isFromThisRun(second.getOffset())).isTrue();
+        assertThat(ingestLog.getPendingViews(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void whenLikedThenUnliked_thenTheUnlikeIsPendingUntilApplied() {
+        ingestLog.recordLike(1L, 7L);
+        ingestLog.recordUnlike(1L, 7L);
+
+        assertThat(ingestLog.getPendingLike(1L, 7L)).contains(false);
+        assertThat(ingestLog.getPendingLike(2L, 7L)).isEmpty();
+
+        List<SegmentedLog.LogRecord> records = ingestLog.read(ingestLog.getStartOffset(), 10);
+        // Applying only the like keeps the later unlike pending
+        ingestLog.likeApplied(1L, 7L, records.get(0).getNextOffset());
+        assertThat(ingestLog.getPendingLike(1L, 7L)).contains(false);
+
+        ingestLog.likeApplied(1L, 7L, records.get(1).getNextOffset());
+        assertThat(ingestLog.getPendingLike(1L, 7L)).isEmpty();
+    }
+
+    // Helper methods
+
+    private IngestLog open() throws IOException {
+        IngestProperties properties = new IngestProperties();
+        properties.getLog().setDirectory(directory.toString());
+        properties.getLog().setSegmentSize(DataSize.ofKilobytes(4));
+        return new IngestLog(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Segmented Log Tests
+ * Location: src/test/java/com/videoanalytics/video/ingest/SegmentedLogTest.java
+ */
+package com.videoanalytics.video.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedLogTest {
+
+    private static final int SEGMENT_SIZE = 128;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenRecordsSpanSegments_thenTheyAreReadBackInOrder() throws IOException {
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(IngestEvent.view(i, 1_000L + i).encode());
+            }
+
+            List<SegmentedLog.LogRecord> records = log.read(0, 100);
+
+            assertThat(log.getSegmentCount()).isGreaterThan(1);
+            assertThat(records).hasSize(10);
+            assertThat(records).extracting(record -> IngestEvent.decode(record.getPayload()).getVideoId())
+                    .containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+            for (int i = 1; i < records.size(); i++) {
+                assertThat(records.get(i).getOffset()).isEqualTo(records.get(i - 1).getNextOffset());
+            }
+        }
+    }
+
+    @Test
+    void whenReadFromCommittedOffset_thenOnlyLaterRecordsAreReturned() throws IOException {
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(IngestEvent.view(i, 1_000L).encode());
+            }
+            long committed = log.read(0, 6).get(5).getNextOffset();
+
+            log.deleteBefore(committed);
+            List<SegmentedLog.LogRecord> remaining = log.read(committed, 100);
+
+            assertThat(remaining).extracting(record -> IngestEvent.decode(record.getPayload()).getVideoId())
+                    .containsExactly(6L, 7L, 8L, 9L);
+            assertThat(log.getStartOffset()).isLessThanOrEqualTo(committed);
+        }
+    }
+
+    @Test
+    void whenReopened_thenAppendsContinueAfterTheLastRecord() throws IOException {
+        long end;
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            log.append(IngestEvent.like(1, 7, 1_000L).encode());
+            end = log.getEndOffset();
+        }
+
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            assertThat(log.getEndOffset()).isEqualTo(end);
+            assertThat(log.append(IngestEvent.like(2, 7, 2_000L).encode())).isEqualTo(end);
+            assertThat(log.read(0, 100)).hasSize(2);
+        }
+    }
+
+    @Test
+    void whenLastRecordIsTorn_thenItIsDiscardedOnOpen() throws IOException {
+        long tornOffset;
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            log.append(IngestEvent.view(1, 1_000L).encode());
+            tornOffset = log.append(IngestEvent.view(2, 2_000L).encode());
+        }
+        // Corrupt the second record's payload, as a crash halfway through writing it would
+        try (FileChannel file = FileChannel.open(directory.resolve("segment-00000000000000000000.log"),
+                StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[]{42}), tornOffset + SegmentedLog.HEADER_BYTES + 3);
+        }
+
+        try (SegmentedLog log = new SegmentedLog(directory, SEGMENT_SIZE)) {
+            assertThat(log.getEndOffset()).isEqualTo(tornOffset);
+            assertThat(log.read(0, 100)).hasSize(1);
+
+            log.append(IngestEvent.view(3, 3_000L).encode());
+            assertThat(log.read(tornOffset, 100)).extracting(record ->
+                    IngestEvent.decode(record.getPayload()).getVideoId()).containsExactly(3L);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Bulk Insert Benchmark
+ * Location: src/test/java/com/videoanalytics/video/repository/BulkInsertBenchmarkTest.java
+ *
+ * Regression benchmark for the insert path of sessions and likes. Their IDs come
+ * from pooled sequences, so Hibernate can send inserts in JDBC batches. The
+ * row-at-a-time figure flushes after every entity, the one round trip per row that
+ * identity columns used to force.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.model.VideoLike;
+import com.videoanalytics.video.model.ViewSession;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Slf4j
+class BulkInsertBenchmarkTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private ViewSessionRepository viewSessionRepository;
+
+    @Autowired
+    private VideoLikeRepository videoLikeRepository;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void sessionInsertsAreSentInBatches() {
+        Video video = videoRepository.save(new Video("Sessions", "bench-sessions", Duration.ofMinutes(5), 1L));
+        entityManager.flush();
+
+        long rowAtATime = rowsPerSecond(sessions(video, 0),
+                rows -> rows.forEach(viewSessionRepository::saveAndFlush));
+
+        statistics.clear();
+        long batched = rowsPerSecond(sessions(video, ROWS), this::saveAllAndFlush);
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("view_sessions inserts: {} rows/s one at a time, {} rows/s batched ({} statements for {} rows)",
+                rowAtATime, batched, statements, ROWS);
+
+        // One insert per batch of 50 plus one sequence call per 50 IDs
+        assertThat(statements).isLessThan(ROWS / 10);
+        assertThat(batched).isGreaterThan(rowAtATime);
+    }
+
+    @Test
+    void likeInsertsAreSentInBatches() {
+        Video video = videoRepository.save(new Video("Likes", "bench-likes", Duration.ofMinutes(5), 1L));
+        entityManager.flush();
+
+        long rowAtATime = rowsPerSecond(likes(video, 0),
+                rows -> rows.forEach(videoLikeRepository::saveAndFlush));
+
+        statistics.clear();
+        long batched = rowsPerSecond(likes(video, ROWS), this::saveAllAndFlush);
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("video_likes inserts: {} rows/s one at a time, {} rows/s batched ({} statements for {} rows)",
+                rowAtATime, batched, statements, ROWS);
+
+        assertThat(statements).isLessThan(ROWS / 10);
+        assertThat(batched).isGreaterThan(rowAtATime);
+    }
+
+    // Helper methods
+
+    private List<ViewSession> sessions(Video video, int firstUserId) {
+        List<ViewSession> sessions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            sessions.add(new ViewSession(video, (long) (firstUserId + i), "mobile", "web", "127.0.0.1"));
+        }
+        return sessions;
+    }
+
+    private List<VideoLike> likes(Video video, int firstUserId) {
+        List<VideoLike> likes = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            likes.add(new VideoLike(video, (long) (firstUserId + i)));
+        }
+        return likes;
+    }
+
+    private <T> void saveAllAndFlush(List<T> entities) {
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
+    private <T> long rowsPerSecond(List<T> rows, Consumer<List<T>> insertAll) {
+        long start = System.nanoTime();
+        insertAll.accept(rows);
+        long elapsed = System.nanoTime() - start;
+        entityManager.clear();
+        return rows.size() * 1_000_000_000L / Math.max(elapsed, 1);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * View Session Query Benchmark
+ * Location: src/test/java/com/videoanalytics/video/repository/ViewSessionQueryBenchmarkTest.java
+ *
+ * Regression benchmark for the per-video analytics read path. Latency of
+ * findVideoSessionsInTimeRange must depend on the target video's own traffic,
+ * not on how many sessions the rest of the platform has recorded.
+ */
+package com.videoanalytics.video.repository;
+
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.model.ViewSession;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Slf4j
+class ViewSessionQueryBenchmarkTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final int TARGET_SESSIONS = 200;
+    private static final int OTHER_VIDEOS = 20;
+    private static final int SESSIONS_PER_OTHER_VIDEO = 1_000;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private ViewSessionRepository viewSessionRepository;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void videoScopedQueryLatencyDoesNotGrowWithPlatformTraffic() {
+        Video target = videoRepository.save(new Video("Target", "bench-target", Duration.ofMinutes(5), 1L));
+        seedSessions(target, TARGET_SESSIONS);
+
+        long baseline = medianQueryNanos(target.getId());
+
+        // Grow the rest of the platform by two orders of magnitude
+        for (int i = 0; i < OTHER_VIDEOS; i++) {
+            Video other = videoRepository.save(new Video("Other " + i, "bench-other-" + i, Duration.ofMinutes(5), 2L));
+            seedSessions(other, SESSIONS_PER_OTHER_VIDEO);
+        }
+        entityManager.getEntityManager().createNativeQuery("ANALYZE view_sessions").executeUpdate();
+
+        long loaded = medianQueryNanos(target.getId());
+
+        log.info("findVideoSessionsInTimeRange median: {} ms with {} platform sessions, {} ms with {} platform sessions",
+                String.format("%.2f", baseline / 1e6), TARGET_SESSIONS,
+                String.format("%.2f", loaded / 1e6), TARGET_SESSIONS + OTHER_VIDEOS * SESSIONS_PER_OTHER_VIDEO);
+
+        // 100x more platform traffic may not cost more than a small constant factor
+        assertThat(loaded).isLessThan(baseline * 3 + Duration.ofMillis(5).toNanos());
+    }
+
+    private void seedSessions(Video video, int count) {
+        List<ViewSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ViewSession session = new ViewSession(video, (long) i, i % 2 == 0 ? "mobile" : "desktop", "web", "127.0.0.1");
+            session.endSession(Duration.ofSeconds(60 + i % 240), Duration.ofSeconds(60 + i % 240));
+            sessions.add(session);
+        }
+        viewSessionRepository.saveAll(sessions);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long medianQueryNanos(Long videoId) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<ViewSession> sessions = viewSessionRepository.findVideoSessionsInTimeRange(
+                    videoId, LocalDateTime.now().minusMonths(1), LocalDateTime.now().plusMinutes(1));
+            samples[i] = System.nanoTime() - start;
+
+            assertThat(sessions).hasSize(TARGET_SESSIONS);
+            entityManager.clear();
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -32,5 +32,24 @@ class ViewSessionRepositoryTest {
         assertThat(sessions.get(0).getDeviceType()).isEqualTo("mobile");
     }
 
+    @Test
+    void whenAggregateVideoSessions_thenReturnTotalsAndDeviceRows() {
+        testSession.endSession(Duration.ofMinutes(5), Duration.ofMinutes(5));
+        viewSessionRepository.save(testSession);
+        ViewSession desktop = new ViewSession(testVideo, 2L, "desktop", "web", "127.0.0.1");
+        desktop.endSession(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        viewSessionRepository.saveAndFlush(desktop);
+
+        List<SessionAggregateRow> rows = viewSessionRepository.aggregateVideoSessions(
+                testVideo.getId(), LocalDateTime.now().minusDays(1), LocalDateTime.now().plusMinutes(1), 0.9);
+        SessionAggregate aggregate = SessionAggregate.fromRows(rows);
+
+        assertThat(rows.get(0).getTitle()).isEqualTo("Test Video");
+        assertThat(aggregate.getSessions()).isEqualTo(2);
+        assertThat(aggregate.getCompletedViews()).isEqualTo(1);
+        assertThat(aggregate.averageWatchDuration()).isEqualTo(180.0);
+        assertThat(aggregate.deviceDistribution()).containsEntry("mobile", 1L).containsEntry("desktop", 1L);
+    }
+
     // Additional tests for other repository methods...
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/**
+ * View Session Rollup Repository Tests
+ * Location: src/test/java/com/videoanalytics/video/repository/ViewSessionRollupRepositoryTest.java
+ */
+package com.videoanalytics.video.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ViewSessionRollupRepositoryTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ViewSessionRollupRepository rollupRepository;
+
+    @Test
+    void whenRecordSessionsInSameBucket_thenCountersAccumulate() {
+        LocalDateTime bucket = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        rollupRepository.recordSession(1L, bucket, "mobile", 1, 300.0, 2, 1, 1, 2_000_000.0);
+        rollupRepository.recordSession(1L, bucket, "mobile", 0, 60.0, 0, 3, 0, 0.0);
+        rollupRepository.recordSession(1L, bucket.minusHours(5), "desktop", 0, 30.0, 1, 0, 1, 1_000_000.0);
+
+        List<DeviceAggregateRow> rows = rollupRepository.sumBuckets(1L, bucket, bucket.plusHours(1));
+
+        assertThat(rows).hasSize(1);
+        DeviceAggregateRow mobile = rows.get(0);
+        assertThat(mobile.getSessionCount()).isEqualTo(2L);
+        assertThat(mobile.getCompletedViews()).isEqualTo(1L);
+        assertThat(mobile.getWatchSecondsSum()).isEqualTo(360.0);
+        assertThat(mobile.getMinWatchSeconds()).isEqualTo(60.0);
+        assertThat(mobile.getMaxWatchSeconds()).isEqualTo(300.0);
+        assertThat(mobile.getQualitySwitchesSum()).isEqualTo(4L);
+        assertThat(mobile.getBitrateSamples()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Live Session Tests
+ * Location: src/test/java/com/videoanalytics/video/session/LiveSessionTest.java
+ */
+package com.videoanalytics.video.session;
+
+import com.videoanalytics.video.model.Video;
+import com.videoanalytics.video.model.ViewSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveSessionTest {
+
+    private LiveSession live;
+
+    @BeforeEach
+    void setUp() {
+        Video video = new Video("Test Video", "videos/1", Duration.ofMinutes(10), 42L);
+        video.setId(1L);
+        ViewSession session = new ViewSession(video, 7L, "mobile", "ios", "127.0.0.1");
+        session.setId(100L);
+        live = new LiveSession(session, 0);
+    }
+
+    @Test
+    void whenHeartbeatsApplied_thenCountersAreDrainedAsIncrements() {
+        live.recordHeartbeat(Duration.ofSeconds(30), 2_500L, true, false, 1);
+        ViewSession current = live.recordHeartbeat(Duration.ofSeconds(35), null, true, true, 2);
+
+        assertThat(current.getQualitySwitches()).isEqualTo(2);
+        LiveSession.PendingWrite write = live.drain();
+        assertThat(write.lastPosition).isEqualTo(Duration.ofSeconds(35));
+        assertThat(write.averageBitrate).isEqualTo(2_500L);
+        assertThat(write.qualitySwitches).isEqualTo(2);
+        assertThat(write.bufferEvents).isEqualTo(1);
+        assertThat(live.drain()).isNull();
+    }
+
+    @Test
+    void whenFlushFails_thenChangesAreMergedWithLaterOnes() {
+        live.recordHeartbeat(null, null, true, false, 1);
+        LiveSession.PendingWrite failed = live.drain();
+        live.recordHeartbeat(Duration.ofSeconds(40), null, true, false, 2);
+
+        live.restore(failed);
+
+        LiveSession.PendingWrite retry = live.drain();
+        assertThat(retry.qualitySwitches).isEqualTo(2);
+        assertThat(retry.lastPosition).isEqualTo(Duration.ofSeconds(40));
+        assertThat(retry.averageBitrate).isNull();
+    }
+
+    @Test
+    void whenSessionEnds_thenOnlyUnflushedChangesAreApplied() {
+        live.recordHeartbeat(null, null, false, true, 1);
+        live.drain();
+        live.recordHeartbeat(Duration.ofSeconds(50), null, false, true, 2);
+
+        // The stored row already holds the flushed buffer event
+        Video video = new Video("Test Video", "videos/1", Duration.ofMinutes(10), 42L);
+        ViewSession managed = new ViewSession(video, 7L, "mobile", "ios", "127.0.0.1");
+        managed.setBufferEvents(1);
+        live.applyPendingTo(managed);
+
+        assertThat(managed.getBufferEvents()).isEqualTo(2);
+        assertThat(managed.getLastPosition()).isEqualTo(Duration.ofSeconds(50));
+        assertThat(live.isIdleSince(3)).isFalse();
+    }
+
+    @Test
+    void whenSessionHasEnded_thenHeartbeatsAreRefused() {
+        live.recordHeartbeat(Duration.ofSeconds(10), null, false, false, 1);
+        live.markEnded();
+
+        assertThat(live.recordHeartbeat(Duration.ofSeconds(20), null, true, false, 2)).isNull();
+        assertThat(live.drain().lastPosition).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void whenEndIsRolledBack_thenHeartbeatsAreAppliedAgain() {
+        live.markEnded();
+        live.reopen();
+
+        assertThat(live.recordHeartbeat(Duration.ofSeconds(20), null, false, false, 1)).isNotNull();
+        assertThat(live.drain().lastPosition).isEqualTo(Duration.ofSeconds(20));
+    }
+}